@@ -0,0 +1,135 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of the write batches flushed by the sessions of an Atreus Manager, used to tune the batch limits of the
+ * Atreus Configuration.
+ *
+ * @author Martin Crawford
+ */
+public class AtreusBatchStatistics {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(AtreusBatchStatistics.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final AtomicLong autoFlushCount = new AtomicLong();
+  private final AtomicLong batchCount = new AtomicLong();
+  private final AtomicLong estimatedSize = new AtomicLong();
+  private final AtomicLong maxEstimatedSize = new AtomicLong();
+  private final AtomicLong maxStatements = new AtomicLong();
+  private final AtomicLong statementCount = new AtomicLong();
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  public void recordBatch(int statements, long size, boolean autoFlush) {
+    batchCount.incrementAndGet();
+    if (autoFlush) {
+      autoFlushCount.incrementAndGet();
+    }
+    statementCount.addAndGet(statements);
+    estimatedSize.addAndGet(size);
+    updateMax(maxStatements, statements);
+    updateMax(maxEstimatedSize, size);
+  }
+
+  public void reset() {
+    autoFlushCount.set(0);
+    batchCount.set(0);
+    estimatedSize.set(0);
+    maxEstimatedSize.set(0);
+    maxStatements.set(0);
+    statementCount.set(0);
+  }
+
+  @Override
+  public String toString() {
+    return "AtreusBatchStatistics{" +
+        "batchCount=" + getBatchCount() +
+        ", autoFlushCount=" + getAutoFlushCount() +
+        ", averageStatements=" + getAverageStatements() +
+        ", maxStatements=" + getMaxStatements() +
+        ", averageEstimatedSize=" + getAverageEstimatedSize() +
+        ", maxEstimatedSize=" + getMaxEstimatedSize() +
+        '}';
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  private static void updateMax(AtomicLong max, long value) {
+    long current = max.get();
+    while (value > current && !max.compareAndSet(current, value)) {
+      current = max.get();
+    }
+  }
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+  public long getAutoFlushCount() {
+    return autoFlushCount.get();
+  }
+
+  public double getAverageEstimatedSize() {
+    long batches = getBatchCount();
+    return batches == 0 ? 0 : (double) getEstimatedSize() / batches;
+  }
+
+  public double getAverageStatements() {
+    long batches = getBatchCount();
+    return batches == 0 ? 0 : (double) getStatementCount() / batches;
+  }
+
+  public long getBatchCount() {
+    return batchCount.get();
+  }
+
+  public long getEstimatedSize() {
+    return estimatedSize.get();
+  }
+
+  public long getMaxEstimatedSize() {
+    return maxEstimatedSize.get();
+  }
+
+  public long getMaxStatements() {
+    return maxStatements.get();
+  }
+
+  public long getStatementCount() {
+    return statementCount.get();
+  }
+
+} // end of class
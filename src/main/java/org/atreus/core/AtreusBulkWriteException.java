@@ -0,0 +1,77 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Exception thrown if one or more writes of a bulk operation failed. All other writes of the operation have been
+ * completed.
+ *
+ * @author Martin Crawford
+ */
+public class AtreusBulkWriteException extends AtreusException {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final long serialVersionUID = 1L;
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(AtreusBulkWriteException.class);
+
+  public static int ERROR_CODE_BULK_WRITE_FAILED = 400;
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final List<Object> failedEntities;
+  private final List<Throwable> failureCauses;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public AtreusBulkWriteException(int errorCode, List<Object> failedEntities, List<Throwable> failureCauses, Object... details) {
+    super(errorCode, failureCauses.get(0), details);
+    this.failedEntities = Collections.unmodifiableList(failedEntities);
+    this.failureCauses = Collections.unmodifiableList(failureCauses);
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+  public List<Object> getFailedEntities() {
+    return failedEntities;
+  }
+
+  public List<Throwable> getFailureCauses() {
+    return failureCauses;
+  }
+
+} // end of class
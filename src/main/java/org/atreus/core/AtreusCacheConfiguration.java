@@ -0,0 +1,90 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Configuration of the shared second level cache for an entity type. A time to live of zero keeps entries until they
+ * are evicted or invalidated.
+ *
+ * @author Martin Crawford
+ */
+public class AtreusCacheConfiguration {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(AtreusCacheConfiguration.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private AtreusCacheEviction eviction = AtreusCacheEviction.LRU;
+  private int maxSize = 1000;
+  private long timeToLive = 0;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public AtreusCacheConfiguration() {
+  }
+
+  public AtreusCacheConfiguration(int maxSize, long timeToLive, AtreusCacheEviction eviction) {
+    this.maxSize = maxSize;
+    this.timeToLive = timeToLive;
+    this.eviction = eviction;
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+  public AtreusCacheEviction getEviction() {
+    return eviction;
+  }
+
+  public void setEviction(AtreusCacheEviction eviction) {
+    this.eviction = eviction;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public void setMaxSize(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public long getTimeToLive() {
+    return timeToLive;
+  }
+
+  public void setTimeToLive(long timeToLive) {
+    this.timeToLive = timeToLive;
+  }
+
+} // end of class
@@ -21,16 +21,16 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package org.atreus.impl.core.entities;
+package org.atreus.core;
 
 /**
- * Field Fetch State enumeration.
+ * Atreus Cache eviction policy enumeration.
  *
  * @author Martin Crawford
  */
-public enum FieldFetchState {
+public enum AtreusCacheEviction {
 
-  UNITIALIZED,
-  INITIALIZED;
+  LFU,
+  LRU;
 
 }
@@ -0,0 +1,136 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of the shared second level entity cache of an Atreus Manager.
+ *
+ * @author Martin Crawford
+ */
+public class AtreusCacheStatistics {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(AtreusCacheStatistics.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final AtomicLong evictionCount = new AtomicLong();
+  private final AtomicLong expirationCount = new AtomicLong();
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong invalidationCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong putCount = new AtomicLong();
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  public void recordEviction() {
+    evictionCount.incrementAndGet();
+  }
+
+  public void recordExpiration() {
+    expirationCount.incrementAndGet();
+  }
+
+  public void recordHit() {
+    hitCount.incrementAndGet();
+  }
+
+  public void recordInvalidation() {
+    invalidationCount.incrementAndGet();
+  }
+
+  public void recordMiss() {
+    missCount.incrementAndGet();
+  }
+
+  public void recordPut() {
+    putCount.incrementAndGet();
+  }
+
+  public void reset() {
+    evictionCount.set(0);
+    expirationCount.set(0);
+    hitCount.set(0);
+    invalidationCount.set(0);
+    missCount.set(0);
+    putCount.set(0);
+  }
+
+  @Override
+  public String toString() {
+    return "AtreusCacheStatistics{" +
+        "hitCount=" + getHitCount() +
+        ", missCount=" + getMissCount() +
+        ", hitRatio=" + getHitRatio() +
+        ", putCount=" + getPutCount() +
+        ", evictionCount=" + getEvictionCount() +
+        ", expirationCount=" + getExpirationCount() +
+        ", invalidationCount=" + getInvalidationCount() +
+        '}';
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  public long getExpirationCount() {
+    return expirationCount.get();
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public double getHitRatio() {
+    long requests = getHitCount() + getMissCount();
+    return requests == 0 ? 0 : (double) getHitCount() / requests;
+  }
+
+  public long getInvalidationCount() {
+    return invalidationCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getPutCount() {
+    return putCount.get();
+  }
+
+} // end of class
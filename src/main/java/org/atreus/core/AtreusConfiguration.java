@@ -27,6 +27,9 @@ import com.datastax.driver.core.ConsistencyLevel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Atreus Configuration.
  *
@@ -40,15 +43,29 @@ public class AtreusConfiguration {
 
   // Instance Variables ---------------------------------------------------------------------------- Instance Variables
 
+  private final Map<Class<?>, AtreusCacheConfiguration> cacheConfigurations = new HashMap<>();
   private ConsistencyLevel defaultReadConsistencyLevel = ConsistencyLevel.ONE;
   private boolean defaultWriteAsync = false;
+  private boolean defaultWriteAtomic = true;
   private boolean defaultWriteBatch = true;
   private ConsistencyLevel defaultWriteConsistencyLevel = ConsistencyLevel.ONE;
+  private boolean defaultWriteDeferred = false;
+  private int fetchSize = 1000;
   private String[] hosts;
   private String keySpace;
+  private long maxBatchSize = 0;
+  private int maxFetchCoalesce = 0;
+  private int maxBatchStatements = 0;
+  private int maxBulkWritesInFlight = 128;
+  private int maxReadsInFlight = 128;
+  private int maxSelectVariants = 16;
+  private int maxUpdateVariants = 16;
   private int port;
+  private boolean prepareStatementsOnInit = true;
   private String[] scanPaths;
   private boolean sessionCache = true;
+  private int sessionCacheMaxSize = 0;
+  private boolean sessionCacheWeakValues = false;
 
   // Constructors ---------------------------------------------------------------------------------------- Constructors
 
@@ -60,6 +77,14 @@ public class AtreusConfiguration {
 
   // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
 
+  public AtreusCacheConfiguration getCacheConfiguration(Class<?> entityType) {
+    return cacheConfigurations.get(entityType);
+  }
+
+  public void setCacheConfiguration(Class<?> entityType, AtreusCacheConfiguration cacheConfiguration) {
+    cacheConfigurations.put(entityType, cacheConfiguration);
+  }
+
   public ConsistencyLevel getDefaultReadConsistencyLevel() {
     return defaultReadConsistencyLevel;
   }
@@ -76,6 +101,14 @@ public class AtreusConfiguration {
     this.defaultWriteAsync = defaultWriteAsync;
   }
 
+  public boolean isDefaultWriteAtomic() {
+    return defaultWriteAtomic;
+  }
+
+  public void setDefaultWriteAtomic(boolean defaultWriteAtomic) {
+    this.defaultWriteAtomic = defaultWriteAtomic;
+  }
+
   public boolean isDefaultWriteBatch() {
     return defaultWriteBatch;
   }
@@ -92,6 +125,22 @@ public class AtreusConfiguration {
     this.defaultWriteConsistencyLevel = defaultWriteConsistencyLevel;
   }
 
+  public boolean isDefaultWriteDeferred() {
+    return defaultWriteDeferred;
+  }
+
+  public void setDefaultWriteDeferred(boolean defaultWriteDeferred) {
+    this.defaultWriteDeferred = defaultWriteDeferred;
+  }
+
+  public int getFetchSize() {
+    return fetchSize;
+  }
+
+  public void setFetchSize(int fetchSize) {
+    this.fetchSize = fetchSize;
+  }
+
   public String[] getHosts() {
     return hosts;
   }
@@ -108,6 +157,62 @@ public class AtreusConfiguration {
     this.keySpace = keySpace;
   }
 
+  public long getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  public void setMaxBatchSize(long maxBatchSize) {
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  public int getMaxBatchStatements() {
+    return maxBatchStatements;
+  }
+
+  public void setMaxBatchStatements(int maxBatchStatements) {
+    this.maxBatchStatements = maxBatchStatements;
+  }
+
+  public int getMaxBulkWritesInFlight() {
+    return maxBulkWritesInFlight;
+  }
+
+  public void setMaxBulkWritesInFlight(int maxBulkWritesInFlight) {
+    this.maxBulkWritesInFlight = maxBulkWritesInFlight;
+  }
+
+  public int getMaxReadsInFlight() {
+    return maxReadsInFlight;
+  }
+
+  public void setMaxReadsInFlight(int maxReadsInFlight) {
+    this.maxReadsInFlight = maxReadsInFlight;
+  }
+
+  public int getMaxSelectVariants() {
+    return maxSelectVariants;
+  }
+
+  public void setMaxSelectVariants(int maxSelectVariants) {
+    this.maxSelectVariants = maxSelectVariants;
+  }
+
+  public int getMaxUpdateVariants() {
+    return maxUpdateVariants;
+  }
+
+  public void setMaxUpdateVariants(int maxUpdateVariants) {
+    this.maxUpdateVariants = maxUpdateVariants;
+  }
+
+  public int getMaxFetchCoalesce() {
+    return maxFetchCoalesce;
+  }
+
+  public void setMaxFetchCoalesce(int maxFetchCoalesce) {
+    this.maxFetchCoalesce = maxFetchCoalesce;
+  }
+
   public int getPort() {
     return port;
   }
@@ -116,6 +221,14 @@ public class AtreusConfiguration {
     this.port = port;
   }
 
+  public boolean isPrepareStatementsOnInit() {
+    return prepareStatementsOnInit;
+  }
+
+  public void setPrepareStatementsOnInit(boolean prepareStatementsOnInit) {
+    this.prepareStatementsOnInit = prepareStatementsOnInit;
+  }
+
   public String[] getScanPaths() {
     return scanPaths;
   }
@@ -132,4 +245,20 @@ public class AtreusConfiguration {
     this.sessionCache = sessionCache;
   }
 
+  public int getSessionCacheMaxSize() {
+    return sessionCacheMaxSize;
+  }
+
+  public void setSessionCacheMaxSize(int sessionCacheMaxSize) {
+    this.sessionCacheMaxSize = sessionCacheMaxSize;
+  }
+
+  public boolean isSessionCacheWeakValues() {
+    return sessionCacheWeakValues;
+  }
+
+  public void setSessionCacheWeakValues(boolean sessionCacheWeakValues) {
+    this.sessionCacheWeakValues = sessionCacheWeakValues;
+  }
+
 }
\ No newline at end of file
@@ -25,6 +25,8 @@ package org.atreus.core;
 
 import org.atreus.core.ext.meta.AtreusMetaManager;
 
+import java.util.List;
+
 /**
  * Interface for an Atreus Manger.
  *
@@ -32,8 +34,14 @@ import org.atreus.core.ext.meta.AtreusMetaManager;
  */
 public interface AtreusManager {
 
+  public void clearCache();
+
   public void disconnect();
 
+  public AtreusBatchStatistics getBatchStatistics();
+
+  public AtreusCacheStatistics getCacheStatistics();
+
   public String[] getHosts();
 
   public String getKeySpace();
@@ -42,8 +50,14 @@ public interface AtreusManager {
 
   public int getPort();
 
+  public AtreusStatementStatistics getStatementStatistics();
+
   public boolean isConnected();
 
   public AtreusSession openSession();
 
+  public <T> AtreusScan<T> scan(Class<T> entityType, int splits, int threads, AtreusScanCallback<? super T> callback);
+
+  public <T> AtreusScan<T> scan(Class<T> entityType, List<AtreusScanRange> ranges, int threads, AtreusScanCallback<? super T> callback);
+
 }
@@ -0,0 +1,67 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exception thrown if one or more token ranges of a scan failed. The failed ranges are left incomplete so that the
+ * scan can be resumed.
+ *
+ * @author Martin Crawford
+ */
+public class AtreusScanException extends AtreusException {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final long serialVersionUID = 1L;
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(AtreusScanException.class);
+
+  public static int ERROR_CODE_SCAN_FAILED = 410;
+
+  public static int ERROR_CODE_UNSUPPORTED_PARTITIONER = 411;
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public AtreusScanException(int errorCode, Object... details) {
+    super(errorCode, details);
+  }
+
+  public AtreusScanException(int errorCode, Throwable cause, Object... details) {
+    super(errorCode, cause, details);
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class
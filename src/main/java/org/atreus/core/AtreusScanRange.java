@@ -0,0 +1,107 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.core;
+
+import java.io.Serializable;
+import java.math.BigInteger;
+
+/**
+ * A token sub-range of a scan, from an exclusive start token to an inclusive end token. The progress of the range is
+ * kept so that an interrupted scan can be resumed from the last fully processed partition.
+ *
+ * @author Martin Crawford
+ */
+public class AtreusScanRange implements Serializable {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final long serialVersionUID = 1L;
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private volatile boolean completed;
+  private final BigInteger endToken;
+  private volatile BigInteger resumeToken;
+  private volatile long rowCount;
+  private final BigInteger startToken;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public AtreusScanRange(BigInteger startToken, BigInteger endToken) {
+    this.startToken = startToken;
+    this.endToken = endToken;
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  @Override
+  public String toString() {
+    return "AtreusScanRange{" +
+        "startToken=" + startToken +
+        ", endToken=" + endToken +
+        ", resumeToken=" + resumeToken +
+        ", rowCount=" + rowCount +
+        ", completed=" + completed +
+        '}';
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+  public boolean isCompleted() {
+    return completed;
+  }
+
+  public void setCompleted(boolean completed) {
+    this.completed = completed;
+  }
+
+  public BigInteger getEndToken() {
+    return endToken;
+  }
+
+  public BigInteger getResumeToken() {
+    return resumeToken;
+  }
+
+  public void setResumeToken(BigInteger resumeToken) {
+    this.resumeToken = resumeToken;
+  }
+
+  public long getRowCount() {
+    return rowCount;
+  }
+
+  public void setRowCount(long rowCount) {
+    this.rowCount = rowCount;
+  }
+
+  public BigInteger getStartToken() {
+    return startToken;
+  }
+
+} // end of class
@@ -24,8 +24,12 @@
 package org.atreus.core;
 
 import com.datastax.driver.core.*;
+import com.google.common.util.concurrent.ListenableFuture;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 
 public interface AtreusSession {
 
@@ -37,10 +41,18 @@ public interface AtreusSession {
 
   public void setWriteAsync(boolean writeAsync);
 
+  public boolean isWriteAtomic();
+
+  public void setWriteAtomic(boolean writeAtomic);
+
   public boolean isWriteBatch();
 
   public void setWriteBatch(boolean batchWrite);
 
+  public boolean isWriteDeferred();
+
+  public void setWriteDeferred(boolean writeDeferred);
+
   public ConsistencyLevel getReadConsistencyLevel();
 
   public void setReadConsistencyLevel(ConsistencyLevel consistencyLevel);
@@ -53,26 +65,50 @@ public interface AtreusSession {
 
   public <T> void delete(T entity);
 
+  public <T> void deleteAll(Collection<T> entities);
+
+  public <T> ListenableFuture<Void> deleteAsync(T entity);
+
   public ResultSet execute(Statement statement);
 
   public ResultSet execute(String cql);
 
+  public ResultSetFuture executeAsync(Statement statement);
+
   public void executeOrBatch(Statement statement);
 
   public void executeOrBatch(String cql);
 
+  public <T> List<T> findAll(Class<T> entityType, Collection<? extends Serializable> primaryKeys);
+
   public <T> T findOne(Class<T> entityType, Serializable primaryKey);
 
+  public <T> T findOne(Class<T> entityType, Serializable primaryKey, String... fieldNames);
+
   public void flush();
 
   public void flush(boolean async);
 
+  public ListenableFuture<Void> flushAsync();
+
+  public <T> Iterator<T> iterate(Class<T> entityType, int fetchSize);
+
   public <T> T save(T entity);
 
+  public <T> List<T> saveAll(Collection<T> entities);
+
+  public <T> ListenableFuture<T> saveAsync(T entity);
+
   public BoundStatement prepareQuery(String cql);
 
   public BoundStatement prepareQuery(RegularStatement regularStatement);
 
+  public <T> Iterator<T> stream(Class<T> entityType);
+
   public <T> T update(T entity);
 
+  public <T> List<T> updateAll(Collection<T> entities);
+
+  public <T> ListenableFuture<T> updateAsync(T entity);
+
 }
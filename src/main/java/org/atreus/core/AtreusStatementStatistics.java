@@ -0,0 +1,127 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistics of the statement plans of an Atreus Manager. Update variant counts mirror the plans currently compiled
+ * for each entity type and so are not cleared by a reset.
+ *
+ * @author Martin Crawford
+ */
+public class AtreusStatementStatistics {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(AtreusStatementStatistics.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final AtomicLong collectionDeltaCount = new AtomicLong();
+  private final AtomicLong uncachedUpdateCount = new AtomicLong();
+  private final ConcurrentMap<Class<?>, AtomicInteger> updateVariantCounts = new ConcurrentHashMap<>();
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  public void recordCollectionDelta() {
+    collectionDeltaCount.incrementAndGet();
+  }
+
+  public void recordUncachedUpdate() {
+    uncachedUpdateCount.incrementAndGet();
+  }
+
+  public void recordUpdateVariant(Class<?> entityType) {
+    AtomicInteger variantCount = updateVariantCounts.get(entityType);
+    if (variantCount == null) {
+      AtomicInteger newVariantCount = new AtomicInteger();
+      variantCount = updateVariantCounts.putIfAbsent(entityType, newVariantCount);
+      if (variantCount == null) {
+        variantCount = newVariantCount;
+      }
+    }
+    variantCount.incrementAndGet();
+  }
+
+  public void reset() {
+    collectionDeltaCount.set(0);
+    uncachedUpdateCount.set(0);
+  }
+
+  @Override
+  public String toString() {
+    return "AtreusStatementStatistics{" +
+        "updateVariantCount=" + getUpdateVariantCount() +
+        ", uncachedUpdateCount=" + getUncachedUpdateCount() +
+        ", collectionDeltaCount=" + getCollectionDeltaCount() +
+        '}';
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+  public long getCollectionDeltaCount() {
+    return collectionDeltaCount.get();
+  }
+
+  public long getUncachedUpdateCount() {
+    return uncachedUpdateCount.get();
+  }
+
+  public int getUpdateVariantCount() {
+    int total = 0;
+    for (AtomicInteger variantCount : updateVariantCounts.values()) {
+      total += variantCount.get();
+    }
+    return total;
+  }
+
+  public int getUpdateVariantCount(Class<?> entityType) {
+    AtomicInteger variantCount = updateVariantCounts.get(entityType);
+    return variantCount == null ? 0 : variantCount.get();
+  }
+
+  public Map<Class<?>, Integer> getUpdateVariantCounts() {
+    Map<Class<?>, Integer> results = new HashMap<>();
+    for (Map.Entry<Class<?>, AtomicInteger> entry : updateVariantCounts.entrySet()) {
+      results.put(entry.getKey(), entry.getValue().get());
+    }
+    return results;
+  }
+
+} // end of class
@@ -51,4 +51,13 @@ public @interface AtreusCompositeParent {
    */
   public AtreusFetchMode fetch() default AtreusFetchMode.EAGER_ENTITY;
 
+  /**
+   * Sets the number of children fetched per page for a collection of children. When set the collection is fetched a
+   * page at a time as it is iterated rather than all at once, zero fetches all of the children together. Any other use
+   * of the collection that depends on all of its children, such as its size, fetches every remaining page first.
+   *
+   * @return
+   */
+  public int fetchSize() default 0;
+
 }
\ No newline at end of file
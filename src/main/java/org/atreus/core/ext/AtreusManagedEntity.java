@@ -42,16 +42,26 @@ public interface AtreusManagedEntity {
 
   public void fetchField(AtreusMetaField metaField);
 
+  public Object getDynamicField(String name);
+
+  public void setDynamicField(String name, Object value);
+
   public Map<String, Object> getDynamicFields();
 
   public Object getEntity();
 
+  public boolean isDirty();
+
   public boolean isFetched(AtreusMetaField metaField);
 
+  public boolean isLoaded();
+
   public Object getFieldValue(AtreusMetaField metaField);
 
   public void setFieldValue(AtreusMetaField metaField, Object value);
 
+  public void loadFieldValue(AtreusMetaField metaField, Object value);
+
   public AtreusMetaEntity getMetaEntity();
 
   public Serializable getPrimaryKey();
@@ -23,6 +23,7 @@
  */
 package org.atreus.core.ext;
 
+import com.datastax.driver.core.BoundStatement;
 import org.atreus.core.AtreusSession;
 import org.atreus.core.ext.meta.AtreusMetaAssociation;
 import org.atreus.core.ext.meta.AtreusMetaEntity;
@@ -42,10 +43,18 @@ public interface AtreusSessionExt extends AtreusSession {
 
   public void fetchAssociation(AtreusMetaAssociation metaAssociation, AtreusManagedEntity managedEntity);
 
+  public void fetchGroup(AtreusManagedEntity managedEntity, String fetchGroup);
+
   public AtreusManagedEntity getCachedEntity(Class<?> entityType, Serializable primaryKey);
 
+  public long getCacheEvictionCount();
+
+  public int getMaxReadsInFlight();
+
   public AtreusManagedEntity manageEntity(Object entity);
 
+  public BoundStatement prepareUnsharedQuery(String cql);
+
   public Object unmanageEntity(AtreusManagedEntity managedEntity);
 
 }
\ No newline at end of file
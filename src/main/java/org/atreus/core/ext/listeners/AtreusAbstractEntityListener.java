@@ -29,6 +29,8 @@ import org.atreus.core.ext.meta.AtreusMetaAssociation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 /**
  * Atreus Entity Visitor base.
  *
@@ -54,6 +56,12 @@ public abstract class AtreusAbstractEntityListener {
 
   }
 
+  public void acceptAssociations(AtreusSessionExt session, List<AtreusManagedEntity> managedEntities, AtreusMetaAssociation metaAssociation) {
+    for (AtreusManagedEntity managedEntity : managedEntities) {
+      acceptAssociation(session, managedEntity, metaAssociation);
+    }
+  }
+
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
@@ -40,4 +40,6 @@ public interface AtreusMetaAssociatedEntity {
 
   public AtreusFetchMode getFetchMode();
 
+  public int getFetchSize();
+
 }
\ No newline at end of file
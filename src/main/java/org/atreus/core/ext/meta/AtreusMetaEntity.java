@@ -29,6 +29,8 @@ import org.atreus.core.ext.listeners.AtreusEntityListener;
 import org.atreus.core.ext.strategies.AtreusPrimaryKeyStrategy;
 import org.atreus.core.ext.strategies.AtreusTtlStrategy;
 
+import java.util.List;
+
 /**
  * Atreus meta property interface defining a managed entity.
  *
@@ -40,6 +42,8 @@ public interface AtreusMetaEntity extends AtreusMetaObject {
 
   public void broadcastListeners(AtreusSessionExt session, AtreusManagedEntity managedEntity, Class<? extends AtreusEntityListener> event);
 
+  public void broadcastListeners(AtreusSessionExt session, List<AtreusManagedEntity> managedEntities, Class<? extends AtreusEntityListener> event);
+
   public AtreusMetaAssociation[] getAssociations();
 
   public Class<?> getEntityType();
@@ -39,6 +39,8 @@ public interface AtreusMetaField {
 
   public String getName();
 
+  public int getOrdinal();
+
   public Object getValue(Object entity);
 
   public void setValue(Object entity, Object value);
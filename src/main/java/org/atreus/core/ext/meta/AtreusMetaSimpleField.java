@@ -23,6 +23,8 @@
  */
 package org.atreus.core.ext.meta;
 
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.Row;
 import org.atreus.core.ext.strategies.AtreusTypeStrategy;
 
 /**
@@ -32,8 +34,14 @@ import org.atreus.core.ext.strategies.AtreusTypeStrategy;
  */
 public interface AtreusMetaSimpleField extends AtreusMetaField {
 
+  public void bindEntity(BoundStatement boundStatement, int index, Object entity);
+
+  public Object unbindValue(Row row, int index);
+
   public String getColumn();
 
+  public String getFetchGroup();
+
   public AtreusTypeStrategy getTypeStrategy();
 
   public void setTypeStrategy(AtreusTypeStrategy typeStrategy);
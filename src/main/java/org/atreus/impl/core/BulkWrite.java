@@ -0,0 +1,113 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import org.atreus.core.AtreusBulkWriteException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Tracks the asynchronous writes of a bulk operation, capping the writes in flight and aggregating their failures.
+ *
+ * @author Martin Crawford
+ */
+class BulkWrite {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(BulkWrite.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final List<Object> failedEntities = new ArrayList<>();
+  private final List<Throwable> failureCauses = new ArrayList<>();
+  private final int maxInFlight;
+  private final Semaphore permits;
+  private int writeCount;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public BulkWrite(int maxInFlight) {
+    this.maxInFlight = Math.max(1, maxInFlight);
+    this.permits = new Semaphore(this.maxInFlight);
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  public void acquire() {
+    permits.acquireUninterruptibly();
+    writeCount++;
+  }
+
+  public void await() {
+    // Wait for every write in flight to complete
+    permits.acquireUninterruptibly(maxInFlight);
+    permits.release(maxInFlight);
+
+    synchronized (this) {
+      if (failedEntities.isEmpty()) {
+        return;
+      }
+      LOG.debug("Bulk write completed with {} failures out of {} writes", failedEntities.size(), writeCount);
+      throw new AtreusBulkWriteException(AtreusBulkWriteException.ERROR_CODE_BULK_WRITE_FAILED,
+          new ArrayList<>(failedEntities), new ArrayList<>(failureCauses), failedEntities.size(), writeCount);
+    }
+  }
+
+  public void failed(Object entity, Throwable cause) {
+    synchronized (this) {
+      failedEntities.add(entity);
+      failureCauses.add(cause);
+    }
+    permits.release();
+  }
+
+  public void track(final Object entity, ListenableFuture<?> future) {
+    Futures.addCallback(future, new FutureCallback<Object>() {
+      @Override
+      public void onSuccess(Object result) {
+        permits.release();
+      }
+
+      @Override
+      public void onFailure(Throwable t) {
+        failed(entity, t);
+      }
+    });
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class
@@ -0,0 +1,105 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core;
+
+import org.atreus.core.ext.AtreusManagedEntity;
+import org.atreus.core.ext.listeners.AtreusEntityListener;
+import org.atreus.core.ext.listeners.AtreusOnDeleteListener;
+import org.atreus.core.ext.listeners.AtreusOnSaveListener;
+import org.atreus.core.ext.listeners.AtreusOnUpdateListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A write of a managed entity deferred until the session is flushed. Repeated writes to the same entity are coalesced
+ * into the single write that has the same outcome.
+ *
+ * @author Martin Crawford
+ */
+class DeferredWrite {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(DeferredWrite.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final boolean created;
+  private Class<? extends AtreusEntityListener> listenerClass;
+  private final AtreusManagedEntity managedEntity;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public DeferredWrite(AtreusManagedEntity managedEntity, Class<? extends AtreusEntityListener> listenerClass, boolean created) {
+    this.managedEntity = managedEntity;
+    this.listenerClass = listenerClass;
+    this.created = created;
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  public void cancel() {
+    listenerClass = null;
+  }
+
+  /**
+   * Coalesces a subsequent write of the same entity into this write. An entity created and then deleted within the
+   * unit of work was never written and so the write is cancelled, while any other entity saved and then deleted may
+   * already be stored and so is deleted.
+   */
+  public void coalesce(Class<? extends AtreusEntityListener> nextListenerClass) {
+    if (AtreusOnSaveListener.class.equals(listenerClass)) {
+      if (created && AtreusOnDeleteListener.class.equals(nextListenerClass)) {
+        LOG.trace("Deferred save cancelled by delete of {}", managedEntity.getPrimaryKey());
+        cancel();
+        return;
+      }
+
+      // The save already writes the latest state of all fields
+      if (AtreusOnUpdateListener.class.equals(nextListenerClass)) {
+        return;
+      }
+    }
+    listenerClass = nextListenerClass;
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+  public Class<? extends AtreusEntityListener> getListenerClass() {
+    return listenerClass;
+  }
+
+  public AtreusManagedEntity getManagedEntity() {
+    return managedEntity;
+  }
+
+  public boolean isCancelled() {
+    return listenerClass == null;
+  }
+
+} // end of class
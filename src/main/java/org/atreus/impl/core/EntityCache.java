@@ -0,0 +1,143 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core;
+
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.atreus.core.AtreusCacheConfiguration;
+import org.atreus.core.AtreusCacheStatistics;
+import org.atreus.core.AtreusConfiguration;
+import org.atreus.core.ext.meta.AtreusMetaEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Second level entity cache shared by all sessions of an Atreus Manager. Rows are cached rather than entities, which
+ * are bound to their session, and only entity types with a cache configuration are cached.
+ *
+ * @author Martin Crawford
+ */
+public class EntityCache {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(EntityCache.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final AtreusConfiguration configuration;
+  private final ConcurrentMap<Class<?>, EntityCacheRegion> regions = new ConcurrentHashMap<>();
+  private final AtreusCacheStatistics statistics = new AtreusCacheStatistics();
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public EntityCache(AtreusConfiguration configuration) {
+    this.configuration = configuration;
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  public void clear() {
+    for (EntityCacheRegion region : regions.values()) {
+      region.clear();
+    }
+  }
+
+  public Row get(AtreusMetaEntity metaEntity, Serializable primaryKey) {
+    EntityCacheRegion region = getRegion(metaEntity);
+    if (region == null || primaryKey == null) {
+      return null;
+    }
+    return region.get(primaryKey);
+  }
+
+  public void invalidate(AtreusMetaEntity metaEntity, Serializable primaryKey) {
+    EntityCacheRegion region = getRegion(metaEntity);
+    if (region == null || primaryKey == null) {
+      return;
+    }
+    region.invalidate(primaryKey);
+  }
+
+  public void invalidateOnCompletion(AtreusMetaEntity metaEntity, final Serializable primaryKey, ListenableFuture<?> writeFuture) {
+    final EntityCacheRegion region = getRegion(metaEntity);
+    if (region == null || primaryKey == null) {
+      return;
+    }
+
+    // Invalidate again once written, as a row read while the write was in flight may have been cached in between
+    writeFuture.addListener(new Runnable() {
+      @Override
+      public void run() {
+        region.invalidate(primaryKey);
+      }
+    }, MoreExecutors.sameThreadExecutor());
+  }
+
+  public void put(AtreusMetaEntity metaEntity, Serializable primaryKey, Row row, long readVersion) {
+    EntityCacheRegion region = getRegion(metaEntity);
+    if (region == null || primaryKey == null) {
+      return;
+    }
+    region.put(primaryKey, row, readVersion);
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  private EntityCacheRegion getRegion(AtreusMetaEntity metaEntity) {
+    Class<?> entityType = metaEntity.getEntityType();
+    EntityCacheRegion region = regions.get(entityType);
+    if (region != null) {
+      return region;
+    }
+    AtreusCacheConfiguration cacheConfiguration = configuration.getCacheConfiguration(entityType);
+    if (cacheConfiguration == null) {
+      // Entity type is not cached
+      return null;
+    }
+    LOG.debug("Creating second level cache region for {}", entityType);
+    region = new EntityCacheRegion(cacheConfiguration, statistics);
+    EntityCacheRegion existingRegion = regions.putIfAbsent(entityType, region);
+    return existingRegion != null ? existingRegion : region;
+  }
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+  public long getVersion(AtreusMetaEntity metaEntity) {
+    EntityCacheRegion region = getRegion(metaEntity);
+    return region == null ? 0 : region.getVersion();
+  }
+
+  public AtreusCacheStatistics getStatistics() {
+    return statistics;
+  }
+
+} // end of class
@@ -0,0 +1,78 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core;
+
+import com.datastax.driver.core.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Entry of the second level entity cache holding the row an entity was last read from.
+ *
+ * @author Martin Crawford
+ */
+class EntityCacheEntry {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(EntityCacheEntry.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final long expiresAt;
+  private long frequency = 1;
+  private final Row row;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public EntityCacheEntry(Row row, long expiresAt) {
+    this.row = row;
+    this.expiresAt = expiresAt;
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  public long incrementFrequency() {
+    return ++frequency;
+  }
+
+  public boolean isExpired(long now) {
+    return expiresAt > 0 && now >= expiresAt;
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+  public long getFrequency() {
+    return frequency;
+  }
+
+  public Row getRow() {
+    return row;
+  }
+
+} // end of class
@@ -0,0 +1,194 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core;
+
+import com.datastax.driver.core.Row;
+import org.atreus.core.AtreusCacheConfiguration;
+import org.atreus.core.AtreusCacheEviction;
+import org.atreus.core.AtreusCacheStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * Region of the second level entity cache holding the rows of a single entity type, bounded in size with either least
+ * recently used or least frequently used eviction. Access is synchronized as a region is shared by all sessions.
+ * <p>
+ * Every invalidation advances the version of the region, and a row is only put when no invalidation happened since the
+ * version taken before it was read, so that a row read while a write is in flight is not cached after that write.
+ *
+ * @author Martin Crawford
+ */
+class EntityCacheRegion {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(EntityCacheRegion.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final Map<Serializable, EntityCacheEntry> entries;
+  private final Map<Long, LinkedHashSet<Serializable>> keysByFrequency = new HashMap<>();
+  private final boolean leastFrequentlyUsed;
+  private final int maxSize;
+  private long minFrequency;
+  private final AtreusCacheStatistics statistics;
+  private final long timeToLive;
+  private long version;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public EntityCacheRegion(AtreusCacheConfiguration cacheConfiguration, AtreusCacheStatistics statistics) {
+    this.maxSize = cacheConfiguration.getMaxSize();
+    this.timeToLive = cacheConfiguration.getTimeToLive();
+    this.leastFrequentlyUsed = AtreusCacheEviction.LFU.equals(cacheConfiguration.getEviction());
+    this.statistics = statistics;
+
+    // Least recently used order is kept by the access order of the entries themselves
+    this.entries = new LinkedHashMap<>(16, 0.75f, !leastFrequentlyUsed);
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  public synchronized void clear() {
+    entries.clear();
+    keysByFrequency.clear();
+  }
+
+  public synchronized Row get(Serializable primaryKey) {
+    EntityCacheEntry entry = entries.get(primaryKey);
+    if (entry == null) {
+      statistics.recordMiss();
+      return null;
+    }
+    if (entry.isExpired(System.currentTimeMillis())) {
+      remove(primaryKey);
+      statistics.recordExpiration();
+      statistics.recordMiss();
+      return null;
+    }
+    if (leastFrequentlyUsed) {
+      long frequency = entry.getFrequency();
+      removeFrequency(primaryKey, frequency);
+      addFrequency(primaryKey, entry.incrementFrequency());
+    }
+    statistics.recordHit();
+    return entry.getRow();
+  }
+
+  public synchronized void invalidate(Serializable primaryKey) {
+    version++;
+    if (remove(primaryKey) != null) {
+      statistics.recordInvalidation();
+    }
+  }
+
+  public synchronized void put(Serializable primaryKey, Row row, long readVersion) {
+    if (maxSize < 1) {
+      return;
+    }
+    if (readVersion != version) {
+      LOG.trace("Not caching entity {} read before an invalidation", primaryKey);
+      return;
+    }
+    remove(primaryKey);
+    if (entries.size() >= maxSize) {
+      evict();
+    }
+    long expiresAt = timeToLive > 0 ? System.currentTimeMillis() + timeToLive : 0;
+    entries.put(primaryKey, new EntityCacheEntry(row, expiresAt));
+    if (leastFrequentlyUsed) {
+      addFrequency(primaryKey, 1);
+    }
+    statistics.recordPut();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  private void addFrequency(Serializable primaryKey, long frequency) {
+    LinkedHashSet<Serializable> keys = keysByFrequency.get(frequency);
+    if (keys == null) {
+      keys = new LinkedHashSet<>();
+      keysByFrequency.put(frequency, keys);
+    }
+    keys.add(primaryKey);
+    if (frequency == 1 || frequency < minFrequency) {
+      minFrequency = frequency;
+    }
+  }
+
+  private void evict() {
+    Serializable primaryKey;
+    if (leastFrequentlyUsed) {
+      // The minimum frequency may be stale after removals so find the lowest populated frequency
+      if (!keysByFrequency.containsKey(minFrequency)) {
+        minFrequency = Long.MAX_VALUE;
+        for (Long frequency : keysByFrequency.keySet()) {
+          minFrequency = Math.min(minFrequency, frequency);
+        }
+      }
+      primaryKey = keysByFrequency.get(minFrequency).iterator().next();
+    }
+    else {
+      primaryKey = entries.keySet().iterator().next();
+    }
+    LOG.trace("Evicting cached entity {}", primaryKey);
+    remove(primaryKey);
+    statistics.recordEviction();
+  }
+
+  private EntityCacheEntry remove(Serializable primaryKey) {
+    EntityCacheEntry entry = entries.remove(primaryKey);
+    if (entry != null && leastFrequentlyUsed) {
+      removeFrequency(primaryKey, entry.getFrequency());
+    }
+    return entry;
+  }
+
+  private void removeFrequency(Serializable primaryKey, long frequency) {
+    LinkedHashSet<Serializable> keys = keysByFrequency.get(frequency);
+    keys.remove(primaryKey);
+    if (keys.isEmpty()) {
+      keysByFrequency.remove(frequency);
+    }
+  }
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+  public synchronized long getVersion() {
+    return version;
+  }
+
+} // end of class
@@ -0,0 +1,112 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import org.atreus.core.ext.AtreusManagedEntity;
+import org.atreus.core.ext.meta.AtreusMetaEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Iterates the rows of a paged result set, hydrating the managed entities of a page together as it is reached so that
+ * their associations are fetched at once. The entities are not cached within the session.
+ *
+ * @author Martin Crawford
+ */
+class EntityIterator<T> implements Iterator<T> {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(EntityIterator.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final Deque<T> entities = new ArrayDeque<>();
+  private final AtreusMetaEntity metaEntity;
+  private final ResultSet resultSet;
+  private final Iterator<Row> rowIterator;
+  private final SessionImpl session;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public EntityIterator(SessionImpl session, AtreusMetaEntity metaEntity, ResultSet resultSet) {
+    this.session = session;
+    this.metaEntity = metaEntity;
+    this.resultSet = resultSet;
+    this.rowIterator = resultSet.iterator();
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  @Override
+  public boolean hasNext() {
+    return !entities.isEmpty() || rowIterator.hasNext();
+  }
+
+  @Override
+  public T next() {
+    if (entities.isEmpty()) {
+      hydratePage();
+    }
+    return entities.removeFirst();
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException("Entities cannot be removed while iterating");
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  @SuppressWarnings("unchecked")
+  private void hydratePage() {
+    List<Row> rows = new ArrayList<>();
+    rows.add(rowIterator.next());
+    for (int available = resultSet.getAvailableWithoutFetching(); available > 0; available--) {
+      rows.add(rowIterator.next());
+    }
+
+    // Request the next page in the background while the entities of this one are consumed
+    if (!resultSet.isFullyFetched()) {
+      LOG.trace("Prefetching next page of {}", metaEntity.getEntityType());
+      resultSet.fetchMoreResults();
+    }
+    for (AtreusManagedEntity managedEntity : session.hydrateEntities(metaEntity, rows)) {
+      entities.add((T) managedEntity);
+    }
+  }
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class
@@ -0,0 +1,62 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core;
+
+import org.atreus.core.ext.AtreusManagedEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * Weak reference to a managed entity that remembers the identity map key it was held under, so that the entry can be
+ * purged once the entity has been garbage collected.
+ *
+ * @author Martin Crawford
+ */
+class EntityReference<K> extends WeakReference<AtreusManagedEntity> {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(EntityReference.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final K key;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public EntityReference(K key, AtreusManagedEntity managedEntity, ReferenceQueue<AtreusManagedEntity> referenceQueue) {
+    super(managedEntity, referenceQueue);
+    this.key = key;
+  }
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+  public K getKey() {
+    return key;
+  }
+
+} // end of class
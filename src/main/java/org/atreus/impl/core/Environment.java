@@ -26,12 +26,17 @@ package org.atreus.impl.core;
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.exceptions.DriverException;
+import org.atreus.core.AtreusBatchStatistics;
 import org.atreus.core.AtreusClusterConnectivityException;
 import org.atreus.core.AtreusConfiguration;
+import org.atreus.core.AtreusStatementStatistics;
+import org.atreus.core.ext.meta.AtreusMetaEntity;
 import org.atreus.core.ext.plugins.AtreusPlugin;
 import org.atreus.impl.core.mappings.MappingBuilder;
+import org.atreus.impl.core.mappings.entities.meta.MetaEntityImpl;
 import org.atreus.impl.core.proxies.collections.CollectionProxyManager;
 import org.atreus.impl.core.proxies.entities.EntityProxyManager;
+import org.atreus.impl.core.queries.EntityStatementPlans;
 import org.atreus.impl.core.queries.QueryManager;
 import org.atreus.impl.types.TypeManager;
 import org.slf4j.Logger;
@@ -56,10 +61,13 @@ public class Environment {
   private Cluster cassandraCluster;
   private Session cassandraSession;
   private ManagerImpl manager;
+  private final AtreusBatchStatistics batchStatistics;
   private final AtreusConfiguration configuration;
+  private final EntityCache entityCache;
   private final MetaManagerImpl metaManager;
   private final MappingBuilder mappingBuilder;
   private final QueryManager queryManager;
+  private final AtreusStatementStatistics statementStatistics;
   private final EntityProxyManager entityProxyManager;
   private final CollectionProxyManager collectionProxyManager;
   private final TypeManager typeManager;
@@ -69,8 +77,11 @@ public class Environment {
 
   public Environment(AtreusConfiguration configuration) {
     this.configuration = configuration;
+    this.batchStatistics = new AtreusBatchStatistics();
+    this.entityCache = new EntityCache(configuration);
     this.metaManager = new MetaManagerImpl(this);
     this.queryManager = new QueryManager(this);
+    this.statementStatistics = new AtreusStatementStatistics();
     this.typeManager = new TypeManager(this);
     this.mappingBuilder = new MappingBuilder(this);
     this.entityProxyManager = new EntityProxyManager();
@@ -104,6 +115,7 @@ public class Environment {
     pluginsPreMapping();
     metaBuilderInit();
     pluginsPostMapping();
+    queryManagerInit();
   }
 
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
@@ -133,6 +145,18 @@ public class Environment {
     }
   }
 
+  private void queryManagerInit() {
+    // Statements can only be prepared once connected and after the plugins have had the chance to create the schema
+    boolean prepare = cassandraSession != null && configuration.isPrepareStatementsOnInit();
+    for (AtreusMetaEntity metaEntity : getMetaManager().getEntities()) {
+      EntityStatementPlans statementPlans = new EntityStatementPlans(metaEntity, configuration.getMaxSelectVariants(), configuration.getMaxUpdateVariants(), statementStatistics);
+      ((MetaEntityImpl) metaEntity).setStatementPlans(statementPlans);
+      if (prepare) {
+        statementPlans.prepare(getQueryManager());
+      }
+    }
+  }
+
   private void typeManagerInit() {
     getTypeManager().scanPaths(getConfiguration().getScanPaths());
   }
@@ -155,10 +179,18 @@ public class Environment {
     this.cassandraSession = cassandraSession;
   }
 
+  public AtreusBatchStatistics getBatchStatistics() {
+    return batchStatistics;
+  }
+
   public AtreusConfiguration getConfiguration() {
     return configuration;
   }
 
+  public EntityCache getEntityCache() {
+    return entityCache;
+  }
+
   public MetaManagerImpl getMetaManager() {
     return metaManager;
   }
@@ -171,6 +203,10 @@ public class Environment {
     return queryManager;
   }
 
+  public AtreusStatementStatistics getStatementStatistics() {
+    return statementStatistics;
+  }
+
   public EntityProxyManager getEntityProxyManager() {
     return entityProxyManager;
   }
@@ -23,12 +23,15 @@
  */
 package org.atreus.impl.core;
 
-import org.atreus.core.AtreusManager;
-import org.atreus.core.AtreusSession;
+import org.atreus.core.*;
+import org.atreus.core.ext.meta.AtreusMetaEntity;
 import org.atreus.core.ext.meta.AtreusMetaManager;
+import org.atreus.impl.util.AssertUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 /**
  * Implements an Atreus Session Factory.
  *
@@ -52,11 +55,31 @@ public class ManagerImpl implements AtreusManager {
 
   // Public Methods ------------------------------------------------------------------------------------ Public Methods
 
+  @Override
+  public void clearCache() {
+    environment.getEntityCache().clear();
+  }
+
   @Override
   public void disconnect() {
     environment.getCassandraCluster().close();
   }
 
+  @Override
+  public AtreusBatchStatistics getBatchStatistics() {
+    return environment.getBatchStatistics();
+  }
+
+  @Override
+  public AtreusCacheStatistics getCacheStatistics() {
+    return environment.getEntityCache().getStatistics();
+  }
+
+  @Override
+  public AtreusStatementStatistics getStatementStatistics() {
+    return environment.getStatementStatistics();
+  }
+
   @Override
   public String[] getHosts() {
     return environment.getConfiguration().getHosts();
@@ -87,10 +110,38 @@ public class ManagerImpl implements AtreusManager {
     return new SessionImpl(environment);
   }
 
+  @Override
+  public <T> AtreusScan<T> scan(Class<T> entityType, int splits, int threads, AtreusScanCallback<? super T> callback) {
+    TokenRing tokenRing = TokenRing.forSession(environment.getCassandraSession());
+    return scan(entityType, tokenRing, tokenRing.split(splits), threads, callback);
+  }
+
+  @Override
+  public <T> AtreusScan<T> scan(Class<T> entityType, List<AtreusScanRange> ranges, int threads, AtreusScanCallback<? super T> callback) {
+    AssertUtils.notNull(ranges, "ranges is a required parameter");
+    return scan(entityType, TokenRing.forSession(environment.getCassandraSession()), ranges, threads, callback);
+  }
+
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
 
+  private <T> AtreusScan<T> scan(Class<T> entityType, TokenRing tokenRing, List<AtreusScanRange> ranges, int threads, AtreusScanCallback<? super T> callback) {
+    AssertUtils.notNull(entityType, "entityType is a required parameter");
+    AssertUtils.notNull(callback, "callback is a required parameter");
+    AtreusMetaEntity metaEntity = environment.getMetaManager().getEntity(entityType);
+    if (metaEntity == null) {
+      throw new RuntimeException(entityType.getCanonicalName() + " is not managed by Atreus");
+    }
+    if (threads < 1) {
+      throw new IllegalArgumentException("threads must be at least 1");
+    }
+
+    TokenRangeScan<T> scan = new TokenRangeScan<>(environment, metaEntity, tokenRing, ranges, threads, callback);
+    scan.start();
+    return scan;
+  }
+
   // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
 
 } // end of class
\ No newline at end of file
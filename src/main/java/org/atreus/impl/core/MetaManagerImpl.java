@@ -116,10 +116,25 @@ public class MetaManagerImpl implements AtreusMetaManager {
     return metaEntityByName.values().toArray(result);
   }
 
-  @SuppressWarnings("unchecked")
+  public AtreusManagedEntity createEntity(AtreusSessionExt session, AtreusMetaEntity metaEntity) {
+    AtreusManagedEntity managedEntity = environment.getEntityProxyManager().createEntity(session, metaEntity);
+    manageCollections(metaEntity, managedEntity);
+    return managedEntity;
+  }
+
   public AtreusManagedEntity wrapEntity(AtreusSessionExt session, Object entity) {
     AtreusMetaEntity metaEntity = getEntity(entity);
     AtreusManagedEntity managedEntity = environment.getEntityProxyManager().wrapEntity(session, metaEntity, entity);
+    manageCollections(metaEntity, managedEntity);
+    return managedEntity;
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  @SuppressWarnings("unchecked")
+  private void manageCollections(AtreusMetaEntity metaEntity, AtreusManagedEntity managedEntity) {
     for(AtreusMetaField metaField : metaEntity.getFields()){
       if (!(metaField instanceof AtreusMetaAssociationField)) {
         continue;
@@ -134,13 +149,8 @@ public class MetaManagerImpl implements AtreusMetaManager {
       }
       metaField.setValue(managedEntity, managedCollection);
     }
-    return managedEntity;
   }
 
-  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
-
-  // Private Methods ---------------------------------------------------------------------------------- Private Methods
-
   // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
 
 }
\ No newline at end of file
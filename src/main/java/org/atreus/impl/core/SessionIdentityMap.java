@@ -0,0 +1,183 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core;
+
+import org.atreus.core.ext.AtreusManagedEntity;
+import org.atreus.impl.util.PrimaryKeyTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Identity map of the managed entities of a single entity type within a session, keyed directly by primary key. Without
+ * a maximum size the entities are held in a primary key table specialised for the key type. With a maximum size the
+ * most recently used entities are strongly held and the least recently used clean entities are evicted beyond it,
+ * either dropped or with weak values kept for as long as the application still references them. Dirty entities and
+ * those with pending writes are never evicted.
+ *
+ * @author Martin Crawford
+ */
+class SessionIdentityMap {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(SessionIdentityMap.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final PrimaryKeyTable<AtreusManagedEntity> entityTable;
+  private long evictionCount;
+  private final int maxSize;
+  private final ReferenceQueue<AtreusManagedEntity> referenceQueue = new ReferenceQueue<>();
+  private final SessionImpl session;
+  private final Map<Serializable, AtreusManagedEntity> strongEntities;
+  private final Map<Serializable, EntityReference<Serializable>> weakEntities = new HashMap<>();
+  private final boolean weakValues;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public SessionIdentityMap(SessionImpl session, Class<?> primaryKeyType, int maxSize, boolean weakValues) {
+    this.session = session;
+    this.maxSize = maxSize;
+    this.weakValues = weakValues;
+    this.entityTable = maxSize < 1 ? PrimaryKeyTable.<AtreusManagedEntity>create(primaryKeyType) : null;
+    this.strongEntities = maxSize < 1 ? null : new LinkedHashMap<Serializable, AtreusManagedEntity>(16, 0.75f, true);
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  public void clear() {
+    if (entityTable != null) {
+      entityTable.clear();
+      return;
+    }
+    strongEntities.clear();
+    weakEntities.clear();
+    while (referenceQueue.poll() != null) {
+      // Drain the references of the discarded entries
+    }
+  }
+
+  public AtreusManagedEntity get(Serializable primaryKey) {
+    if (entityTable != null) {
+      return entityTable.get(primaryKey);
+    }
+    AtreusManagedEntity managedEntity = strongEntities.get(primaryKey);
+    if (managedEntity != null || weakEntities.isEmpty()) {
+      return managedEntity;
+    }
+
+    // An evicted entity still referenced by the application becomes strongly held again once it is used
+    purge();
+    EntityReference<Serializable> entityReference = weakEntities.remove(primaryKey);
+    managedEntity = entityReference != null ? entityReference.get() : null;
+    if (managedEntity != null) {
+      put(primaryKey, managedEntity);
+    }
+    return managedEntity;
+  }
+
+  public void put(Serializable primaryKey, AtreusManagedEntity managedEntity) {
+    if (entityTable != null) {
+      entityTable.put(primaryKey, managedEntity);
+      return;
+    }
+    strongEntities.put(primaryKey, managedEntity);
+    if (!weakEntities.isEmpty()) {
+      weakEntities.remove(primaryKey);
+      purge();
+    }
+    evictIfNecessary();
+  }
+
+  public void remove(Serializable primaryKey) {
+    if (entityTable != null) {
+      entityTable.remove(primaryKey);
+      return;
+    }
+    strongEntities.remove(primaryKey);
+    weakEntities.remove(primaryKey);
+  }
+
+  public int size() {
+    if (entityTable != null) {
+      return entityTable.size();
+    }
+    return strongEntities.size() + weakEntities.size();
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  private void evictIfNecessary() {
+    if (strongEntities.size() <= maxSize) {
+      return;
+    }
+
+    // Evict from the least recently used end, skipping entities that must stay strongly held
+    int excess = strongEntities.size() - maxSize;
+    Iterator<Map.Entry<Serializable, AtreusManagedEntity>> iterator = strongEntities.entrySet().iterator();
+    while (excess > 0 && iterator.hasNext()) {
+      Map.Entry<Serializable, AtreusManagedEntity> entry = iterator.next();
+      if (session.isEvictionPinned(entry.getValue())) {
+        continue;
+      }
+      iterator.remove();
+      excess--;
+      evictionCount++;
+      if (weakValues) {
+        weakEntities.put(entry.getKey(), new EntityReference<>(entry.getKey(), entry.getValue(), referenceQueue));
+      }
+    }
+    LOG.trace("Evicted session entities to {} strongly held", strongEntities.size());
+  }
+
+  @SuppressWarnings("unchecked")
+  private void purge() {
+    Reference<? extends AtreusManagedEntity> reference;
+    while ((reference = referenceQueue.poll()) != null) {
+      EntityReference<Serializable> entityReference = (EntityReference<Serializable>) reference;
+
+      // Only remove the entry if it has not since been replaced
+      if (weakEntities.get(entityReference.getKey()) == entityReference) {
+        weakEntities.remove(entityReference.getKey());
+      }
+    }
+  }
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+  public long getEvictionCount() {
+    return evictionCount;
+  }
+
+} // end of class
@@ -24,26 +24,45 @@
 package org.atreus.impl.core;
 
 import com.datastax.driver.core.*;
+import com.google.common.base.Functions;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.atreus.core.AtreusConfiguration;
 import org.atreus.core.ext.AtreusManagedEntity;
 import org.atreus.core.ext.AtreusSessionExt;
+import org.atreus.core.ext.listeners.AtreusEntityListener;
 import org.atreus.core.ext.listeners.AtreusOnDeleteListener;
 import org.atreus.core.ext.listeners.AtreusOnFetchListener;
 import org.atreus.core.ext.listeners.AtreusOnSaveListener;
 import org.atreus.core.ext.listeners.AtreusOnUpdateListener;
 import org.atreus.core.ext.meta.AtreusMetaAssociation;
 import org.atreus.core.ext.meta.AtreusMetaEntity;
+import org.atreus.core.ext.meta.AtreusMetaField;
+import org.atreus.core.ext.meta.AtreusMetaSimpleField;
 import org.atreus.impl.core.mappings.associations.handlers.AssociationFetchHandler;
 import org.atreus.impl.core.mappings.entities.handlers.EntityFetchHandler;
+import org.atreus.impl.core.mappings.entities.listeners.PrimaryKeyGeneratorListener;
+import org.atreus.impl.core.queries.BatchHelper;
 import org.atreus.impl.core.queries.QueryManager;
 import org.atreus.impl.util.AssertUtils;
-import org.atreus.impl.util.CompositeMapKey;
+import org.atreus.impl.util.PrimaryKeyTable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import static org.atreus.impl.util.MetaFieldIteratorUtils.iterateMetaSimpleFields;
 
 /**
  * Implements an Atreus Session.
@@ -60,13 +79,31 @@ public class SessionImpl implements AtreusSessionExt {
 
   private static final EntityFetchHandler ENTITY_FETCH_HANDLER = new EntityFetchHandler();
 
+  private static final PrimaryKeyGeneratorListener PRIMARY_KEY_GENERATOR_LISTENER = new PrimaryKeyGeneratorListener();
+
+  private static final FutureCallback<Void> FLUSH_FAILURE_LOGGER = new FutureCallback<Void>() {
+    @Override
+    public void onSuccess(Void result) {
+      LOG.trace("Asynchronous flush completed");
+    }
+
+    @Override
+    public void onFailure(Throwable t) {
+      LOG.error("Asynchronous flush failed", t);
+    }
+  };
+
   // Instance Variables ---------------------------------------------------------------------------- Instance Variables
 
   private boolean closed;
 
   private final Environment environment;
 
-  private Map<CompositeMapKey, AtreusManagedEntity> cachedEntities = new HashMap<>();
+  private final Map<Class<?>, SessionIdentityMap> cachedEntities = new HashMap<>();
+
+  private final Map<Class<?>, PrimaryKeyTable<DeferredWrite>> deferredWriteIndex = new HashMap<>();
+
+  private List<DeferredWrite> deferredWrites = new ArrayList<>();
 
   private boolean sessionCache;
 
@@ -74,12 +111,24 @@ public class SessionImpl implements AtreusSessionExt {
 
   private boolean writeAsync;
 
+  private boolean writeAtomic;
+
   private boolean writeBatch;
 
   private ConsistencyLevel writeConsistencyLevel;
 
+  private boolean writeDeferred;
+
   private BatchStatement currentBatchStatement;
 
+  private SettableFuture<Void> currentBatchFuture;
+
+  private List<ListenableFuture<List<ResultSet>>> currentBatchParts;
+
+  private long currentBatchSize;
+
+  private int currentBatchStatements;
+
   private int nestedBatchCount;
 
   // Constructors ---------------------------------------------------------------------------------------- Constructors
@@ -87,7 +136,9 @@ public class SessionImpl implements AtreusSessionExt {
   public SessionImpl(Environment environment) {
     this.environment = environment;
     writeAsync = getConfiguration().isDefaultWriteAsync();
+    writeAtomic = getConfiguration().isDefaultWriteAtomic();
     writeBatch = getConfiguration().isDefaultWriteBatch();
+    writeDeferred = getConfiguration().isDefaultWriteDeferred();
     readConsistencyLevel = getConfiguration().getDefaultReadConsistencyLevel();
     writeConsistencyLevel = getConfiguration().getDefaultWriteConsistencyLevel();
     sessionCache = getConfiguration().isSessionCache();
@@ -106,11 +157,18 @@ public class SessionImpl implements AtreusSessionExt {
     // Retrieve managed entity
     AtreusManagedEntity managedEntity = manageEntity(entity);
 
+    // Defer the delete until the session is flushed
+    if (isWriteDeferred()) {
+      deferWrite(managedEntity, AtreusOnDeleteListener.class);
+      uncacheEntry(managedEntity);
+      return;
+    }
+
     // Open a batch if necessary
     batchOpen();
 
     // Broadcast to the on delete listeners
-    managedEntity.getMetaEntity().broadcastListeners(this, managedEntity, AtreusOnDeleteListener.class);
+    broadcastWrite(managedEntity, AtreusOnDeleteListener.class);
 
     // Finish the batch if necessary
     batchFinish();
@@ -119,11 +177,59 @@ public class SessionImpl implements AtreusSessionExt {
     uncacheEntry(managedEntity);
   }
 
+  @Override
+  public <T> ListenableFuture<Void> deleteAsync(T entity) {
+    assertSessionNotClosed();
+
+    // Assert input params
+    AssertUtils.notNull(entity, "entity is a required parameter");
+
+    // Retrieve managed entity
+    AtreusManagedEntity managedEntity = manageEntity(entity);
+
+    // Broadcast to the on delete listeners within a batch finished asynchronously
+    ListenableFuture<Void> batchFuture = writeEntityAsync(managedEntity, AtreusOnDeleteListener.class);
+
+    // Remove the managed entity from the cache
+    uncacheEntry(managedEntity);
+    return batchFuture;
+  }
+
+  @Override
+  public <T> void deleteAll(Collection<T> entities) {
+    assertSessionNotClosed();
+
+    // Assert input params
+    AssertUtils.notNull(entities, "entities is a required parameter");
+
+    // Within an enclosing batch or unit of work the writes can only complete along with it
+    if (nestedBatchCount > 0 || isWriteDeferred()) {
+      for (T entity : entities) {
+        delete(entity);
+      }
+      return;
+    }
+
+    BulkWrite bulkWrite = new BulkWrite(getConfiguration().getMaxBulkWritesInFlight());
+    for (T entity : entities) {
+      bulkWrite.acquire();
+      try {
+        AtreusManagedEntity managedEntity = manageEntity(entity);
+        bulkWrite.track(entity, writeEntityAsync(managedEntity, AtreusOnDeleteListener.class));
+        uncacheEntry(managedEntity);
+      }
+      catch (RuntimeException e) {
+        bulkWrite.failed(entity, e);
+      }
+    }
+    bulkWrite.await();
+  }
+
   @Override
   public AtreusManagedEntity entityInstance(AtreusMetaEntity metaEntity, Serializable primaryKey) {
     assertSessionNotClosed();
 
-    Object entity = environment.getEntityProxyManager().createEntity(this, metaEntity);
+    Object entity = getEntityManager().createEntity(this, metaEntity);
     metaEntity.getPrimaryKeyField().setValue(entity, primaryKey);
     return manageEntity(entity);
   }
@@ -142,6 +248,13 @@ public class SessionImpl implements AtreusSessionExt {
     return execute(new SimpleStatement(cql));
   }
 
+  @Override
+  public ResultSetFuture executeAsync(Statement statement) {
+    assertSessionNotClosed();
+
+    return executeReadAsync(statement);
+  }
+
   @Override
   public void executeOrBatch(Statement statement) {
     assertSessionNotClosed();
@@ -158,6 +271,11 @@ public class SessionImpl implements AtreusSessionExt {
     // Batch is currently open so add this statement to it
     if (isBatchOpen()) {
       currentBatchStatement.add(statement);
+      currentBatchStatements++;
+      currentBatchSize += BatchHelper.estimateSize(statement);
+      if (isBatchLimitReached()) {
+        batchAutoFlush();
+      }
       return;
     }
     getCassandraSession().execute(statement);
@@ -180,11 +298,15 @@ public class SessionImpl implements AtreusSessionExt {
     Serializable primaryKey = managedEntity.getPrimaryKey();
     AtreusMetaEntity metaEntity = managedEntity.getMetaEntity();
 
+    // An entity already loaded, such as by a projection, is only completed and its listeners have already been told
+    boolean loaded = managedEntity.isLoaded();
     managedEntity = fetchEntity(metaEntity, primaryKey, managedEntity);
     if (managedEntity == null) {
       throw new RuntimeException("Managed entity could not be fetched as it does not exist " + primaryKey + " " + metaEntity.getEntityType());
     }
-    managedEntity.getMetaEntity().broadcastListeners(this, managedEntity, AtreusOnFetchListener.class);
+    if (!loaded) {
+      managedEntity.getMetaEntity().broadcastListeners(this, managedEntity, AtreusOnFetchListener.class);
+    }
   }
 
   @Override
@@ -198,6 +320,68 @@ public class SessionImpl implements AtreusSessionExt {
     ASSOCIATION_FETCH_HANDLER.fetch(this, metaAssociation, managedEntity);
   }
 
+  @Override
+  public void fetchGroup(AtreusManagedEntity managedEntity, String fetchGroup) {
+    assertSessionNotClosed();
+
+    // Assert input params
+    AssertUtils.notNull(managedEntity, "managedEntity is a required parameter");
+    AssertUtils.notNull(fetchGroup, "fetchGroup is a required parameter");
+
+    if (ENTITY_FETCH_HANDLER.fetchGroup(this, managedEntity, fetchGroup) == null) {
+      throw new RuntimeException("Managed entity could not be fetched as it does not exist " + managedEntity.getPrimaryKey() + " " + managedEntity.getMetaEntity().getEntityType());
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> List<T> findAll(Class<T> entityType, Collection<? extends Serializable> primaryKeys) {
+    assertSessionNotClosed();
+
+    // Assert input params
+    AssertUtils.notNull(entityType, "entityType is a required parameter");
+    AssertUtils.notNull(primaryKeys, "primaryKeys is a required parameter");
+    AtreusMetaEntity metaEntity = assertGetMetaEntity(entityType);
+
+    // Resolve what is available from the session cache and collect the distinct misses
+    Map<Serializable, AtreusManagedEntity> managedEntities = new HashMap<>();
+    List<Serializable> fetchPrimaryKeys = new ArrayList<>();
+    for (Serializable primaryKey : primaryKeys) {
+      AssertUtils.notNull(primaryKey, "primaryKeys cannot contain a null primary key");
+      if (managedEntities.containsKey(primaryKey)) {
+        continue;
+      }
+      AtreusManagedEntity managedEntity = getCachedEntity(entityType, primaryKey);
+      managedEntities.put(primaryKey, managedEntity);
+      if (managedEntity == null) {
+        fetchPrimaryKeys.add(primaryKey);
+      }
+    }
+
+    // Fetch the misses and broadcast to the on fetch listeners together so associations are loaded in one pass
+    if (!fetchPrimaryKeys.isEmpty()) {
+      List<Row> rows = fetchRows(metaEntity, fetchPrimaryKeys);
+      List<AtreusManagedEntity> broadcastEntities = new ArrayList<>(rows.size());
+      for (int i = 0; i < fetchPrimaryKeys.size(); i++) {
+        Row row = rows.get(i);
+        if (row == null) {
+          continue;
+        }
+        AtreusManagedEntity managedEntity = ENTITY_FETCH_HANDLER.unbindEntity(this, metaEntity, fetchPrimaryKeys.get(i), row, null);
+        broadcastEntities.add(managedEntity);
+        managedEntities.put(fetchPrimaryKeys.get(i), managedEntity);
+      }
+      metaEntity.broadcastListeners(this, broadcastEntities, AtreusOnFetchListener.class);
+    }
+
+    // Return in the order of the primary keys with null for entities that do not exist
+    List<T> entities = new ArrayList<>(primaryKeys.size());
+    for (Serializable primaryKey : primaryKeys) {
+      entities.add((T) managedEntities.get(primaryKey));
+    }
+    return entities;
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public <T> T findOne(Class<T> entityType, Serializable primaryKey) {
@@ -216,28 +400,127 @@ public class SessionImpl implements AtreusSessionExt {
     return (T) managedEntity;
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T findOne(Class<T> entityType, Serializable primaryKey, String... fieldNames) {
+    if (fieldNames == null || fieldNames.length == 0) {
+      return findOne(entityType, primaryKey);
+    }
+    assertSessionNotClosed();
+
+    // Assert input params
+    AssertUtils.notNull(entityType, "entityType is a required parameter");
+    AssertUtils.notNull(primaryKey, "primaryKey is a required parameter");
+    AtreusMetaEntity metaEntity = assertGetMetaEntity(entityType);
+
+    // Resolve the columns of the requested fields
+    List<AtreusMetaSimpleField> selectedFields = new ArrayList<>();
+    for (String fieldName : fieldNames) {
+      AtreusMetaField metaField = metaEntity.getFieldByName(fieldName);
+      Collection<AtreusMetaSimpleField> metaSimpleFields = metaField == null ? null : iterateMetaSimpleFields(metaField);
+      if (metaSimpleFields == null || metaSimpleFields.isEmpty()) {
+        throw new RuntimeException(fieldName + " is not a column field of " + entityType.getCanonicalName());
+      }
+      selectedFields.addAll(metaSimpleFields);
+    }
+
+    // A full row already in the second level cache is used as is, while a projection is never cached
+    Row row = getEnvironment().getEntityCache().get(metaEntity, primaryKey);
+    if (row == null) {
+      row = ENTITY_FETCH_HANDLER.fetchRow(this, metaEntity, primaryKey, selectedFields);
+      if (row == null) {
+        return null;
+      }
+    }
+    AtreusManagedEntity managedEntity = ENTITY_FETCH_HANDLER.unbindEntity(this, metaEntity, primaryKey, row, null);
+    managedEntity.getMetaEntity().broadcastListeners(this, managedEntity, AtreusOnFetchListener.class);
+    return (T) managedEntity;
+  }
+
   @Override
   public void flush() {
+    flush(isWriteAsync());
+  }
+
+  @Override
+  public void flush(boolean async) {
     assertSessionNotClosed();
 
+    // Asynchronous flushes are not waited on, but failures are still reported
+    if (async) {
+      Futures.addCallback(flushAsync(), FLUSH_FAILURE_LOGGER);
+      return;
+    }
+
+    flushDeferredWrites();
     if (currentBatchStatement == null) {
       return;
     }
-    executeWrite(currentBatchStatement, isWriteAsync());
-    currentBatchStatement = null;
-    nestedBatchCount = 0;
+    BatchStatement batchStatement = currentBatchStatement;
+    SettableFuture<Void> batchFuture = currentBatchFuture;
+    List<ListenableFuture<List<ResultSet>>> batchParts = currentBatchParts;
+    boolean batchEmpty = currentBatchStatements == 0;
+    batchRecord(false);
+    batchClear();
+
+    try {
+      if (!batchEmpty) {
+        executeBatch(batchStatement);
+      }
+      waitFor(Futures.allAsList(batchParts));
+      batchFuture.set(null);
+    }
+    catch (RuntimeException e) {
+      batchFuture.setException(e);
+      throw e;
+    }
   }
 
   @Override
-  public void flush(boolean async) {
+  public ListenableFuture<Void> flushAsync() {
     assertSessionNotClosed();
 
+    flushDeferredWrites();
     if (currentBatchStatement == null) {
-      return;
+      return Futures.immediateFuture(null);
     }
-    executeWrite(currentBatchStatement, async);
-    currentBatchStatement = null;
-    nestedBatchCount = 0;
+    BatchStatement batchStatement = currentBatchStatement;
+    final SettableFuture<Void> batchFuture = currentBatchFuture;
+    List<ListenableFuture<List<ResultSet>>> batchParts = currentBatchParts;
+    boolean batchEmpty = currentBatchStatements == 0;
+    batchRecord(false);
+    batchClear();
+
+    if (!batchEmpty) {
+      batchParts.add(executeBatchAsync(batchStatement));
+    }
+
+    // Complete the batch future once the driver has completed all parts of the write
+    Futures.addCallback(Futures.allAsList(batchParts), new FutureCallback<Object>() {
+      @Override
+      public void onSuccess(Object result) {
+        batchFuture.set(null);
+      }
+
+      @Override
+      public void onFailure(Throwable t) {
+        batchFuture.setException(t);
+      }
+    });
+    return batchFuture;
+  }
+
+  @Override
+  public <T> Iterator<T> iterate(Class<T> entityType, int fetchSize) {
+    assertSessionNotClosed();
+
+    // Assert input params
+    AssertUtils.notNull(entityType, "entityType is a required parameter");
+    AtreusMetaEntity metaEntity = assertGetMetaEntity(entityType);
+
+    // Entities are hydrated as the rows are paged in and are not held by the session
+    ResultSet resultSet = ENTITY_FETCH_HANDLER.fetchAllRows(this, metaEntity, fetchSize);
+    return new EntityIterator<>(this, metaEntity, resultSet);
   }
 
   @Override
@@ -286,8 +569,22 @@ public class SessionImpl implements AtreusSessionExt {
     if (!sessionCache) {
       return null;
     }
-    CompositeMapKey managedEntityKey = new CompositeMapKey(entityType, primaryKey);
-    return cachedEntities.get(managedEntityKey);
+    SessionIdentityMap identityMap = cachedEntities.get(entityType);
+    return identityMap != null ? identityMap.get(primaryKey) : null;
+  }
+
+  @Override
+  public int getMaxReadsInFlight() {
+    return getConfiguration().getMaxReadsInFlight();
+  }
+
+  @Override
+  public long getCacheEvictionCount() {
+    long evictionCount = 0;
+    for (SessionIdentityMap identityMap : cachedEntities.values()) {
+      evictionCount += identityMap.getEvictionCount();
+    }
+    return evictionCount;
   }
 
   @Override
@@ -314,6 +611,14 @@ public class SessionImpl implements AtreusSessionExt {
     return getQueryManager().generate(regularStatement);
   }
 
+  @Override
+  public BoundStatement prepareUnsharedQuery(String cql) {
+    assertSessionNotClosed();
+
+    LOG.debug("CQL: {}", cql);
+    return getQueryManager().generateUnshared(cql);
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public <T> T save(T entity) {
@@ -325,11 +630,18 @@ public class SessionImpl implements AtreusSessionExt {
     // Retrieve managed entity
     AtreusManagedEntity managedEntity = manageEntity(entity);
 
+    // Defer the save until the session is flushed
+    if (isWriteDeferred()) {
+      deferWrite(managedEntity, AtreusOnSaveListener.class);
+      cacheEntity(managedEntity);
+      return (T) managedEntity;
+    }
+
     // Open a batch if necessary
     batchOpen();
 
     // Broadcast to the on save listeners
-    managedEntity.getMetaEntity().broadcastListeners(this, managedEntity, AtreusOnSaveListener.class);
+    broadcastWrite(managedEntity, AtreusOnSaveListener.class);
 
     // Finish the batch if necessary
     batchFinish();
@@ -339,6 +651,65 @@ public class SessionImpl implements AtreusSessionExt {
     return (T) managedEntity;
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> ListenableFuture<T> saveAsync(T entity) {
+    assertSessionNotClosed();
+
+    // Assert input params
+    AssertUtils.notNull(entity, "entity is a required parameter");
+
+    // Retrieve managed entity
+    AtreusManagedEntity managedEntity = manageEntity(entity);
+
+    // Broadcast to the on save listeners within a batch finished asynchronously
+    ListenableFuture<Void> batchFuture = writeEntityAsync(managedEntity, AtreusOnSaveListener.class);
+
+    // Cache the managed entity
+    cacheEntity(managedEntity);
+    return Futures.transform(batchFuture, Functions.constant((T) managedEntity));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> List<T> saveAll(Collection<T> entities) {
+    assertSessionNotClosed();
+
+    // Assert input params
+    AssertUtils.notNull(entities, "entities is a required parameter");
+
+    List<T> managedEntities = new ArrayList<>(entities.size());
+
+    // Within an enclosing batch or unit of work the writes can only complete along with it
+    if (nestedBatchCount > 0 || isWriteDeferred()) {
+      for (T entity : entities) {
+        managedEntities.add(save(entity));
+      }
+      return managedEntities;
+    }
+
+    BulkWrite bulkWrite = new BulkWrite(getConfiguration().getMaxBulkWritesInFlight());
+    for (T entity : entities) {
+      bulkWrite.acquire();
+      try {
+        AtreusManagedEntity managedEntity = manageEntity(entity);
+        bulkWrite.track(entity, writeEntityAsync(managedEntity, AtreusOnSaveListener.class));
+        cacheEntity(managedEntity);
+        managedEntities.add((T) managedEntity);
+      }
+      catch (RuntimeException e) {
+        bulkWrite.failed(entity, e);
+      }
+    }
+    bulkWrite.await();
+    return managedEntities;
+  }
+
+  @Override
+  public <T> Iterator<T> stream(Class<T> entityType) {
+    return iterate(entityType, getConfiguration().getFetchSize());
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public <T> T update(T entity) {
@@ -350,11 +721,18 @@ public class SessionImpl implements AtreusSessionExt {
     // Retrieve managed entity
     AtreusManagedEntity managedEntity = manageEntity(entity);
 
+    // Defer the update until the session is flushed
+    if (isWriteDeferred()) {
+      deferWrite(managedEntity, AtreusOnUpdateListener.class);
+      cacheEntity(managedEntity);
+      return (T) managedEntity;
+    }
+
     // Open a batch if necessary
     batchOpen();
 
     // Broadcast to the on save listeners
-    managedEntity.getMetaEntity().broadcastListeners(this, managedEntity, AtreusOnUpdateListener.class);
+    broadcastWrite(managedEntity, AtreusOnUpdateListener.class);
 
     // Finish the batch if necessary
     batchFinish();
@@ -364,6 +742,60 @@ public class SessionImpl implements AtreusSessionExt {
     return (T) managedEntity;
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> ListenableFuture<T> updateAsync(T entity) {
+    assertSessionNotClosed();
+
+    // Assert input params
+    AssertUtils.notNull(entity, "entity is a required parameter");
+
+    // Retrieve managed entity
+    AtreusManagedEntity managedEntity = manageEntity(entity);
+
+    // Broadcast to the on update listeners within a batch finished asynchronously
+    ListenableFuture<Void> batchFuture = writeEntityAsync(managedEntity, AtreusOnUpdateListener.class);
+
+    // Cache the managed entity
+    cacheEntity(managedEntity);
+    return Futures.transform(batchFuture, Functions.constant((T) managedEntity));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> List<T> updateAll(Collection<T> entities) {
+    assertSessionNotClosed();
+
+    // Assert input params
+    AssertUtils.notNull(entities, "entities is a required parameter");
+
+    List<T> managedEntities = new ArrayList<>(entities.size());
+
+    // Within an enclosing batch or unit of work the writes can only complete along with it
+    if (nestedBatchCount > 0 || isWriteDeferred()) {
+      for (T entity : entities) {
+        managedEntities.add(update(entity));
+      }
+      return managedEntities;
+    }
+
+    BulkWrite bulkWrite = new BulkWrite(getConfiguration().getMaxBulkWritesInFlight());
+    for (T entity : entities) {
+      bulkWrite.acquire();
+      try {
+        AtreusManagedEntity managedEntity = manageEntity(entity);
+        bulkWrite.track(entity, writeEntityAsync(managedEntity, AtreusOnUpdateListener.class));
+        cacheEntity(managedEntity);
+        managedEntities.add((T) managedEntity);
+      }
+      catch (RuntimeException e) {
+        bulkWrite.failed(entity, e);
+      }
+    }
+    bulkWrite.await();
+    return managedEntities;
+  }
+
   @Override
   public void close() {
     flush();
@@ -389,6 +821,36 @@ public class SessionImpl implements AtreusSessionExt {
     return environment;
   }
 
+  protected AtreusManagedEntity hydrateEntity(AtreusMetaEntity metaEntity, Row row) {
+    // Hydrate an entity from a row already read, the entity is not cached within the session
+    AtreusManagedEntity managedEntity = getEntityManager().createEntity(this, metaEntity);
+    ENTITY_FETCH_HANDLER.unbindEntity(row, managedEntity);
+    metaEntity.broadcastListeners(this, managedEntity, AtreusOnFetchListener.class);
+    return managedEntity;
+  }
+
+  protected List<AtreusManagedEntity> hydrateEntities(AtreusMetaEntity metaEntity, List<Row> rows) {
+    // Hydrate entities from rows already read, broadcast together so that their associations are fetched at once
+    List<AtreusManagedEntity> managedEntities = new ArrayList<>(rows.size());
+    for (Row row : rows) {
+      AtreusManagedEntity managedEntity = getEntityManager().createEntity(this, metaEntity);
+      ENTITY_FETCH_HANDLER.unbindEntity(row, managedEntity);
+      managedEntities.add(managedEntity);
+    }
+    metaEntity.broadcastListeners(this, managedEntities, AtreusOnFetchListener.class);
+    return managedEntities;
+  }
+
+  protected boolean isEvictionPinned(AtreusManagedEntity managedEntity) {
+    // Entities with a pending deferred write or unwritten changes stay strongly held by the session
+    PrimaryKeyTable<DeferredWrite> deferredWriteTable = deferredWriteTable(managedEntity, false);
+    DeferredWrite deferredWrite = deferredWriteTable == null ? null : deferredWriteTable.get(managedEntity.getPrimaryKey());
+    if (deferredWrite != null && deferredWrite.getManagedEntity() == managedEntity) {
+      return true;
+    }
+    return managedEntity.isDirty();
+  }
+
   protected QueryManager getQueryManager() {
     return getEnvironment().getQueryManager();
   }
@@ -417,6 +879,31 @@ public class SessionImpl implements AtreusSessionExt {
     }
   }
 
+  private void batchAutoFlush() {
+    // Send what has been batched so far and carry on with a fresh batch, the open batch completes once all parts have
+    LOG.debug("Batch limit reached with {} statements of {} estimated bytes", currentBatchStatements, currentBatchSize);
+    batchRecord(true);
+    currentBatchParts.add(executeBatchAsync(currentBatchStatement));
+    currentBatchStatement = new BatchStatement();
+    currentBatchStatements = 0;
+    currentBatchSize = 0;
+  }
+
+  private void batchAbort(Throwable cause) {
+    LOG.trace("Batch Aborted");
+    currentBatchFuture.setException(cause);
+    batchClear();
+  }
+
+  private void batchClear() {
+    currentBatchStatement = null;
+    currentBatchFuture = null;
+    currentBatchParts = null;
+    currentBatchStatements = 0;
+    currentBatchSize = 0;
+    nestedBatchCount = 0;
+  }
+
   private void batchFinish() {
     nestedBatchCount--;
     if (nestedBatchCount < 1) {
@@ -425,6 +912,14 @@ public class SessionImpl implements AtreusSessionExt {
     }
   }
 
+  private void batchFinishAsync() {
+    nestedBatchCount--;
+    if (nestedBatchCount < 1) {
+      LOG.trace("Batch Finished");
+      flushAsync();
+    }
+  }
+
   private void batchOpen() {
     nestedBatchCount++;
     if (isBatchOpen()) {
@@ -432,6 +927,27 @@ public class SessionImpl implements AtreusSessionExt {
     }
     LOG.trace("Batch Opened");
     currentBatchStatement = new BatchStatement();
+    currentBatchFuture = SettableFuture.create();
+    currentBatchParts = new ArrayList<>();
+  }
+
+  private void batchRecord(boolean autoFlush) {
+    if (currentBatchStatements == 0) {
+      return;
+    }
+    getEnvironment().getBatchStatistics().recordBatch(currentBatchStatements, currentBatchSize, autoFlush);
+  }
+
+  private void broadcastWrite(AtreusManagedEntity managedEntity, Class<? extends AtreusEntityListener> listenerClass) {
+    AtreusMetaEntity metaEntity = managedEntity.getMetaEntity();
+    metaEntity.broadcastListeners(this, managedEntity, listenerClass);
+
+    // The row cached by the second level cache no longer reflects the entity, neither before nor once it is written
+    EntityCache entityCache = getEnvironment().getEntityCache();
+    entityCache.invalidate(metaEntity, managedEntity.getPrimaryKey());
+    if (currentBatchFuture != null) {
+      entityCache.invalidateOnCompletion(metaEntity, managedEntity.getPrimaryKey(), currentBatchFuture);
+    }
   }
 
   private void cacheClear() {
@@ -448,7 +964,7 @@ public class SessionImpl implements AtreusSessionExt {
       return;
     }
 
-    Class<?> entityType = managedEntity.getMetaEntity().getEntityType();
+    AtreusMetaEntity metaEntity = managedEntity.getMetaEntity();
     Serializable primaryKey = managedEntity.getPrimaryKey();
 
     // Cannot cache with null primary ket
@@ -456,9 +972,40 @@ public class SessionImpl implements AtreusSessionExt {
       return;
     }
 
-    // Build composite key and put in the map
-    CompositeMapKey managedEntityKey = new CompositeMapKey(entityType, primaryKey);
-    cachedEntities.put(managedEntityKey, managedEntity);
+    // Put in the identity map of the entity type
+    SessionIdentityMap identityMap = cachedEntities.get(metaEntity.getEntityType());
+    if (identityMap == null) {
+      identityMap = new SessionIdentityMap(this, metaEntity.getPrimaryKeyField().getType(), getConfiguration().getSessionCacheMaxSize(), getConfiguration().isSessionCacheWeakValues());
+      cachedEntities.put(metaEntity.getEntityType(), identityMap);
+    }
+    identityMap.put(primaryKey, managedEntity);
+  }
+
+  private void executeBatch(BatchStatement batchStatement) {
+    if (isWriteAtomic()) {
+      executeWrite(batchStatement);
+      return;
+    }
+
+    // Dispatch all partitions concurrently and then wait for each of them
+    for (ResultSetFuture resultSetFuture : executePartitionsAsync(batchStatement)) {
+      resultSetFuture.getUninterruptibly();
+    }
+  }
+
+  private ListenableFuture<List<ResultSet>> executeBatchAsync(BatchStatement batchStatement) {
+    if (isWriteAtomic()) {
+      return Futures.allAsList(executeWriteAsync(batchStatement));
+    }
+    return Futures.allAsList(executePartitionsAsync(batchStatement));
+  }
+
+  private List<ResultSetFuture> executePartitionsAsync(BatchStatement batchStatement) {
+    List<ResultSetFuture> resultSetFutures = new ArrayList<>();
+    for (Statement statement : BatchHelper.partitionBatch(batchStatement)) {
+      resultSetFutures.add(executeWriteAsync(statement));
+    }
+    return resultSetFutures;
   }
 
   private ResultSet executeRead(Statement statement) {
@@ -466,18 +1013,190 @@ public class SessionImpl implements AtreusSessionExt {
     return getCassandraSession().execute(statement);
   }
 
-  private void executeWrite(Statement statement, boolean async) {
+  private ResultSetFuture executeReadAsync(Statement statement) {
+    statement.setConsistencyLevel(getReadConsistencyLevel());
+    return getCassandraSession().executeAsync(statement);
+  }
+
+  private ResultSet executeWrite(Statement statement) {
     statement.setConsistencyLevel(getWriteConsistencyLevel());
-    if (async) {
-      // TODO implement callback listener architecture
-      getCassandraSession().executeAsync(statement);
+    return getCassandraSession().execute(statement);
+  }
+
+  private ResultSetFuture executeWriteAsync(Statement statement) {
+    statement.setConsistencyLevel(getWriteConsistencyLevel());
+    return getCassandraSession().executeAsync(statement);
+  }
+
+  private void deferWrite(AtreusManagedEntity managedEntity, Class<? extends AtreusEntityListener> listenerClass) {
+    // Only a save of an entity neither loaded nor yet given a primary key creates it within the unit of work
+    boolean created = AtreusOnSaveListener.class.equals(listenerClass) && !managedEntity.isLoaded() && managedEntity.getPrimaryKey() == null;
+
+    // Generate the primary key straight away so that the entity can be identified within the unit of work
+    if (!AtreusOnDeleteListener.class.equals(listenerClass)) {
+      PRIMARY_KEY_GENERATOR_LISTENER.acceptEntity(this, managedEntity);
+    }
+
+    // A saved entity is written in full so its current state is taken as loaded rather than fetched on access
+    if (AtreusOnSaveListener.class.equals(listenerClass)) {
+      managedEntity.snapshot();
+    }
+    PrimaryKeyTable<DeferredWrite> deferredWriteTable = deferredWriteTable(managedEntity, true);
+    Serializable primaryKey = managedEntity.getPrimaryKey();
+
+    // Coalesce with an earlier write of the same managed entity
+    DeferredWrite deferredWrite = deferredWriteTable.get(primaryKey);
+    if (deferredWrite != null && deferredWrite.getManagedEntity() == managedEntity) {
+      deferredWrite.coalesce(listenerClass);
+      if (deferredWrite.isCancelled()) {
+        deferredWriteTable.remove(primaryKey);
+      }
       return;
     }
-    getCassandraSession().execute(statement);
+
+    deferredWrite = new DeferredWrite(managedEntity, listenerClass, created);
+    deferredWrites.add(deferredWrite);
+    if (primaryKey != null) {
+      deferredWriteTable.put(primaryKey, deferredWrite);
+    }
+  }
+
+  private PrimaryKeyTable<DeferredWrite> deferredWriteTable(AtreusManagedEntity managedEntity, boolean create) {
+    // Deferred writes are indexed per entity type by primary key so that looking one up allocates nothing
+    AtreusMetaEntity metaEntity = managedEntity.getMetaEntity();
+    PrimaryKeyTable<DeferredWrite> deferredWriteTable = deferredWriteIndex.get(metaEntity.getEntityType());
+    if (deferredWriteTable == null && create) {
+      deferredWriteTable = PrimaryKeyTable.create(metaEntity.getPrimaryKeyField().getType());
+      deferredWriteIndex.put(metaEntity.getEntityType(), deferredWriteTable);
+    }
+    return deferredWriteTable;
   }
 
   private AtreusManagedEntity fetchEntity(AtreusMetaEntity metaEntity, Serializable primaryKey, AtreusManagedEntity managedEntity) {
-    return ENTITY_FETCH_HANDLER.fetch(this, metaEntity, primaryKey, managedEntity);
+    // Read through the second level cache shared by all sessions
+    EntityCache entityCache = getEnvironment().getEntityCache();
+    Row row = entityCache.get(metaEntity, primaryKey);
+    if (row == null) {
+      long cacheVersion = entityCache.getVersion(metaEntity);
+      row = ENTITY_FETCH_HANDLER.fetchRow(this, metaEntity, primaryKey);
+      if (row == null) {
+        return null;
+      }
+      entityCache.put(metaEntity, primaryKey, row, cacheVersion);
+    }
+    return ENTITY_FETCH_HANDLER.unbindEntity(this, metaEntity, primaryKey, row, managedEntity);
+  }
+
+  private List<Row> fetchRows(AtreusMetaEntity metaEntity, List<Serializable> primaryKeys) {
+    // Read through the second level cache shared by all sessions, fetching only the rows it does not hold
+    EntityCache entityCache = getEnvironment().getEntityCache();
+    long cacheVersion = entityCache.getVersion(metaEntity);
+    List<Row> rows = new ArrayList<>(primaryKeys.size());
+    List<Serializable> missedPrimaryKeys = new ArrayList<>();
+    for (Serializable primaryKey : primaryKeys) {
+      Row row = entityCache.get(metaEntity, primaryKey);
+      rows.add(row);
+      if (row == null) {
+        missedPrimaryKeys.add(primaryKey);
+      }
+    }
+    if (missedPrimaryKeys.isEmpty()) {
+      return rows;
+    }
+
+    // Fill in the misses in order
+    List<Row> fetchedRows = ENTITY_FETCH_HANDLER.fetchRows(this, metaEntity, missedPrimaryKeys, getConfiguration().getMaxFetchCoalesce());
+    int fetched = 0;
+    for (int i = 0; i < rows.size(); i++) {
+      if (rows.get(i) != null) {
+        continue;
+      }
+      Row row = fetchedRows.get(fetched++);
+      if (row != null) {
+        entityCache.put(metaEntity, primaryKeys.get(i), row, cacheVersion);
+        rows.set(i, row);
+      }
+    }
+    return rows;
+  }
+
+  private ListenableFuture<Void> writeEntityAsync(AtreusManagedEntity managedEntity, Class<? extends AtreusEntityListener> listenerClass) {
+    boolean batchOwner = !isBatchOpen();
+
+    // The write is dispatched straight away and supersedes any deferred write of the entity
+    PrimaryKeyTable<DeferredWrite> deferredWriteTable = deferredWriteTable(managedEntity, false);
+    DeferredWrite deferredWrite = deferredWriteTable == null ? null : deferredWriteTable.remove(managedEntity.getPrimaryKey());
+    if (deferredWrite != null && deferredWrite.getManagedEntity() == managedEntity) {
+      deferredWrite.cancel();
+    }
+
+    // Open a batch if necessary and hold on to its completion future
+    batchOpen();
+    ListenableFuture<Void> batchFuture = currentBatchFuture;
+
+    // Broadcast to the listeners, discarding the batch on failure if it was opened for this entity
+    try {
+      broadcastWrite(managedEntity, listenerClass);
+    }
+    catch (RuntimeException e) {
+      if (batchOwner) {
+        batchAbort(e);
+      }
+      throw e;
+    }
+
+    // Finish the batch asynchronously if necessary
+    batchFinishAsync();
+    return batchFuture;
+  }
+
+  private void flushDeferredWrites() {
+    if (deferredWrites.isEmpty()) {
+      return;
+    }
+    batchOpen();
+    try {
+      // Writes cascaded by the listeners are deferred in turn and so are drained until none remain
+      while (!deferredWrites.isEmpty()) {
+        List<DeferredWrite> pendingWrites = deferredWrites;
+        deferredWrites = new ArrayList<>();
+        for (PrimaryKeyTable<DeferredWrite> deferredWriteTable : deferredWriteIndex.values()) {
+          deferredWriteTable.clear();
+        }
+
+        // Run the listeners of each coalesced write into the batch being flushed, dirty fields are only resolved now
+        LOG.debug("Flushing {} deferred writes", pendingWrites.size());
+        for (DeferredWrite deferredWrite : pendingWrites) {
+          if (deferredWrite.isCancelled()) {
+            continue;
+          }
+          AtreusManagedEntity managedEntity = deferredWrite.getManagedEntity();
+          broadcastWrite(managedEntity, deferredWrite.getListenerClass());
+        }
+      }
+    }
+    catch (RuntimeException e) {
+      batchAbort(e);
+      throw e;
+    }
+  }
+
+  private boolean isBatchLimitReached() {
+    int maxBatchStatements = getConfiguration().getMaxBatchStatements();
+    if (maxBatchStatements > 0 && currentBatchStatements >= maxBatchStatements) {
+      return true;
+    }
+    long maxBatchSize = getConfiguration().getMaxBatchSize();
+    return maxBatchSize > 0 && currentBatchSize >= maxBatchSize;
+  }
+
+  private void waitFor(ListenableFuture<?> future) {
+    try {
+      Uninterruptibles.getUninterruptibly(future);
+    }
+    catch (ExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    }
   }
 
   private void uncacheEntry(AtreusManagedEntity managedEntity) {
@@ -486,12 +1205,11 @@ public class SessionImpl implements AtreusSessionExt {
       return;
     }
 
-    Class<?> entityType = managedEntity.getMetaEntity().getEntityType();
+    SessionIdentityMap identityMap = cachedEntities.get(managedEntity.getMetaEntity().getEntityType());
     Serializable primaryKey = managedEntity.getPrimaryKey();
-
-    // Build composite key and remove from map
-    CompositeMapKey managedEntityKey = new CompositeMapKey(entityType, primaryKey);
-    cachedEntities.remove(managedEntityKey);
+    if (identityMap != null && primaryKey != null) {
+      identityMap.remove(primaryKey);
+    }
   }
 
   // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
@@ -529,6 +1247,16 @@ public class SessionImpl implements AtreusSessionExt {
     this.writeAsync = writeAsync;
   }
 
+  @Override
+  public boolean isWriteAtomic() {
+    return writeAtomic;
+  }
+
+  @Override
+  public void setWriteAtomic(boolean writeAtomic) {
+    this.writeAtomic = writeAtomic;
+  }
+
   @Override
   public boolean isWriteBatch() {
     return writeBatch;
@@ -539,6 +1267,19 @@ public class SessionImpl implements AtreusSessionExt {
     this.writeBatch = writeBatch;
   }
 
+  @Override
+  public boolean isWriteDeferred() {
+    return writeDeferred;
+  }
+
+  @Override
+  public void setWriteDeferred(boolean writeDeferred) {
+    if (!deferredWrites.isEmpty()) {
+      throw new RuntimeException("Cannot change write deferred mode while deferred writes are pending");
+    }
+    this.writeDeferred = writeDeferred;
+  }
+
   @Override
   public ConsistencyLevel getWriteConsistencyLevel() {
     return writeConsistencyLevel;
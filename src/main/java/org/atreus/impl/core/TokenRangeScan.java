@@ -0,0 +1,238 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core;
+
+import com.datastax.driver.core.*;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.atreus.core.AtreusScan;
+import org.atreus.core.AtreusScanCallback;
+import org.atreus.core.AtreusScanException;
+import org.atreus.core.AtreusScanRange;
+import org.atreus.core.ext.meta.AtreusMetaEntity;
+import org.atreus.core.ext.meta.AtreusMetaSimpleField;
+import org.atreus.core.ext.meta.AtreusMetaTable;
+import org.atreus.impl.core.queries.QueryHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.atreus.impl.util.MetaFieldIteratorUtils.iterateMetaSimpleFields;
+
+/**
+ * Scans an entity table by token range on a pool of worker threads, each range being read with its own session and
+ * the hydrated entities handed to the scan callback. Progress is tracked on the ranges at partition granularity so that
+ * a failed or cancelled scan can be resumed from its ranges, entities of a partially read partition may be delivered
+ * again on resume.
+ *
+ * @author Martin Crawford
+ */
+class TokenRangeScan<T> implements AtreusScan<T> {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(TokenRangeScan.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final AtreusScanCallback<? super T> callback;
+  private volatile boolean cancelled;
+  private final Environment environment;
+  private final ExecutorService executorService;
+  private final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+  private final AtreusMetaEntity metaEntity;
+  private final List<AtreusScanRange> ranges;
+  private final TokenRing tokenRing;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public TokenRangeScan(Environment environment, AtreusMetaEntity metaEntity, TokenRing tokenRing, List<AtreusScanRange> ranges, int threads, AtreusScanCallback<? super T> callback) {
+    this.environment = environment;
+    this.metaEntity = metaEntity;
+    this.tokenRing = tokenRing;
+    this.ranges = Collections.unmodifiableList(new ArrayList<>(ranges));
+    this.callback = callback;
+    this.executorService = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+        .setNameFormat("atreus-scan-" + metaEntity.getName() + "-%d")
+        .setDaemon(true)
+        .build());
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  @Override
+  public void await() {
+    boolean interrupted = false;
+    try {
+      while (!executorService.isTerminated()) {
+        try {
+          executorService.awaitTermination(1, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    }
+    finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    // Failed ranges are left incomplete so that the scan can be resumed
+    if (!failures.isEmpty()) {
+      throw new AtreusScanException(AtreusScanException.ERROR_CODE_SCAN_FAILED, failures.get(0), failures.size(), ranges.size());
+    }
+  }
+
+  @Override
+  public void cancel() {
+    LOG.debug("Cancelling scan of {}", metaEntity.getName());
+    cancelled = true;
+  }
+
+  @Override
+  public int getCompletedRangeCount() {
+    int count = 0;
+    for (AtreusScanRange range : ranges) {
+      if (range.isCompleted()) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public List<AtreusScanRange> getRanges() {
+    return ranges;
+  }
+
+  @Override
+  public long getRowCount() {
+    long count = 0;
+    for (AtreusScanRange range : ranges) {
+      count += range.getRowCount();
+    }
+    return count;
+  }
+
+  @Override
+  public boolean isDone() {
+    return executorService.isTerminated();
+  }
+
+  public void start() {
+    AtreusMetaTable table = metaEntity.getTable();
+    TableMetadata tableMetadata = environment.getCassandraCluster().getMetadata().getKeyspace(table.getKeySpace()).getTable(table.getName());
+
+    // Lazy columns are left out as they are fetched on first access
+    Set<String> lazyColumnNames = new HashSet<>();
+    for (AtreusMetaSimpleField metaField : iterateMetaSimpleFields(metaEntity.getFields())) {
+      if (metaField.getFetchGroup() != null) {
+        lazyColumnNames.add(metaField.getColumn().toLowerCase());
+      }
+    }
+    List<String> columnNames = new ArrayList<>();
+    for (ColumnMetadata columnMetadata : tableMetadata.getColumns()) {
+      if (!lazyColumnNames.contains(columnMetadata.getName().toLowerCase())) {
+        columnNames.add(columnMetadata.getName());
+      }
+    }
+    List<String> partitionKeyColumnNames = new ArrayList<>();
+    for (ColumnMetadata columnMetadata : tableMetadata.getPartitionKey()) {
+      partitionKeyColumnNames.add(columnMetadata.getName());
+    }
+    final RegularStatement regularStatement = QueryHelper.selectTokenRange(table, columnNames, partitionKeyColumnNames);
+    final int tokenIndex = columnNames.size();
+
+    // Submit every range not already completed by a previous scan
+    for (final AtreusScanRange range : ranges) {
+      if (range.isCompleted()) {
+        continue;
+      }
+      executorService.submit(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            scanRange(range, regularStatement, tokenIndex);
+          }
+          catch (Throwable e) {
+            LOG.warn("Scan of range " + range + " failed", e);
+            failures.add(e);
+          }
+        }
+      });
+    }
+    executorService.shutdown();
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  private void scanRange(AtreusScanRange range, RegularStatement regularStatement, int tokenIndex) {
+    SessionImpl session = new SessionImpl(environment);
+    try {
+      BigInteger startToken = range.getResumeToken() != null ? range.getResumeToken() : range.getStartToken();
+      BoundStatement boundStatement = session.prepareQuery(regularStatement);
+      tokenRing.bindRange(boundStatement, startToken, range.getEndToken());
+      boundStatement.setFetchSize(environment.getConfiguration().getFetchSize());
+
+      BigInteger currentToken = null;
+      for (Row row : session.execute(boundStatement)) {
+        if (cancelled) {
+          return;
+        }
+
+        // A change of token means the previous partition has been fully delivered
+        BigInteger token = tokenRing.readToken(row, tokenIndex);
+        if (currentToken != null && !currentToken.equals(token)) {
+          range.setResumeToken(currentToken);
+        }
+        currentToken = token;
+
+        @SuppressWarnings("unchecked")
+        T entity = (T) session.hydrateEntity(metaEntity, row);
+        callback.onEntity(entity);
+        range.setRowCount(range.getRowCount() + 1);
+      }
+      range.setResumeToken(range.getEndToken());
+      range.setCompleted(true);
+    }
+    finally {
+      session.close();
+    }
+  }
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class
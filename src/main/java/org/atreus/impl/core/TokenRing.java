@@ -0,0 +1,125 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import org.atreus.core.AtreusScanException;
+import org.atreus.core.AtreusScanRange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Describes the token ring of the cluster partitioner, splitting it into sub-ranges and binding and reading tokens in
+ * the partitioner's CQL type. Only the hashing partitioners are supported as the ordered partitioners have no fixed
+ * token bounds.
+ *
+ * @author Martin Crawford
+ */
+class TokenRing {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(TokenRing.class);
+
+  private static final String MURMUR3_PARTITIONER = "org.apache.cassandra.dht.Murmur3Partitioner";
+
+  private static final String RANDOM_PARTITIONER = "org.apache.cassandra.dht.RandomPartitioner";
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final boolean longTokens;
+  private final BigInteger maxToken;
+  private final BigInteger minToken;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  private TokenRing(boolean longTokens, BigInteger minToken, BigInteger maxToken) {
+    this.longTokens = longTokens;
+    this.minToken = minToken;
+    this.maxToken = maxToken;
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  public static TokenRing forSession(Session session) {
+    // The partitioner is not exposed by the driver metadata so it is read from the local node
+    Row row = session.execute("SELECT partitioner FROM system.local").one();
+    String partitioner = row != null ? row.getString("partitioner") : null;
+    LOG.debug("Cluster partitioner {}", partitioner);
+    if (MURMUR3_PARTITIONER.equals(partitioner)) {
+      return new TokenRing(true, BigInteger.valueOf(Long.MIN_VALUE), BigInteger.valueOf(Long.MAX_VALUE));
+    }
+    if (RANDOM_PARTITIONER.equals(partitioner)) {
+      return new TokenRing(false, BigInteger.ONE.negate(), BigInteger.valueOf(2).pow(127));
+    }
+    throw new AtreusScanException(AtreusScanException.ERROR_CODE_UNSUPPORTED_PARTITIONER, partitioner);
+  }
+
+  public void bindRange(BoundStatement boundStatement, BigInteger startToken, BigInteger endToken) {
+    if (longTokens) {
+      boundStatement.setLong(0, startToken.longValue());
+      boundStatement.setLong(1, endToken.longValue());
+      return;
+    }
+    boundStatement.setVarint(0, startToken);
+    boundStatement.setVarint(1, endToken);
+  }
+
+  public BigInteger readToken(Row row, int index) {
+    if (longTokens) {
+      return BigInteger.valueOf(row.getLong(index));
+    }
+    return row.getVarint(index);
+  }
+
+  public List<AtreusScanRange> split(int splits) {
+    if (splits < 1) {
+      throw new IllegalArgumentException("splits must be at least 1");
+    }
+
+    // Divide the ring into contiguous ranges of equal width with the last range absorbing the remainder
+    BigInteger width = maxToken.subtract(minToken).divide(BigInteger.valueOf(splits));
+    List<AtreusScanRange> ranges = new ArrayList<>(splits);
+    BigInteger startToken = minToken;
+    for (int i = 0; i < splits; i++) {
+      BigInteger endToken = i == splits - 1 ? maxToken : startToken.add(width);
+      ranges.add(new AtreusScanRange(startToken, endToken));
+      startToken = endToken;
+    }
+    return ranges;
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class
@@ -0,0 +1,160 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core.entities;
+
+import org.atreus.core.ext.meta.AtreusMetaSimpleField;
+import org.atreus.impl.util.ObjectUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Element level changes made to a set, list or map field since it was last loaded or written. Additions are a set,
+ * list or map of the same kind as the field whereas removals are the removed elements, or keys for a map.
+ *
+ * @author Martin Crawford
+ */
+public class CollectionDelta {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(CollectionDelta.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final Object additions;
+  private final AtreusMetaSimpleField metaField;
+  private final Collection<Object> removals;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public CollectionDelta(AtreusMetaSimpleField metaField, Object additions, Collection<Object> removals) {
+    this.additions = additions;
+    this.metaField = metaField;
+    this.removals = removals;
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  public static CollectionDelta compute(AtreusMetaSimpleField metaField, Object snapshot, Object value) {
+    // A column being cleared is written in full, as is one without a snapshot since what it holds is not known
+    if (value == null || snapshot == null) {
+      return null;
+    }
+    if (value instanceof Set) {
+      return computeSet(metaField, (Set<?>) snapshot, (Set<?>) value);
+    }
+    if (value instanceof List) {
+      return computeList(metaField, (List<?>) snapshot, (List<?>) value);
+    }
+    if (value instanceof Map) {
+      return computeMap(metaField, (Map<?, ?>) snapshot, (Map<?, ?>) value);
+    }
+    return null;
+  }
+
+  public boolean hasAdditions() {
+    return additions instanceof Map ? !((Map) additions).isEmpty() : !((Collection) additions).isEmpty();
+  }
+
+  public boolean hasRemovals() {
+    return !removals.isEmpty();
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  private static CollectionDelta computeList(AtreusMetaSimpleField metaField, List<?> snapshot, List<?> value) {
+    // Elements appended to the end of the list
+    if (value.size() >= snapshot.size() && value.subList(0, snapshot.size()).equals(snapshot)) {
+      List<Object> additions = new ArrayList<Object>(value.subList(snapshot.size(), value.size()));
+      return new CollectionDelta(metaField, additions, new ArrayList<>());
+    }
+
+    // Elements removed by value, a removal in the store discards every occurrence of the value
+    Set<Object> removedValues = new LinkedHashSet<Object>(snapshot);
+    removedValues.removeAll(new HashSet<Object>(value));
+    List<Object> remaining = new ArrayList<>(value.size());
+    for (Object element : snapshot) {
+      if (!removedValues.contains(element)) {
+        remaining.add(element);
+      }
+    }
+    if (remaining.equals(value)) {
+      return new CollectionDelta(metaField, new ArrayList<>(), new ArrayList<Object>(removedValues));
+    }
+
+    // Reordered or inserted elements can only be written as the whole list
+    return null;
+  }
+
+  private static CollectionDelta computeMap(AtreusMetaSimpleField metaField, Map<?, ?> snapshot, Map<?, ?> value) {
+    Map<Object, Object> additions = new HashMap<>();
+    for (Map.Entry<?, ?> entry : value.entrySet()) {
+      if (!snapshot.containsKey(entry.getKey()) || !ObjectUtils.nullSafeEquals(snapshot.get(entry.getKey()), entry.getValue())) {
+        additions.put(entry.getKey(), entry.getValue());
+      }
+    }
+    List<Object> removals = new ArrayList<>();
+    for (Object key : snapshot.keySet()) {
+      if (!value.containsKey(key)) {
+        removals.add(key);
+      }
+    }
+    return new CollectionDelta(metaField, additions, removals);
+  }
+
+  private static CollectionDelta computeSet(AtreusMetaSimpleField metaField, Set<?> snapshot, Set<?> value) {
+    Set<Object> additions = new HashSet<>();
+    for (Object element : value) {
+      if (!snapshot.contains(element)) {
+        additions.add(element);
+      }
+    }
+    Set<Object> removals = new HashSet<>();
+    for (Object element : snapshot) {
+      if (!value.contains(element)) {
+        removals.add(element);
+      }
+    }
+    return new CollectionDelta(metaField, additions, removals);
+  }
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+  public Object getAdditions() {
+    return additions;
+  }
+
+  public AtreusMetaSimpleField getMetaField() {
+    return metaField;
+  }
+
+  public Collection<Object> getRemovals() {
+    return removals;
+  }
+
+} // end of class
@@ -1,6 +1,7 @@
 package org.atreus.impl.core.entities;
 
-import java.lang.reflect.Field;
+import org.atreus.core.ext.meta.AtreusMetaSimpleField;
+import org.atreus.impl.core.entities.accessors.FieldAccessor;
 
 /**
  * todo document me
@@ -9,8 +10,10 @@ import java.lang.reflect.Field;
  */
 public interface EntityAccessor {
 
-  public Object getFieldValue(Field javaField);
+  public CollectionDelta getCollectionDelta(AtreusMetaSimpleField metaField);
 
-  public void setFieldValue(Field javaField, Object value);
+  public Object getFieldValue(FieldAccessor fieldAccessor);
+
+  public void setFieldValue(FieldAccessor fieldAccessor, Object value);
 
 }
\ No newline at end of file
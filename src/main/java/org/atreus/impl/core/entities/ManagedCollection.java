@@ -24,6 +24,7 @@
 package org.atreus.impl.core.entities;
 
 import java.util.Collection;
+import java.util.Iterator;
 
 /**
  * Interface for a managed collection.
@@ -38,8 +39,16 @@ public interface ManagedCollection {
 
   public Collection getRemovedEntities();
 
+  public Collection getFetchedEntities();
+
+  public Collection fetchNextPage();
+
+  public boolean isFullyFetched();
+
   public void snapshot();
 
   public void snapshot(Collection collection);
 
+  public void snapshot(Iterator<? extends Collection> pages);
+
 }
\ No newline at end of file
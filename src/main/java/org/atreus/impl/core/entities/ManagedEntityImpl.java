@@ -29,13 +29,14 @@ import org.atreus.core.ext.meta.AtreusMetaAssociationField;
 import org.atreus.core.ext.meta.AtreusMetaEntity;
 import org.atreus.core.ext.meta.AtreusMetaField;
 import org.atreus.core.ext.meta.AtreusMetaSimpleField;
-import org.atreus.impl.util.MetaFieldIteratorUtils;
+import org.atreus.impl.core.entities.accessors.FieldAccessor;
+import org.atreus.impl.core.mappings.entities.meta.MetaEntityImpl;
+import org.atreus.impl.core.proxies.entities.EntityProxy;
 import org.atreus.impl.util.ObjectUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
-import java.lang.reflect.Field;
 import java.util.*;
 
 /**
@@ -51,11 +52,17 @@ public class ManagedEntityImpl implements AtreusManagedEntity, EntityAccessor {
 
   // Instance Variables ---------------------------------------------------------------------------- Instance Variables
 
-  private final Map<String, Object> dynamicFields = new HashMap<>();
+  private final BitSet comparedFields;
+  private final BitSet dirtyFields;
+  private Map<String, Object> dynamicFields;
+  private Map<String, Object> dynamicFieldsView;
   private final Object entity;
+  private final BitSet fetchedFields;
+  private boolean loaded;
+  private final AtreusMetaField[] managedFields;
   private final AtreusMetaEntity metaEntity;
   private final AtreusSessionExt session;
-  private final Map<AtreusMetaField, FieldMemento> mementoByField = new HashMap<>();
+  private final Object[] snapshots;
 
   // Constructors ---------------------------------------------------------------------------------------- Constructors
 
@@ -63,16 +70,34 @@ public class ManagedEntityImpl implements AtreusManagedEntity, EntityAccessor {
     this.session = session;
     this.entity = entity;
     this.metaEntity = metaEntity;
-    init();
+    this.managedFields = ((MetaEntityImpl) metaEntity).getManagedFields();
+    this.fetchedFields = new BitSet(managedFields.length);
+    this.dirtyFields = new BitSet(managedFields.length);
+
+    // Writes made through the proxy are recorded as they happen so only values changed in place need a snapshot,
+    // whereas an entity wrapped by the proxy can still be written directly and so every field is compared
+    if (entity instanceof EntityProxy) {
+      this.comparedFields = ((MetaEntityImpl) metaEntity).getMutableFields();
+    }
+    else {
+      this.comparedFields = new BitSet(managedFields.length);
+      this.comparedFields.set(0, managedFields.length);
+    }
+    this.snapshots = comparedFields.isEmpty() ? null : new Object[managedFields.length];
   }
 
   // Public Methods ------------------------------------------------------------------------------------ Public Methods
 
   @Override
   public void snapshot() {
-    for (AtreusMetaField metaField : mementoByField.keySet()) {
-      FieldMemento fieldMemento = mementoByField.get(metaField);
-      fieldMemento.snapshot(getFieldValue(metaField));
+    // Once loaded from its row an entity may hold fields never read, such as those left out of a projection
+    if (!loaded) {
+      fetchedFields.set(0, managedFields.length);
+      loaded = true;
+    }
+    dirtyFields.clear();
+    for (int i = comparedFields.nextSetBit(0); i >= 0; i = comparedFields.nextSetBit(i + 1)) {
+      snapshots[i] = copy(getFieldValue(managedFields[i]));
     }
   }
 
@@ -82,16 +107,44 @@ public class ManagedEntityImpl implements AtreusManagedEntity, EntityAccessor {
       session.fetchAssociation(((AtreusMetaAssociationField) metaField).getAssociation(), this);
       return;
     }
-    session.fetch(this);
+
+    // A lazy field is fetched with its group, after the rest of the entity if that has not been loaded yet
+    String fetchGroup = metaField instanceof AtreusMetaSimpleField ? ((AtreusMetaSimpleField) metaField).getFetchGroup() : null;
+    if (fetchGroup == null || !loaded) {
+      session.fetch(this);
+    }
+    if (fetchGroup != null && !isFetched(metaField)) {
+      session.fetchGroup(this, fetchGroup);
+    }
   }
 
   @Override
   public boolean isFetched(AtreusMetaField metaField) {
-    FieldMemento fieldMemento = mementoByField.get(metaField);
-    if (fieldMemento == null) {
+    int ordinal = ordinalOf(metaField);
+    if (ordinal < 0) {
+      return true;
+    }
+    return fetchedFields.get(ordinal);
+  }
+
+  @Override
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  @Override
+  public boolean isDirty() {
+    if (!dirtyFields.isEmpty()) {
       return true;
     }
-    return FieldFetchState.INITIALIZED.equals(fieldMemento.getFetchState());
+
+    // Only fields already loaded can have been changed, unfetched fields are not dirty
+    for (int i = comparedFields.nextSetBit(0); i >= 0; i = comparedFields.nextSetBit(i + 1)) {
+      if (isChanged(i)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   @Override
@@ -101,74 +154,147 @@ public class ManagedEntityImpl implements AtreusManagedEntity, EntityAccessor {
 
   @Override
   public void setFieldValue(AtreusMetaField metaField, Object value) {
-    FieldMemento fieldMemento = mementoByField.get(metaField);
-    if (fieldMemento != null) {
-      fieldMemento.snapshot(value);
-    }
     metaField.setValue(this, value);
+    markDirty(metaField);
+  }
+
+  @Override
+  public void loadFieldValue(AtreusMetaField metaField, Object value) {
+    metaField.setValue(this, value);
+    int ordinal = ordinalOf(metaField);
+    if (ordinal < 0) {
+      return;
+    }
+    fetchedFields.set(ordinal);
+    dirtyFields.clear(ordinal);
+    if (metaField instanceof AtreusMetaSimpleField) {
+      loaded = true;
+    }
+    if (comparedFields.get(ordinal)) {
+      snapshots[ordinal] = copy(value);
+    }
   }
 
   @Override
   public Collection<AtreusMetaSimpleField> getUpdatedFields() {
-    List<AtreusMetaSimpleField> results = new ArrayList<>();
-    for (AtreusMetaField metaField : mementoByField.keySet()) {
-      if (!(metaField instanceof AtreusMetaSimpleField)) {
-        continue;
+    // Until loaded the unfetched fields are written in full, after which fields not yet read are left as stored,
+    // along with those recorded dirty or found changed in place
+    BitSet updatedFields = new BitSet(managedFields.length);
+    if (!loaded) {
+      updatedFields.set(0, managedFields.length);
+      updatedFields.andNot(fetchedFields);
+    }
+    updatedFields.or(dirtyFields);
+    for (int i = comparedFields.nextSetBit(0); i >= 0; i = comparedFields.nextSetBit(i + 1)) {
+      if (!updatedFields.get(i) && isChanged(i)) {
+        updatedFields.set(i);
       }
-      FieldMemento fieldMemento = mementoByField.get(metaField);
-      Object currentValue = getFieldValue(metaField);
-      // TODO handle comparison of map and collections for updating
-      if (FieldFetchState.INITIALIZED.equals(fieldMemento.getFetchState()) &&
-          ObjectUtils.nullSafeEquals(fieldMemento.getSnapshot(), currentValue)) {
-        continue;
+    }
+
+    List<AtreusMetaSimpleField> results = new ArrayList<>();
+    for (int i = updatedFields.nextSetBit(0); i >= 0; i = updatedFields.nextSetBit(i + 1)) {
+      if (managedFields[i] instanceof AtreusMetaSimpleField) {
+        results.add((AtreusMetaSimpleField) managedFields[i]);
       }
-      results.add((AtreusMetaSimpleField) metaField);
     }
     return results;
   }
 
-  @Override
-  public Object getFieldValue(Field javaField) {
-    try {
-      // Otherwise extract the value using java reflection directly
-      return javaField.get(entity);
-    }
-    catch (IllegalAccessException e) {
-      throw new RuntimeException(e);
+  public void markDirty(AtreusMetaField metaField) {
+    int ordinal = ordinalOf(metaField);
+    if (ordinal < 0) {
+      return;
     }
+    fetchedFields.set(ordinal);
+    dirtyFields.set(ordinal);
+  }
+
+  public void markFetchedDirty() {
+    // Used when the entity was changed in a way that cannot be attributed to particular fields
+    dirtyFields.or(fetchedFields);
   }
 
   @Override
-  public void setFieldValue(Field javaField, Object value) {
-    try {
-      // Otherwise bindValue the value using java reflection directly
-      javaField.set(entity, value);
-    }
-    catch (IllegalAccessException e) {
-      throw new RuntimeException(e);
+  public CollectionDelta getCollectionDelta(AtreusMetaSimpleField metaField) {
+    // Element level changes are only known for a loaded value held as a snapshot
+    int ordinal = ordinalOf(metaField);
+    if (ordinal < 0 || !fetchedFields.get(ordinal) || !comparedFields.get(ordinal)) {
+      return null;
     }
+    return CollectionDelta.compute(metaField, snapshots[ordinal], getFieldValue(metaField));
+  }
+
+  @Override
+  public Object getFieldValue(FieldAccessor fieldAccessor) {
+    return fieldAccessor.getValue(entity);
+  }
+
+  @Override
+  public void setFieldValue(FieldAccessor fieldAccessor, Object value) {
+    fieldAccessor.setValue(entity, value);
   }
 
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
 
-  private void init() {
-    for (AtreusMetaField metaField : MetaFieldIteratorUtils.iterateMetaFields(metaEntity.getFields())) {
-      createFieldMemento(metaField);
+  @SuppressWarnings("unchecked")
+  private Object copy(Object value) {
+    // Collections and dates are copied so that changes made to them in place are detected against the snapshot
+    if (value instanceof ManagedCollection) {
+      return value;
+    }
+    if (value instanceof List) {
+      return new ArrayList<>((List) value);
     }
+    if (value instanceof Set) {
+      return new HashSet<>((Set) value);
+    }
+    if (value instanceof Map) {
+      return new HashMap<>((Map) value);
+    }
+    if (value instanceof Date) {
+      return ((Date) value).clone();
+    }
+    return value;
   }
 
-  private void createFieldMemento(AtreusMetaField metaField) {
-    FieldMemento fieldMemento = new FieldMemento(metaField);
-    mementoByField.put(metaField, fieldMemento);
+  private boolean isChanged(int ordinal) {
+    return fetchedFields.get(ordinal) && !ObjectUtils.nullSafeEquals(snapshots[ordinal], getFieldValue(managedFields[ordinal]));
+  }
+
+  private int ordinalOf(AtreusMetaField metaField) {
+    // Fields not managed by this entity, such as those mapped after it was created, have no slot
+    int ordinal = metaField.getOrdinal();
+    if (ordinal < 0 || ordinal >= managedFields.length || managedFields[ordinal] != metaField) {
+      return -1;
+    }
+    return ordinal;
   }
 
   // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
 
+  @Override
+  public Object getDynamicField(String name) {
+    return dynamicFields == null ? null : dynamicFields.get(name);
+  }
+
+  @Override
+  public void setDynamicField(String name, Object value) {
+    if (dynamicFields == null) {
+      dynamicFields = new HashMap<>();
+      dynamicFieldsView = null;
+    }
+    dynamicFields.put(name, value);
+  }
+
   @Override
   public Map<String, Object> getDynamicFields() {
-    return dynamicFields;
+    // The read only view is kept until the dynamic fields are first set, after which it reflects them as they change
+    if (dynamicFieldsView == null) {
+      dynamicFieldsView = dynamicFields == null ? Collections.<String, Object>emptyMap() : Collections.unmodifiableMap(dynamicFields);
+    }
+    return dynamicFieldsView;
   }
 
   @Override
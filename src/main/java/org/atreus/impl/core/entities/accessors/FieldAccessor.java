@@ -21,38 +21,26 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
  * THE SOFTWARE.
  */
-package org.atreus.impl.core.entities;
-
-import org.atreus.core.ext.meta.AtreusMetaField;
+package org.atreus.impl.core.entities.accessors;
 
 /**
- * Field Memento bean.
+ * Reads and writes the value of a single field of an entity, avoiding reflective access where possible.
  *
  * @author Martin Crawford
  */
-public class FieldMemento {
+public abstract class FieldAccessor {
 
   // Constants ---------------------------------------------------------------------------------------------- Constants
 
   // Instance Variables ---------------------------------------------------------------------------- Instance Variables
 
-  private final AtreusMetaField metaField;
-  private FieldFetchState fetchState;
-  private Object snapshot;
-
   // Constructors ---------------------------------------------------------------------------------------- Constructors
 
-  public FieldMemento(AtreusMetaField metaField) {
-    this.metaField = metaField;
-    this.fetchState = FieldFetchState.UNITIALIZED;
-  }
-
   // Public Methods ------------------------------------------------------------------------------------ Public Methods
 
-  public void snapshot(Object value) {
-    fetchState = FieldFetchState.INITIALIZED;
-    snapshot = value;
-  }
+  public abstract Object getValue(Object entity);
+
+  public abstract void setValue(Object entity, Object value);
 
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
@@ -60,16 +48,4 @@ public class FieldMemento {
 
   // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
 
-  public AtreusMetaField getMetaField() {
-    return metaField;
-  }
-
-  public FieldFetchState getFetchState() {
-    return fetchState;
-  }
-
-  public Object getSnapshot() {
-    return snapshot;
-  }
-
-} // end of class
\ No newline at end of file
+} // end of class
@@ -0,0 +1,165 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core.entities.accessors;
+
+import javassist.CannotCompileException;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+import javassist.NotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Creates the field accessors of entity fields. Fields which are not private have an accessor class generated in the
+ * package of their entity reading and writing the field directly, private fields are accessed through method handles
+ * and reflection is only used when neither is possible.
+ *
+ * @author Martin Crawford
+ */
+public class FieldAccessorFactory {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(FieldAccessorFactory.class);
+
+  private static final String ACCESSOR_CLASS_SUFFIX = "$$AtreusFieldAccessor$";
+
+  private static final Map<ClassLoader, ClassPool> CLASS_POOLS = new WeakHashMap<>();
+
+  private static final Map<Class<?>, Class<?>> PRIMITIVE_WRAPPERS = new HashMap<>();
+
+  static {
+    PRIMITIVE_WRAPPERS.put(boolean.class, Boolean.class);
+    PRIMITIVE_WRAPPERS.put(byte.class, Byte.class);
+    PRIMITIVE_WRAPPERS.put(char.class, Character.class);
+    PRIMITIVE_WRAPPERS.put(double.class, Double.class);
+    PRIMITIVE_WRAPPERS.put(float.class, Float.class);
+    PRIMITIVE_WRAPPERS.put(int.class, Integer.class);
+    PRIMITIVE_WRAPPERS.put(long.class, Long.class);
+    PRIMITIVE_WRAPPERS.put(short.class, Short.class);
+  }
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  public static FieldAccessor createAccessor(Field javaField) {
+    int modifiers = javaField.getModifiers();
+    if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || Modifier.isVolatile(modifiers)) {
+      return new ReflectionFieldAccessor(javaField);
+    }
+    if (!Modifier.isPrivate(modifiers)) {
+      FieldAccessor fieldAccessor = createGeneratedAccessor(javaField);
+      if (fieldAccessor != null) {
+        return fieldAccessor;
+      }
+    }
+    try {
+      return new MethodHandleFieldAccessor(javaField);
+    }
+    catch (IllegalAccessException | SecurityException e) {
+      LOG.debug("Unable to create method handles for " + javaField, e);
+      return new ReflectionFieldAccessor(javaField);
+    }
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  private static FieldAccessor createGeneratedAccessor(Field javaField) {
+    try {
+      return (FieldAccessor) generateAccessorClass(javaField).newInstance();
+    }
+    catch (CannotCompileException | NotFoundException | InstantiationException | IllegalAccessException | LinkageError e) {
+      // Such as the entity class loader not seeing the accessor class, in which case fall back to the other accessors
+      LOG.debug("Unable to generate field accessor for " + javaField, e);
+      return null;
+    }
+  }
+
+  private static synchronized Class<?> generateAccessorClass(Field javaField) throws CannotCompileException, NotFoundException {
+    // An accessor already generated is found through the class loader it was defined in, rather than held here
+    Class<?> entityType = javaField.getDeclaringClass();
+    ClassLoader classLoader = entityType.getClassLoader();
+    String entityTypeName = entityType.getName();
+    String fieldName = javaField.getName();
+    String accessorClassName = entityTypeName + ACCESSOR_CLASS_SUFFIX + fieldName;
+    try {
+      return Class.forName(accessorClassName, false, classLoader);
+    }
+    catch (ClassNotFoundException e) {
+      LOG.trace("No field accessor generated yet for {}", javaField);
+    }
+
+    // The accessor is defined in the package and class loader of the entity so that it may access the field directly
+    ClassPool classPool = getClassPool(classLoader);
+    CtClass ctClass = classPool.makeClass(accessorClassName, classPool.get(FieldAccessor.class.getName()));
+    ctClass.addMethod(CtNewMethod.make("public Object getValue(Object entity) { " +
+        "return ($w) ((" + entityTypeName + ") entity)." + fieldName + "; }", ctClass));
+    ctClass.addMethod(CtNewMethod.make("public void setValue(Object entity, Object value) { " +
+        generateAssignment(javaField, "((" + entityTypeName + ") entity)." + fieldName, "value") + " }", ctClass));
+    Class<?> accessorClass = ctClass.toClass(classLoader, entityType.getProtectionDomain());
+    ctClass.detach();
+    LOG.debug("Generated field accessor {}", accessorClass.getName());
+    return accessorClass;
+  }
+
+  private static String generateAssignment(Field javaField, String target, String value) {
+    Class<?> type = javaField.getType();
+    if (!type.isPrimitive()) {
+      return target + " = (" + type.getCanonicalName() + ") " + value + ";";
+    }
+
+    // Primitives are unboxed, rejecting a null value the same as reflection does
+    Class<?> wrapperType = PRIMITIVE_WRAPPERS.get(type);
+    return "if (" + value + " == null) { throw new IllegalArgumentException(\"Can not set " + type + " field " +
+        javaField.getDeclaringClass().getName() + "." + javaField.getName() + " to null value\"); } " +
+        target + " = ((" + wrapperType.getName() + ") " + value + ")." + type.getName() + "Value();";
+  }
+
+  private static ClassPool getClassPool(ClassLoader classLoader) {
+    // A pool per class loader, which it only references weakly, so that neither outlives the entities of the loader
+    ClassPool classPool = CLASS_POOLS.get(classLoader);
+    if (classPool == null) {
+      classPool = new ClassPool(true);
+      classPool.appendClassPath(new LoaderClassPath(classLoader));
+      CLASS_POOLS.put(classLoader, classPool);
+    }
+    return classPool;
+  }
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class
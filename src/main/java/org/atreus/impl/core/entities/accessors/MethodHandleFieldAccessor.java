@@ -0,0 +1,111 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core.entities.accessors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Field accessor reading and writing a field through method handles resolved once for the field, used for the private
+ * fields that generated accessors are not permitted to access.
+ *
+ * @author Martin Crawford
+ */
+class MethodHandleFieldAccessor extends FieldAccessor {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(MethodHandleFieldAccessor.class);
+
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final Class<?> declaringType;
+
+  private final MethodHandle getter;
+
+  private final String name;
+
+  private final MethodHandle setter;
+
+  private final Class<?> type;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public MethodHandleFieldAccessor(Field javaField) throws IllegalAccessException {
+    javaField.setAccessible(true);
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    this.declaringType = javaField.getDeclaringClass();
+    this.getter = lookup.unreflectGetter(javaField).asType(GETTER_TYPE);
+    this.name = javaField.getName();
+    this.setter = lookup.unreflectSetter(javaField).asType(SETTER_TYPE);
+    this.type = javaField.getType();
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  @Override
+  public Object getValue(Object entity) {
+    try {
+      return (Object) getter.invokeExact(entity);
+    }
+    catch (RuntimeException | Error e) {
+      throw e;
+    }
+    catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  @Override
+  public void setValue(Object entity, Object value) {
+    if (value == null && type.isPrimitive()) {
+      throw new IllegalArgumentException("Can not set " + type + " field " + declaringType.getName() + "." + name + " to null value");
+    }
+    try {
+      setter.invokeExact(entity, value);
+    }
+    catch (RuntimeException | Error e) {
+      throw e;
+    }
+    catch (Throwable t) {
+      throw new RuntimeException(t);
+    }
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class
@@ -25,6 +25,7 @@ package org.atreus.impl.core.mappings;
 
 import org.atreus.core.AtreusInitialisationException;
 import org.atreus.core.annotations.AtreusFieldType;
+import org.atreus.core.annotations.AtreusLazy;
 import org.atreus.core.ext.meta.AtreusMetaSimpleField;
 import org.atreus.core.ext.strategies.AtreusTypeStrategy;
 import org.atreus.impl.core.Environment;
@@ -32,6 +33,7 @@ import org.atreus.impl.core.mappings.entities.meta.DynamicMetaSimpleFieldImpl;
 import org.atreus.impl.core.mappings.entities.meta.MetaEntityImpl;
 import org.atreus.impl.core.mappings.entities.meta.StaticMetaSimpleFieldImpl;
 import org.atreus.impl.types.TypeManager;
+import org.atreus.impl.util.ObjectUtils;
 
 import java.lang.reflect.Field;
 
@@ -69,6 +71,15 @@ public abstract class BaseFieldEntityMetaComponentBuilder extends BaseEntityMeta
     return metaField;
   }
 
+  protected void resolveFetchGroup(StaticMetaSimpleFieldImpl metaField, Field field) {
+    AtreusLazy lazyAnnotation = field.getAnnotation(AtreusLazy.class);
+    if (lazyAnnotation == null) {
+      return;
+    }
+    String fetchGroup = lazyAnnotation.value();
+    metaField.setFetchGroup(ObjectUtils.isNotNullOrEmpty(fetchGroup) ? fetchGroup : field.getName());
+  }
+
   @SuppressWarnings("unchecked")
   protected void resolveTypeStrategy(MetaEntityImpl metaEntity, AtreusMetaSimpleField metaField, Field field) {
 
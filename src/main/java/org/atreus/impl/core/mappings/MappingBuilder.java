@@ -74,6 +74,7 @@ public class MappingBuilder {
   public void build() {
     buildMetaEntities();
     buildMetaFields();
+    buildManagedFields();
   }
 
   public void init() {
@@ -172,6 +173,12 @@ public class MappingBuilder {
     environment.getMetaManager().addMetaEntity(metaEntity);
   }
 
+  public void buildManagedFields() {
+    for (AtreusMetaEntity metaEntity : environment.getMetaManager().getEntities()) {
+      ((MetaEntityImpl) metaEntity).buildManagedFields();
+    }
+  }
+
   public void buildMetaFields() {
 
     // Iterate and process fields for each manged entity
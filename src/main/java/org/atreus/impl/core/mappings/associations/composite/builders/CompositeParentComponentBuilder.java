@@ -120,6 +120,14 @@ public class CompositeParentComponentBuilder extends BaseFieldEntityMetaComponen
     if (!(childMetaEntity.getPrimaryKeyField() instanceof AtreusMetaSimpleField)) {
       throw new RuntimeException("Primary key of a child must be a simple field type " + childEntityType);
     }
+
+    // Only a collection of children can be fetched a page at a time
+    if (compositeAnnotation.fetchSize() < 0) {
+      throw new RuntimeException("Fetch size of a composite association cannot be negative " + field);
+    }
+    if (compositeAnnotation.fetchSize() > 0 && !Collection.class.isAssignableFrom(field.getType())) {
+      throw new RuntimeException("Fetch size is only supported for a collection of children " + field);
+    }
   }
 
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
@@ -160,6 +168,7 @@ public class CompositeParentComponentBuilder extends BaseFieldEntityMetaComponen
   private void buildCompositeParentEntity(MetaEntityImpl parentMetaEntity, Field field, MetaAssociationImpl metaAssociation) {
     MetaAssociationFieldImpl parentMetaField = new MetaAssociationFieldImpl(parentMetaEntity, field, metaAssociation);
     ((MetaAssociatedEntityImpl) metaAssociation.getOwner()).setAssociationField(parentMetaField);
+    ((MetaAssociatedEntityImpl) metaAssociation.getOwner()).setFetchSize(field.getAnnotation(AtreusCompositeParent.class).fetchSize());
     parentMetaEntity.addField(parentMetaField);
   }
 
@@ -31,6 +31,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -52,8 +53,44 @@ public class CompositeParentFetchHandler extends BaseAssociationHandler {
 
   public void fetch(AtreusSessionExt session, AtreusMetaAssociation metaAssociation, AtreusManagedEntity managedEntity) {
 
+    // A paged collection is given its pages to fetch as it is iterated
+    if (isPaged(metaAssociation)) {
+      setCollection(managedEntity, fetchAssociationPages(session, managedEntity, metaAssociation, true), metaAssociation);
+      return;
+    }
+
     // Fetch the associations to this owner
     List<AtreusManagedEntity> associatedEntities = fetchAssociations(session, managedEntity, metaAssociation, true);
+    populate(managedEntity, associatedEntities, metaAssociation);
+  }
+
+  public void fetchAll(AtreusSessionExt session, AtreusMetaAssociation metaAssociation, List<AtreusManagedEntity> managedEntities) {
+
+    // Each owner of a paged collection is given the first page of its children with the rest to fetch on iteration
+    if (isPaged(metaAssociation)) {
+      List<Iterator<List<AtreusManagedEntity>>> associatedPages = fetchAssociationPages(session, managedEntities, metaAssociation, true);
+      for (int i = 0; i < managedEntities.size(); i++) {
+        setCollection(managedEntities.get(i), associatedPages.get(i), metaAssociation);
+      }
+      return;
+    }
+
+    // Fetch the associations to all of the owners at once and distribute them back to each
+    List<List<AtreusManagedEntity>> associatedEntities = fetchAssociations(session, managedEntities, metaAssociation, true);
+    for (int i = 0; i < managedEntities.size(); i++) {
+      populate(managedEntities.get(i), associatedEntities.get(i), metaAssociation);
+    }
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  private boolean isPaged(AtreusMetaAssociation metaAssociation) {
+    return metaAssociation.getOwner().getFetchSize() > 0 && Collection.class.isAssignableFrom(metaAssociation.getOwner().getAssociationField().getType());
+  }
+
+  private void populate(AtreusManagedEntity managedEntity, List<AtreusManagedEntity> associatedEntities, AtreusMetaAssociation metaAssociation) {
 
     // Handle populating owner's collection
     if (Collection.class.isAssignableFrom(metaAssociation.getOwner().getAssociationField().getType())) {
@@ -65,10 +102,6 @@ public class CompositeParentFetchHandler extends BaseAssociationHandler {
     setEntity(managedEntity, associatedEntities, metaAssociation);
   }
 
-  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
-
-  // Private Methods ---------------------------------------------------------------------------------- Private Methods
-
   // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
 
 } // end of class
\ No newline at end of file
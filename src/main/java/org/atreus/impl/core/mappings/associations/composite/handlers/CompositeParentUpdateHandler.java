@@ -62,7 +62,7 @@ public class CompositeParentUpdateHandler {
     else {
       Object childEntity = ownerField.getValue(parentEntity);
       updateEntity(session, metaAssociation, parentEntity, childEntity, true);
-      parentEntity.setFieldValue(metaAssociation.getOwner().getAssociationField(), childEntity);
+      parentEntity.loadFieldValue(metaAssociation.getOwner().getAssociationField(), childEntity);
     }
   }
 
@@ -93,6 +93,9 @@ public class CompositeParentUpdateHandler {
       updateEntity(session, metaAssociation, parentEntity, updatedEntity, false);
     }
 
+    // The written state becomes the baseline for detecting the next changes to the collection
+    managedCollection.snapshot();
+
   }
 
   private AtreusManagedEntity updateEntity(AtreusSessionExt session, AtreusMetaAssociation metaAssociation, AtreusManagedEntity parentEntity, Object entity, boolean forceUpdate) {
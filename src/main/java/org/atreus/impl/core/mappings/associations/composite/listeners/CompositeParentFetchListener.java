@@ -33,6 +33,8 @@ import org.atreus.impl.core.mappings.associations.composite.handlers.CompositePa
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
 /**
  * Fetch Composite Association Parent listener.
  *
@@ -60,6 +62,14 @@ public class CompositeParentFetchListener extends AtreusAbstractEntityListener i
     }
   }
 
+  @Override
+  public void acceptAssociations(AtreusSessionExt session, List<AtreusManagedEntity> ownerEntities, AtreusMetaAssociation metaAssociation) {
+    AtreusFetchMode fetchMode = metaAssociation.getOwner().getFetchMode();
+    if (AtreusFetchMode.EAGER_COLLECTION.equals(fetchMode) || AtreusFetchMode.EAGER_ENTITY.equals(fetchMode)) {
+      COMPOSITE_PARENT_FETCH_HANDLER.fetchAll(session, metaAssociation, ownerEntities);
+    }
+  }
+
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
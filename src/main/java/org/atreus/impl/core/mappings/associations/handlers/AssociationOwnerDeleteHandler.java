@@ -28,6 +28,7 @@ import org.atreus.core.ext.AtreusManagedEntity;
 import org.atreus.core.ext.AtreusSessionExt;
 import org.atreus.core.ext.meta.AtreusMetaAssociation;
 import org.atreus.core.ext.meta.AtreusMetaField;
+import org.atreus.impl.core.entities.ManagedCollection;
 import org.atreus.impl.core.queries.QueryHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -80,6 +81,10 @@ public class AssociationOwnerDeleteHandler {
   }
 
   private void unmanageCollection(AtreusSessionExt session, Collection collection) {
+    // Children of a paged collection not yet fetched were never managed so are left unfetched
+    if (collection instanceof ManagedCollection) {
+      collection = ((ManagedCollection) collection).getFetchedEntities();
+    }
     for (Object entity : collection) {
       unmanageEntity(session, entity);
     }
@@ -0,0 +1,105 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core.mappings.associations.handlers;
+
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Row;
+import org.atreus.core.ext.AtreusManagedEntity;
+import org.atreus.core.ext.AtreusSessionExt;
+import org.atreus.core.ext.meta.AtreusMetaAssociation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates the pages of the entities associated to an owner. Each page is selected after the last associated key of the
+ * page before it, and is requested in the background once that page has been taken.
+ *
+ * @author Martin Crawford
+ */
+public class AssociationPageIterator implements Iterator<List<AtreusManagedEntity>> {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(AssociationPageIterator.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final BaseAssociationHandler associationHandler;
+  private final AtreusMetaAssociation metaAssociation;
+  private ResultSetFuture nextPage;
+  private final AtreusManagedEntity ownerEntity;
+  private final AtreusSessionExt session;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public AssociationPageIterator(BaseAssociationHandler associationHandler, AtreusSessionExt session, AtreusMetaAssociation metaAssociation,
+                                 AtreusManagedEntity ownerEntity, ResultSetFuture firstPage) {
+    this.associationHandler = associationHandler;
+    this.session = session;
+    this.metaAssociation = metaAssociation;
+    this.ownerEntity = ownerEntity;
+    this.nextPage = firstPage;
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  @Override
+  public boolean hasNext() {
+    // Answered without waiting on a page, a full last page is then followed by an empty one
+    return nextPage != null;
+  }
+
+  @Override
+  public List<AtreusManagedEntity> next() {
+    if (nextPage == null) {
+      throw new NoSuchElementException();
+    }
+
+    // Only a full page can be followed by another
+    List<Row> rows = nextPage.getUninterruptibly().all();
+    nextPage = null;
+    int fetchSize = metaAssociation.getOwner().getFetchSize();
+    if (fetchSize > 0 && rows.size() >= fetchSize) {
+      LOG.trace("Prefetching next page of {}", metaAssociation.getAssociation().getMetaEntity().getEntityType());
+      nextPage = associationHandler.executeAssociationPage(session, ownerEntity, metaAssociation, rows.get(rows.size() - 1));
+    }
+    return associationHandler.unbindAssociations(session, metaAssociation, rows);
+  }
+
+  @Override
+  public void remove() {
+    throw new UnsupportedOperationException("Pages of associated entities cannot be removed");
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class
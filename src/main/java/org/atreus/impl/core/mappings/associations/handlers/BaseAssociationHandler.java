@@ -25,6 +25,7 @@ package org.atreus.impl.core.mappings.associations.handlers;
 
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import org.atreus.core.ext.AtreusManagedEntity;
 import org.atreus.core.ext.AtreusSessionExt;
@@ -32,14 +33,19 @@ import org.atreus.core.ext.meta.AtreusAssociationType;
 import org.atreus.core.ext.meta.AtreusMetaAssociation;
 import org.atreus.core.ext.meta.AtreusMetaEntity;
 import org.atreus.core.ext.meta.AtreusMetaField;
+import org.atreus.core.ext.meta.AtreusMetaSimpleField;
 import org.atreus.impl.core.entities.ManagedCollection;
-import org.atreus.impl.core.queries.QueryHelper;
+import org.atreus.impl.core.mappings.entities.meta.MetaEntityImpl;
+import org.atreus.impl.core.queries.BoundedReads;
+import org.atreus.impl.core.queries.EntityStatementPlans;
+import org.atreus.impl.core.queries.StatementPlan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -64,36 +70,44 @@ public class BaseAssociationHandler {
   protected List<AtreusManagedEntity> fetchAssociations(AtreusSessionExt session, AtreusManagedEntity ownerEntity, AtreusMetaAssociation metaAssociation, boolean outbound) {
 
     // Execute select against the outbound association table
-    AtreusMetaEntity metaAssociationEntity = metaAssociation.getAssociation().getMetaEntity();
-    BoundStatement boundStatement = session.prepareQuery(QueryHelper.selectAssociatedEntities(metaAssociation));
-    Serializable primaryKey = ownerEntity.getPrimaryKey();
-    metaAssociation.getOwner().getAssociationKeyField().bindValue(boundStatement, primaryKey);
+    BoundStatement boundStatement = bindAssociations(session, getStatementPlans(metaAssociation).getAssociationSelect(metaAssociation), ownerEntity, metaAssociation);
     ResultSet resultSet = session.execute(boundStatement);
+    return unbindAssociations(session, metaAssociation, resultSet.all());
+  }
 
-    // Iterate the results and create managed entities
-    List<Row> rows = resultSet.all();
-    List<AtreusManagedEntity> associations = new ArrayList<>(rows.size());
-    for (Row row : rows) {
+  protected List<List<AtreusManagedEntity>> fetchAssociations(AtreusSessionExt session, List<AtreusManagedEntity> ownerEntities, AtreusMetaAssociation metaAssociation, boolean outbound) {
 
-      // Create a new entity instance
-      AtreusManagedEntity associatedEntity = session.entityInstance(metaAssociationEntity, null);
+    // Collect the associations in the order of the owners
+    List<List<AtreusManagedEntity>> associations = new ArrayList<>(ownerEntities.size());
+    for (ResultSetFuture resultSetFuture : executeAssociations(session, ownerEntities, metaAssociation)) {
+      associations.add(unbindAssociations(session, metaAssociation, resultSetFuture.getUninterruptibly().all()));
+    }
+    return associations;
+  }
 
-      // Assign the primary key
-      metaAssociationEntity.getPrimaryKeyField().unbindEntity(row, associatedEntity);
+  protected Iterator<List<AtreusManagedEntity>> fetchAssociationPages(AtreusSessionExt session, AtreusManagedEntity ownerEntity, AtreusMetaAssociation metaAssociation, boolean outbound) {
 
-      // For composite associations populate the entity
-      if (AtreusAssociationType.COMPOSITE.equals(metaAssociation.getType())) {
-        for (AtreusMetaField metaField : metaAssociationEntity.getFields()) {
-          metaField.unbindEntity(row, associatedEntity);
-        }
-      }
+    // The first page is requested now and its rows only unbound once it is taken
+    ResultSetFuture firstPage = executeAssociationPage(session, ownerEntity, metaAssociation, null);
+    return new AssociationPageIterator(this, session, metaAssociation, ownerEntity, firstPage);
+  }
 
-      // TODO add fetch for aggregate associations here
-      associations.add(associatedEntity);
+  protected List<Iterator<List<AtreusManagedEntity>>> fetchAssociationPages(AtreusSessionExt session, List<AtreusManagedEntity> ownerEntities, AtreusMetaAssociation metaAssociation, boolean outbound) {
+
+    // The first page of every owner is requested concurrently, collected in the order of the owners
+    BoundedReads boundedReads = new BoundedReads(session);
+    List<Iterator<List<AtreusManagedEntity>>> associations = new ArrayList<>(ownerEntities.size());
+    for (AtreusManagedEntity ownerEntity : ownerEntities) {
+      ResultSetFuture firstPage = boundedReads.executeAsync(bindAssociationPage(session, ownerEntity, metaAssociation, null));
+      associations.add(new AssociationPageIterator(this, session, metaAssociation, ownerEntity, firstPage));
     }
     return associations;
   }
 
+  protected ResultSetFuture executeAssociationPage(AtreusSessionExt session, AtreusManagedEntity ownerEntity, AtreusMetaAssociation metaAssociation, Row lastRow) {
+    return session.executeAsync(bindAssociationPage(session, ownerEntity, metaAssociation, lastRow));
+  }
+
   @SuppressWarnings("unchecked")
   protected void setCollection(AtreusManagedEntity managedEntity, List<AtreusManagedEntity> associatedEntities, AtreusMetaAssociation metaAssociation) {
     AtreusMetaField associationField = metaAssociation.getOwner().getAssociationField();
@@ -101,12 +115,29 @@ public class BaseAssociationHandler {
     if (collection instanceof ManagedCollection) {
       ManagedCollection managedCollection = (ManagedCollection) collection;
       managedCollection.snapshot(associatedEntities);
-      managedEntity.setFieldValue(associationField, managedCollection);
+      managedEntity.loadFieldValue(associationField, managedCollection);
       return;
     }
     collection.addAll(associatedEntities);
   }
 
+  @SuppressWarnings("unchecked")
+  protected void setCollection(AtreusManagedEntity managedEntity, Iterator<List<AtreusManagedEntity>> associatedPages, AtreusMetaAssociation metaAssociation) {
+    AtreusMetaField associationField = metaAssociation.getOwner().getAssociationField();
+    Collection collection = (Collection) managedEntity.getFieldValue(associationField);
+    if (collection instanceof ManagedCollection) {
+      ManagedCollection managedCollection = (ManagedCollection) collection;
+      managedCollection.snapshot(associatedPages);
+      managedEntity.loadFieldValue(associationField, managedCollection);
+      return;
+    }
+
+    // A collection that is not managed cannot fetch its pages on demand so it is given them all
+    while (associatedPages.hasNext()) {
+      collection.addAll(associatedPages.next());
+    }
+  }
+
   protected void setEntity(AtreusManagedEntity managedEntity, List<AtreusManagedEntity> associatedEntities, AtreusMetaAssociation metaAssociation) {
     AtreusMetaField associationField = metaAssociation.getOwner().getAssociationField();
 
@@ -121,11 +152,79 @@ public class BaseAssociationHandler {
     }
 
     // Set the first list item as the value
-    managedEntity.setFieldValue(associationField, associatedEntities.get(0));
+    managedEntity.loadFieldValue(associationField, associatedEntities.get(0));
+  }
+
+  protected List<AtreusManagedEntity> unbindAssociations(AtreusSessionExt session, AtreusMetaAssociation metaAssociation, List<Row> rows) {
+    AtreusMetaEntity metaAssociationEntity = metaAssociation.getAssociation().getMetaEntity();
+
+    // Iterate the results and create managed entities
+    List<AtreusManagedEntity> associations = new ArrayList<>(rows.size());
+    for (Row row : rows) {
+
+      // Create a new entity instance
+      AtreusManagedEntity associatedEntity = session.entityInstance(metaAssociationEntity, null);
+
+      // Assign the primary key
+      metaAssociationEntity.getPrimaryKeyField().unbindEntity(row, associatedEntity);
+
+      // For composite associations populate the entity
+      if (AtreusAssociationType.COMPOSITE.equals(metaAssociation.getType())) {
+        for (AtreusMetaField metaField : metaAssociationEntity.getFields()) {
+          // Simple fields are loaded through the managed entity so that they are not fetched again on access
+          if (metaField instanceof AtreusMetaSimpleField) {
+            AtreusMetaSimpleField metaSimpleField = (AtreusMetaSimpleField) metaField;
+            associatedEntity.loadFieldValue(metaSimpleField, metaSimpleField.getTypeStrategy().unbindValue(row, metaSimpleField.getColumn()));
+            continue;
+          }
+          metaField.unbindEntity(row, associatedEntity);
+        }
+      }
+
+      // TODO add fetch for aggregate associations here
+      associations.add(associatedEntity);
+    }
+    return associations;
   }
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
 
+  private BoundStatement bindAssociations(AtreusSessionExt session, StatementPlan statementPlan, AtreusManagedEntity ownerEntity, AtreusMetaAssociation metaAssociation) {
+    BoundStatement boundStatement = statementPlan.newBoundStatement(session);
+    Serializable primaryKey = ownerEntity.getPrimaryKey();
+    metaAssociation.getOwner().getAssociationKeyField().bindValue(boundStatement, primaryKey);
+    return boundStatement;
+  }
+
+  private BoundStatement bindAssociationPage(AtreusSessionExt session, AtreusManagedEntity ownerEntity, AtreusMetaAssociation metaAssociation, Row lastRow) {
+    // Pages are selected by the associated key rather than by the driver's paging state, so a page is a query of its own
+    StatementPlan statementPlan = getStatementPlans(metaAssociation).getAssociationPage(metaAssociation, lastRow != null);
+    BoundStatement boundStatement = bindAssociations(session, statementPlan, ownerEntity, metaAssociation);
+    if (lastRow != null) {
+      AtreusMetaSimpleField associationKeyField = (AtreusMetaSimpleField) metaAssociation.getAssociation().getAssociationKeyField();
+      associationKeyField.bindValue(boundStatement, associationKeyField.getTypeStrategy().unbindValue(lastRow, associationKeyField.getColumn()));
+    }
+    return boundStatement;
+  }
+
+  private List<ResultSetFuture> executeAssociations(AtreusSessionExt session, List<AtreusManagedEntity> ownerEntities, AtreusMetaAssociation metaAssociation) {
+
+    // Issue the select against the outbound association table for every owner concurrently, no more than the reads in
+    // flight allowed at a time
+    StatementPlan statementPlan = getStatementPlans(metaAssociation).getAssociationSelect(metaAssociation);
+    BoundedReads boundedReads = new BoundedReads(session);
+    List<ResultSetFuture> resultSetFutures = new ArrayList<>(ownerEntities.size());
+    for (AtreusManagedEntity ownerEntity : ownerEntities) {
+      resultSetFutures.add(boundedReads.executeAsync(bindAssociations(session, statementPlan, ownerEntity, metaAssociation)));
+    }
+    return resultSetFutures;
+  }
+
+  private EntityStatementPlans getStatementPlans(AtreusMetaAssociation metaAssociation) {
+    // The selects of an association are compiled with the plans of the entity owning it
+    return ((MetaEntityImpl) metaAssociation.getOwner().getMetaEntity()).getStatementPlans();
+  }
+
   // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
 
 } // end of class
\ No newline at end of file
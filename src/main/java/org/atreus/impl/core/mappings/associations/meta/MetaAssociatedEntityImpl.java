@@ -47,6 +47,7 @@ public class MetaAssociatedEntityImpl implements AtreusMetaAssociatedEntity {
   private AtreusMetaField associationField;
   private AtreusMetaField associationKeyField;
   private AtreusFetchMode fetchMode;
+  private int fetchSize;
 
   // Constructors ---------------------------------------------------------------------------------------- Constructors
 
@@ -93,4 +94,13 @@ public class MetaAssociatedEntityImpl implements AtreusMetaAssociatedEntity {
     this.fetchMode = fetchMode;
   }
 
+  @Override
+  public int getFetchSize() {
+    return fetchSize;
+  }
+
+  public void setFetchSize(int fetchSize) {
+    this.fetchSize = fetchSize;
+  }
+
 } // end of class
\ No newline at end of file
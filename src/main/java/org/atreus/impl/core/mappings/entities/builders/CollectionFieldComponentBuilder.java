@@ -78,6 +78,9 @@ public class CollectionFieldComponentBuilder extends BaseFieldEntityMetaComponen
       }
     }
 
+    // Resolve the fetch group of a lazy field
+    resolveFetchGroup(collectionMetaField, field);
+
     // Resolve the type strategy
     resolveTypeStrategy(metaEntity, collectionMetaField, field);
 
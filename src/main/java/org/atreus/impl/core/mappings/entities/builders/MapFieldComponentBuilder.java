@@ -30,10 +30,12 @@ import org.atreus.core.annotations.AtreusMap;
 import org.atreus.core.annotations.NullType;
 import org.atreus.core.ext.AtreusCQLDataType;
 import org.atreus.core.ext.strategies.AtreusMapTypeStrategy;
+import org.atreus.core.ext.strategies.AtreusTypeStrategy;
 import org.atreus.impl.core.Environment;
 import org.atreus.impl.core.mappings.BaseFieldEntityMetaComponentBuilder;
 import org.atreus.impl.core.mappings.entities.meta.MetaEntityImpl;
 import org.atreus.impl.core.mappings.entities.meta.StaticMetaSimpleFieldImpl;
+import org.atreus.impl.types.cql.MapTypeStrategy;
 import org.atreus.impl.util.ObjectUtils;
 import org.atreus.impl.util.ReflectionUtils;
 
@@ -79,6 +81,9 @@ public class MapFieldComponentBuilder extends BaseFieldEntityMetaComponentBuilde
       }
     }
 
+    // Resolve the fetch group of a lazy field
+    resolveFetchGroup(mapMetaField, field);
+
     // Resolve the type strategy
     resolveTypeStrategy(metaEntity, mapMetaField, field);
 
@@ -107,6 +112,15 @@ public class MapFieldComponentBuilder extends BaseFieldEntityMetaComponentBuilde
     mapTypeStrategy.setValueDataType(valueDataType);
     mapTypeStrategy.setKeyDataType(keyDataType);
 
+    // Resolve the type strategy of the key, used to bind the key of an entry removed from the map
+    if (mapTypeStrategy instanceof MapTypeStrategy) {
+      AtreusTypeStrategy keyTypeStrategy = getEnvironment().getTypeManager().findTypeStrategy(keyClass);
+      if (keyTypeStrategy != null) {
+        keyTypeStrategy.setValueClass(keyClass);
+      }
+      ((MapTypeStrategy) mapTypeStrategy).setKeyTypeStrategy(keyTypeStrategy);
+    }
+
     // Add to the meta entity
     metaEntity.addField(mapMetaField);
 
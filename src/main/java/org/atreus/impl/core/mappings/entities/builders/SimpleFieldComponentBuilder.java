@@ -67,6 +67,9 @@ public class SimpleFieldComponentBuilder extends BaseFieldEntityMetaComponentBui
       }
     }
 
+    // Resolve the fetch group of a lazy field
+    resolveFetchGroup(metaField, field);
+
     // Resolve the type strategy
     resolveTypeStrategy(metaEntity, metaField, field);
 
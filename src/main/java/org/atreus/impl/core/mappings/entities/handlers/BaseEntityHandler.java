@@ -28,15 +28,13 @@ import org.atreus.core.AtreusDataBindingException;
 import org.atreus.core.ext.AtreusManagedEntity;
 import org.atreus.core.ext.meta.AtreusMetaEntity;
 import org.atreus.core.ext.meta.AtreusMetaField;
-import org.atreus.core.ext.meta.AtreusMetaSimpleField;
+import org.atreus.impl.core.mappings.entities.meta.MetaEntityImpl;
+import org.atreus.impl.core.queries.EntityStatementPlans;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Collection;
 import java.util.Date;
 
-import static org.atreus.impl.util.MetaFieldIteratorUtils.iterateMetaSimpleFields;
-
 /**
  * Base Entity Handler.
  *
@@ -56,6 +54,10 @@ public abstract class BaseEntityHandler {
 
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
+  protected EntityStatementPlans getStatementPlans(AtreusMetaEntity metaEntity) {
+    return ((MetaEntityImpl) metaEntity).getStatementPlans();
+  }
+
   protected boolean hasTtl(AtreusManagedEntity managedEntity) {
     AtreusMetaEntity metaEntity = managedEntity.getMetaEntity();
     AtreusMetaField ttlMetaField = metaEntity.getTtlField();
@@ -65,39 +67,6 @@ public abstract class BaseEntityHandler {
     return false;
   }
 
-  protected void bindColumnsAll(BoundStatement boundStatement, AtreusManagedEntity managedEntity) {
-    AtreusMetaEntity metaEntity = managedEntity.getMetaEntity();
-    for (AtreusMetaField metaField : iterateMetaSimpleFields(metaEntity.getFields())) {
-      metaField.bindEntity(boundStatement, managedEntity);
-    }
-  }
-
-  protected void bindColumns(BoundStatement boundStatement, AtreusManagedEntity managedEntity, Collection<AtreusMetaSimpleField> updatedFields) {
-    for (AtreusMetaField metaField : updatedFields) {
-      metaField.bindEntity(boundStatement, managedEntity);
-    }
-  }
-
-  protected void bindEntityAll(BoundStatement boundStatement, AtreusManagedEntity managedEntity) {
-    bindPrimaryKey(boundStatement, managedEntity);
-    bindColumnsAll(boundStatement, managedEntity);
-    bindTtl(managedEntity, boundStatement);
-  }
-
-  protected void bindEntityUpdates(BoundStatement boundStatement, AtreusManagedEntity managedEntity, Collection<AtreusMetaSimpleField> updatedFields) {
-    bindPrimaryKey(boundStatement, managedEntity);
-    bindColumns(boundStatement, managedEntity, updatedFields);
-    bindTtl(managedEntity, boundStatement);
-  }
-
-  protected void bindPrimaryKey(BoundStatement boundStatement, AtreusManagedEntity managedEntity) {
-    AtreusMetaEntity metaEntity = managedEntity.getMetaEntity();
-    AtreusMetaField primaryKeyMetaField = metaEntity.getPrimaryKeyField();
-    for(AtreusMetaField metaField : iterateMetaSimpleFields(primaryKeyMetaField)) {
-      metaField.bindValue(boundStatement, metaField.getValue(managedEntity));
-    }
-  }
-
   @SuppressWarnings("unchecked")
   protected void bindTtl(AtreusManagedEntity managedEntity, BoundStatement boundStatement) {
     AtreusMetaEntity metaEntity = managedEntity.getMetaEntity();
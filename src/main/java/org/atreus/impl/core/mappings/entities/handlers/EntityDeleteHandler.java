@@ -27,8 +27,7 @@ import com.datastax.driver.core.BoundStatement;
 import org.atreus.core.ext.AtreusManagedEntity;
 import org.atreus.core.ext.AtreusSessionExt;
 import org.atreus.core.ext.meta.AtreusMetaEntity;
-import org.atreus.core.ext.meta.AtreusMetaField;
-import org.atreus.impl.core.queries.QueryHelper;
+import org.atreus.impl.core.queries.StatementPlan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,7 +36,7 @@ import org.slf4j.LoggerFactory;
  *
  * @author Martin Crawford
  */
-public class EntityDeleteHandler {
+public class EntityDeleteHandler extends BaseEntityHandler {
 
   // Constants ---------------------------------------------------------------------------------------------- Constants
 
@@ -51,9 +50,9 @@ public class EntityDeleteHandler {
 
   public void delete(AtreusSessionExt session, AtreusManagedEntity managedEntity) {
     AtreusMetaEntity metaEntity = managedEntity.getMetaEntity();
-    AtreusMetaField primaryKeyMetaField = metaEntity.getPrimaryKeyField();
-    BoundStatement boundStatement = session.prepareQuery(QueryHelper.deleteEntity(metaEntity));
-    primaryKeyMetaField.bindEntity(boundStatement, managedEntity);
+    StatementPlan statementPlan = getStatementPlans(metaEntity).getDelete();
+    BoundStatement boundStatement = statementPlan.newBoundStatement(session);
+    statementPlan.bindEntity(boundStatement, managedEntity);
     session.executeOrBatch(boundStatement);
   }
 
@@ -23,28 +23,31 @@
  */
 package org.atreus.impl.core.mappings.entities.handlers;
 
-import com.datastax.driver.core.BoundStatement;
-import com.datastax.driver.core.RegularStatement;
-import com.datastax.driver.core.ResultSet;
-import com.datastax.driver.core.Row;
+import com.datastax.driver.core.*;
 import org.atreus.core.ext.AtreusManagedEntity;
 import org.atreus.core.ext.AtreusSessionExt;
 import org.atreus.core.ext.meta.AtreusMetaEntity;
-import org.atreus.core.ext.meta.AtreusMetaField;
-import org.atreus.impl.core.queries.QueryHelper;
+import org.atreus.core.ext.meta.AtreusMetaSimpleField;
+import org.atreus.impl.core.queries.BoundedReads;
+import org.atreus.impl.core.queries.ColumnIndexTable;
+import org.atreus.impl.core.queries.EntityStatementPlans;
+import org.atreus.impl.core.queries.StatementPlan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
-
-import static org.atreus.impl.util.MetaFieldIteratorUtils.iterateMetaSimpleFields;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Handles the fetching of an entity.
  *
  * @author Martin Crawford
  */
-public class EntityFetchHandler {
+public class EntityFetchHandler extends BaseEntityHandler {
 
   // Constants ---------------------------------------------------------------------------------------------- Constants
 
@@ -57,22 +60,79 @@ public class EntityFetchHandler {
   // Public Methods ------------------------------------------------------------------------------------ Public Methods
 
   public AtreusManagedEntity fetch(AtreusSessionExt session, AtreusMetaEntity metaEntity, Serializable primaryKey, AtreusManagedEntity managedEntity) {
-    RegularStatement regularStatement = QueryHelper.selectEntity(metaEntity);
-    BoundStatement boundStatement = session.prepareQuery(regularStatement);
-    metaEntity.getPrimaryKeyField().bindValue(boundStatement, primaryKey);
-    ResultSet resultSet = session.execute(boundStatement);
-    Row row = resultSet.one();
+    Row row = fetchRow(session, metaEntity, primaryKey);
+    if (row == null) {
+      return null;
+    }
+    return unbindEntity(session, metaEntity, primaryKey, row, managedEntity);
+  }
+
+  public AtreusManagedEntity fetchGroup(AtreusSessionExt session, AtreusManagedEntity managedEntity, String fetchGroup) {
+    AtreusMetaEntity metaEntity = managedEntity.getMetaEntity();
+    List<AtreusMetaSimpleField> groupFields = getStatementPlans(metaEntity).getFetchGroup(fetchGroup);
+    if (groupFields == null) {
+      throw new RuntimeException(fetchGroup + " is not a fetch group of " + metaEntity.getEntityType());
+    }
+    Row row = fetchRow(session, metaEntity, managedEntity.getPrimaryKey(), groupFields);
     if (row == null) {
       return null;
     }
+    return unbindEntity(session, metaEntity, managedEntity.getPrimaryKey(), row, managedEntity);
+  }
+
+  public List<Row> fetchRows(AtreusSessionExt session, AtreusMetaEntity metaEntity, List<Serializable> primaryKeys, int maxCoalesce) {
+    if (primaryKeys.size() > 1 && primaryKeys.size() <= maxCoalesce && metaEntity.getPrimaryKeyField() instanceof AtreusMetaSimpleField) {
+      return fetchRowsCoalesced(session, metaEntity, primaryKeys);
+    }
+
+    // Issue a select for every primary key concurrently, no more than the reads in flight allowed at a time
+    StatementPlan statementPlan = getStatementPlans(metaEntity).getSelect();
+    BoundedReads boundedReads = new BoundedReads(session);
+    List<ResultSetFuture> resultSetFutures = new ArrayList<>(primaryKeys.size());
+    for (Serializable primaryKey : primaryKeys) {
+      BoundStatement boundStatement = statementPlan.newBoundStatement(session);
+      metaEntity.getPrimaryKeyField().bindValue(boundStatement, primaryKey);
+      resultSetFutures.add(boundedReads.executeAsync(boundStatement));
+    }
+
+    // Collect the results in the order of the primary keys
+    List<Row> rows = new ArrayList<>(primaryKeys.size());
+    for (ResultSetFuture resultSetFuture : resultSetFutures) {
+      rows.add(resultSetFuture.getUninterruptibly().one());
+    }
+    return rows;
+  }
+
+  public Row fetchRow(AtreusSessionExt session, AtreusMetaEntity metaEntity, Serializable primaryKey) {
+    return fetchRow(session, getStatementPlans(metaEntity).getSelect(), metaEntity, primaryKey);
+  }
 
-    if (managedEntity == null) {
-      managedEntity = session.entityInstance(metaEntity, primaryKey);
+  public Row fetchRow(AtreusSessionExt session, AtreusMetaEntity metaEntity, Serializable primaryKey, Collection<AtreusMetaSimpleField> selectedFields) {
+    return fetchRow(session, getStatementPlans(metaEntity).getSelect(selectedFields), metaEntity, primaryKey);
+  }
+
+  public ResultSet fetchAllRows(AtreusSessionExt session, AtreusMetaEntity metaEntity, int fetchSize) {
+    BoundStatement boundStatement = getStatementPlans(metaEntity).getSelectAll().newBoundStatement(session);
+    if (fetchSize > 0) {
+      boundStatement.setFetchSize(fetchSize);
     }
+    return session.execute(boundStatement);
+  }
+
+  public void unbindEntity(Row row, AtreusManagedEntity managedEntity) {
+    AtreusMetaEntity metaEntity = managedEntity.getMetaEntity();
+    metaEntity.getPrimaryKeyField().unbindEntity(row, managedEntity);
+    unbindFields(row, managedEntity, false);
+  }
 
-    for (AtreusMetaField metaField : iterateMetaSimpleFields(metaEntity.getFields())) {
-      metaField.unbindEntity(row, managedEntity);
+  public AtreusManagedEntity unbindEntity(AtreusSessionExt session, AtreusMetaEntity metaEntity, Serializable primaryKey, Row row, AtreusManagedEntity managedEntity) {
+    // Completing an entity already held leaves the fields it has fetched, and may have changed since, as they are
+    if (managedEntity != null) {
+      unbindFields(row, managedEntity, true);
+      return managedEntity;
     }
+    managedEntity = session.entityInstance(metaEntity, primaryKey);
+    unbindFields(row, managedEntity, false);
     return managedEntity;
   }
 
@@ -80,6 +140,51 @@ public class EntityFetchHandler {
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
 
+  private List<Row> fetchRowsCoalesced(AtreusSessionExt session, AtreusMetaEntity metaEntity, List<Serializable> primaryKeys) {
+    AtreusMetaSimpleField primaryKeyField = (AtreusMetaSimpleField) metaEntity.getPrimaryKeyField();
+    String columnName = primaryKeyField.getColumn();
+
+    // Select all primary keys with a single IN query, its unused markers repeat the last primary key
+    BoundStatement boundStatement = getStatementPlans(metaEntity).getSelectIn(primaryKeys.size()).newBoundStatement(session);
+    int keyCount = boundStatement.preparedStatement().getVariables().size();
+    for (int i = 0; i < keyCount; i++) {
+      primaryKeyField.getTypeStrategy().bindValue(boundStatement, columnName + i, primaryKeys.get(Math.min(i, primaryKeys.size() - 1)));
+    }
+    Map<Object, Row> rowsByKey = new HashMap<>();
+    for (Row row : session.execute(boundStatement)) {
+      rowsByKey.put(primaryKeyField.getTypeStrategy().unbindValue(row, columnName), row);
+    }
+
+    // Collect the results in the order of the primary keys
+    List<Row> rows = new ArrayList<>(primaryKeys.size());
+    for (Serializable primaryKey : primaryKeys) {
+      rows.add(rowsByKey.get(primaryKey));
+    }
+    return rows;
+  }
+
+  private Row fetchRow(AtreusSessionExt session, StatementPlan statementPlan, AtreusMetaEntity metaEntity, Serializable primaryKey) {
+    BoundStatement boundStatement = statementPlan.newBoundStatement(session);
+    metaEntity.getPrimaryKeyField().bindValue(boundStatement, primaryKey);
+    ResultSet resultSet = session.execute(boundStatement);
+    return resultSet.one();
+  }
+
+  private void unbindFields(Row row, AtreusManagedEntity managedEntity, boolean unfetchedOnly) {
+    EntityStatementPlans statementPlans = getStatementPlans(managedEntity.getMetaEntity());
+    AtreusMetaSimpleField[] columns = statementPlans.getColumns();
+    ColumnIndexTable columnIndexTable = statementPlans.getColumnIndexTable(row.getColumnDefinitions());
+
+    // Set through the managed entity so that the fields are recorded as fetched and are not fetched again on access,
+    // while columns missing from the row, such as those left out of a projection, remain to be fetched
+    for (int i = 0; i < columns.length; i++) {
+      int index = columnIndexTable.getIndex(i);
+      if (index >= 0 && !(unfetchedOnly && managedEntity.isFetched(columns[i]))) {
+        managedEntity.loadFieldValue(columns[i], columns[i].unbindValue(row, index));
+      }
+    }
+  }
+
   // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
 
 } // end of class
\ No newline at end of file
@@ -24,14 +24,18 @@
 package org.atreus.impl.core.mappings.entities.handlers;
 
 import com.datastax.driver.core.BoundStatement;
-import com.datastax.driver.core.RegularStatement;
 import org.atreus.core.ext.AtreusManagedEntity;
 import org.atreus.core.ext.AtreusSessionExt;
 import org.atreus.core.ext.meta.AtreusMetaEntity;
-import org.atreus.impl.core.queries.QueryHelper;
+import org.atreus.core.ext.meta.AtreusMetaSimpleField;
+import org.atreus.impl.core.queries.EntityStatementPlans;
+import org.atreus.impl.core.queries.StatementPlan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Handles the saving of an entity.
  *
@@ -53,9 +57,28 @@ public class EntitySaveHandler extends BaseEntityHandler {
     // TODO enable lightweight transaction as configuration option to ensure entity does not already exists
     AtreusMetaEntity metaEntity = managedEntity.getMetaEntity();
     boolean hasTtl = hasTtl(managedEntity);
-    RegularStatement regularStatement = QueryHelper.insertEntity(metaEntity, hasTtl);
-    BoundStatement boundStatement = session.prepareQuery(regularStatement);
-    bindEntityAll(boundStatement, managedEntity);
+    EntityStatementPlans statementPlans = getStatementPlans(metaEntity);
+    StatementPlan statementPlan = statementPlans.getInsert(hasTtl);
+
+    // A loaded entity missing fields, such as one fetched by projection, writes only what it holds so the rest is kept
+    if (managedEntity.isLoaded()) {
+      List<AtreusMetaSimpleField> fetchedFields = new ArrayList<>();
+      for (AtreusMetaSimpleField metaField : statementPlans.getColumns()) {
+        if (managedEntity.isFetched(metaField)) {
+          fetchedFields.add(metaField);
+        }
+      }
+      if (fetchedFields.isEmpty()) {
+        managedEntity.snapshot();
+        return;
+      }
+      if (fetchedFields.size() < statementPlans.getColumns().length) {
+        statementPlan = statementPlans.getUpdate(fetchedFields, hasTtl);
+      }
+    }
+    BoundStatement boundStatement = statementPlan.newBoundStatement(session);
+    statementPlan.bindEntity(boundStatement, managedEntity);
+    bindTtl(managedEntity, boundStatement);
     session.executeOrBatch(boundStatement);
     managedEntity.snapshot();
   }
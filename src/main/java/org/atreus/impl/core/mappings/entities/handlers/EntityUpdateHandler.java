@@ -24,18 +24,25 @@
 package org.atreus.impl.core.mappings.entities.handlers;
 
 import com.datastax.driver.core.BoundStatement;
-import com.datastax.driver.core.RegularStatement;
 import org.atreus.core.ext.AtreusManagedEntity;
 import org.atreus.core.ext.AtreusSessionExt;
 import org.atreus.core.ext.meta.AtreusMetaEntity;
 import org.atreus.core.ext.meta.AtreusMetaSimpleField;
+import org.atreus.core.ext.strategies.AtreusTypeStrategy;
+import org.atreus.impl.core.entities.CollectionDelta;
+import org.atreus.impl.core.entities.EntityAccessor;
+import org.atreus.impl.core.queries.EntityStatementPlans;
 import org.atreus.impl.core.queries.QueryHelper;
+import org.atreus.impl.core.queries.StatementPlan;
+import org.atreus.impl.types.cql.MapTypeStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Collection;
-
-import static org.atreus.impl.util.MetaFieldIteratorUtils.iterateMetaSimpleFields;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Handles the update of an entity.
@@ -59,24 +66,50 @@ public class EntityUpdateHandler extends BaseEntityHandler {
     AtreusMetaEntity metaEntity = managedEntity.getMetaEntity();
     boolean hasTtl = hasTtl(managedEntity);
 
-    // Check if there are any fields to be updated
-    Collection<AtreusMetaSimpleField> updatedFields = managedEntity.getUpdatedFields();
-    if (updatedFields.isEmpty()) {
+    // Check if there are any fields to be updated, if ttl is set with none then the full row is updated
+    List<AtreusMetaSimpleField> updatedFields = new ArrayList<>(managedEntity.getUpdatedFields());
+    if (updatedFields.isEmpty() && !hasTtl) {
+      return;
+    }
 
-      if (!hasTtl) {
-        // Skip out if there are not fields to update and the Ttl is not set
-        return;
+    // Only columns are written, with a ttl and none of them changed those held are written again to refresh it while
+    // those never fetched, such as lazy fields not yet read, are left as stored
+    EntityStatementPlans statementPlans = getStatementPlans(metaEntity);
+    updatedFields.retainAll(Arrays.asList(statementPlans.getColumns()));
+    if (updatedFields.isEmpty() && hasTtl) {
+      for (AtreusMetaSimpleField metaField : statementPlans.getColumns()) {
+        if (managedEntity.isFetched(metaField)) {
+          updatedFields.add(metaField);
+        }
       }
+    }
 
-      // If ttl is set then all fields must be updated, including the primary key
-      updatedFields.addAll(iterateMetaSimpleFields(metaEntity.getPrimaryKeyField()));
-      updatedFields.addAll(iterateMetaSimpleFields(metaEntity.getFields()));
+    // Collections changed element by element are written as deltas, unless the whole row is written with a ttl
+    List<CollectionDelta> collectionDeltas = new ArrayList<>();
+    if (!hasTtl) {
+      for (Iterator<AtreusMetaSimpleField> iterator = updatedFields.iterator(); iterator.hasNext(); ) {
+        AtreusMetaSimpleField metaField = iterator.next();
+        if (statementPlans.getCollectionAddition(metaField) == null) {
+          continue;
+        }
+        CollectionDelta collectionDelta = ((EntityAccessor) managedEntity).getCollectionDelta(metaField);
+        if (collectionDelta != null) {
+          collectionDeltas.add(collectionDelta);
+          iterator.remove();
+        }
+      }
     }
 
-    RegularStatement regularStatement = QueryHelper.updateEntity(metaEntity, updatedFields, hasTtl);
-    BoundStatement boundStatement = session.prepareQuery(regularStatement);
-    bindEntityUpdates(boundStatement, managedEntity, updatedFields);
-    session.executeOrBatch(boundStatement);
+    if (!updatedFields.isEmpty()) {
+      StatementPlan statementPlan = statementPlans.getUpdate(updatedFields, hasTtl);
+      BoundStatement boundStatement = statementPlan.newBoundStatement(session);
+      statementPlan.bindEntity(boundStatement, managedEntity);
+      bindTtl(managedEntity, boundStatement);
+      session.executeOrBatch(boundStatement);
+    }
+    for (CollectionDelta collectionDelta : collectionDeltas) {
+      updateCollection(session, managedEntity, statementPlans, collectionDelta);
+    }
     managedEntity.snapshot();
   }
 
@@ -84,6 +117,49 @@ public class EntityUpdateHandler extends BaseEntityHandler {
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
 
+  @SuppressWarnings("unchecked")
+  private void updateCollection(AtreusSessionExt session, AtreusManagedEntity managedEntity, EntityStatementPlans statementPlans, CollectionDelta collectionDelta) {
+    AtreusMetaSimpleField metaField = collectionDelta.getMetaField();
+    if (collectionDelta.hasAdditions()) {
+      StatementPlan statementPlan = statementPlans.getCollectionAddition(metaField);
+      BoundStatement boundStatement = statementPlan.newBoundStatement(session);
+      metaField.bindValue(boundStatement, collectionDelta.getAdditions());
+      statementPlan.bindEntity(boundStatement, managedEntity);
+      session.executeOrBatch(boundStatement);
+      statementPlans.getStatistics().recordCollectionDelta();
+    }
+    if (!collectionDelta.hasRemovals()) {
+      return;
+    }
+
+    // Map keys are deleted one statement per key, bound through the type strategy of the key
+    StatementPlan statementPlan = statementPlans.getCollectionRemoval(metaField);
+    if (collectionDelta.getAdditions() instanceof Map) {
+      AtreusTypeStrategy typeStrategy = metaField.getTypeStrategy();
+      AtreusTypeStrategy keyTypeStrategy = typeStrategy instanceof MapTypeStrategy ? ((MapTypeStrategy) typeStrategy).getKeyTypeStrategy() : null;
+      String keyVariable = QueryHelper.mapKeyVariable(metaField);
+      for (Object key : collectionDelta.getRemovals()) {
+        BoundStatement boundStatement = statementPlan.newBoundStatement(session);
+        if (keyTypeStrategy != null) {
+          keyTypeStrategy.bindValue(boundStatement, keyVariable, key);
+        }
+        else {
+          // A custom map strategy resolves no key strategy, its key is bound as is
+          boundStatement.bind(key);
+        }
+        statementPlan.bindEntity(boundStatement, managedEntity);
+        session.executeOrBatch(boundStatement);
+        statementPlans.getStatistics().recordCollectionDelta();
+      }
+      return;
+    }
+    BoundStatement boundStatement = statementPlan.newBoundStatement(session);
+    metaField.bindValue(boundStatement, collectionDelta.getRemovals());
+    statementPlan.bindEntity(boundStatement, managedEntity);
+    session.executeOrBatch(boundStatement);
+    statementPlans.getStatistics().recordCollectionDelta();
+  }
+
   // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
 
 } // end of class
\ No newline at end of file
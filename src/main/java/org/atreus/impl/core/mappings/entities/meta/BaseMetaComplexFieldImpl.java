@@ -88,6 +88,12 @@ public abstract class BaseMetaComplexFieldImpl implements AtreusMetaComplexField
     }
   }
 
+  @Override
+  public final int getOrdinal() {
+    // Complex fields hold no managed state of their own, it is tracked against their simple fields
+    return -1;
+  }
+
   @Override
   public final AtreusMetaObject getOwnerObject() {
     return ownerObject;
@@ -42,6 +42,7 @@ public abstract class BaseMetaFieldImpl implements AtreusMetaField, Comparable<B
   // Instance Variables ---------------------------------------------------------------------------- Instance Variables
 
   private final AtreusMetaObject ownerObject;
+  private int ordinal = -1;
 
   // Constructors ---------------------------------------------------------------------------------------- Constructors
 
@@ -105,6 +106,15 @@ public abstract class BaseMetaFieldImpl implements AtreusMetaField, Comparable<B
 
   // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
 
+  @Override
+  public int getOrdinal() {
+    return ordinal;
+  }
+
+  public void setOrdinal(int ordinal) {
+    this.ordinal = ordinal;
+  }
+
   @Override
   public AtreusMetaObject getOwnerObject() {
     return ownerObject;
@@ -27,6 +27,7 @@ import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.Row;
 import org.atreus.core.ext.meta.AtreusMetaObject;
 import org.atreus.core.ext.meta.AtreusMetaSimpleField;
+import org.atreus.core.ext.strategies.AtreusIndexedTypeStrategy;
 import org.atreus.core.ext.strategies.AtreusTypeStrategy;
 import org.atreus.impl.util.AssertUtils;
 
@@ -43,6 +44,8 @@ public abstract class BaseMetaSimpleFieldImpl extends BaseMetaFieldImpl implemen
 
   private String column;
 
+  private String fetchGroup;
+
   private AtreusTypeStrategy typeStrategy;
 
   // Constructors ---------------------------------------------------------------------------------------- Constructors
@@ -61,6 +64,20 @@ public abstract class BaseMetaSimpleFieldImpl extends BaseMetaFieldImpl implemen
     getTypeStrategy().bindValue(boundStatement, column, value);
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public void bindEntity(BoundStatement boundStatement, int index, Object entity) {
+    AssertUtils.notNull(getTypeStrategy(), "typeStrategy not set");
+    Object value = getValue(entity);
+
+    // A strategy without index access is bound by the name of the variable instead
+    if (getTypeStrategy() instanceof AtreusIndexedTypeStrategy) {
+      ((AtreusIndexedTypeStrategy) getTypeStrategy()).bindValue(boundStatement, index, value);
+      return;
+    }
+    getTypeStrategy().bindValue(boundStatement, boundStatement.preparedStatement().getVariables().getName(index), value);
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public void bindValue(BoundStatement boundStatement, Object value) {
@@ -75,6 +92,15 @@ public abstract class BaseMetaSimpleFieldImpl extends BaseMetaFieldImpl implemen
     setValue(entity, value);
   }
 
+  @Override
+  public Object unbindValue(Row row, int index) {
+    AssertUtils.notNull(getTypeStrategy(), "typeStrategy not set");
+    if (getTypeStrategy() instanceof AtreusIndexedTypeStrategy) {
+      return ((AtreusIndexedTypeStrategy) getTypeStrategy()).unbindValue(row, index);
+    }
+    return getTypeStrategy().unbindValue(row, row.getColumnDefinitions().getName(index));
+  }
+
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
@@ -90,6 +116,15 @@ public abstract class BaseMetaSimpleFieldImpl extends BaseMetaFieldImpl implemen
     this.column = column;
   }
 
+  @Override
+  public final String getFetchGroup() {
+    return fetchGroup;
+  }
+
+  public final void setFetchGroup(String fetchGroup) {
+    this.fetchGroup = fetchGroup;
+  }
+
   @Override
   public final AtreusTypeStrategy getTypeStrategy() {
     return typeStrategy;
@@ -86,8 +86,7 @@ public class DynamicMetaSimpleFieldImpl extends BaseMetaSimpleFieldImpl {
       throw new RuntimeException("Cannot retrieve a dynamic field from a non-managed entity");
     }
 
-    Object value = ((AtreusManagedEntity) entity).getDynamicFields().get(name);
-    return value;
+    return ((AtreusManagedEntity) entity).getDynamicField(name);
   }
 
   @Override
@@ -95,7 +94,7 @@ public class DynamicMetaSimpleFieldImpl extends BaseMetaSimpleFieldImpl {
     if (!(entity instanceof AtreusManagedEntity)) {
       throw new RuntimeException("Cannot retrieve a dynamic field from a non-managed entity");
     }
-    ((AtreusManagedEntity) entity).getDynamicFields().put(name, value);
+    ((AtreusManagedEntity) entity).setDynamicField(name, value);
   }
 
   @Override
@@ -25,10 +25,14 @@ package org.atreus.impl.core.mappings.entities.meta;
 
 import org.atreus.core.ext.AtreusManagedEntity;
 import org.atreus.core.ext.AtreusSessionExt;
+import org.atreus.core.ext.listeners.AtreusAbstractEntityListener;
 import org.atreus.core.ext.listeners.AtreusEntityListener;
 import org.atreus.core.ext.meta.*;
 import org.atreus.core.ext.strategies.AtreusPrimaryKeyStrategy;
 import org.atreus.core.ext.strategies.AtreusTtlStrategy;
+import org.atreus.impl.core.queries.EntityStatementPlans;
+import org.atreus.impl.util.MetaFieldIteratorUtils;
+import org.atreus.impl.util.ObjectUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -57,12 +61,18 @@ public class MetaEntityImpl implements AtreusMetaEntity {
 
   private List<AtreusEntityListener> listeners = new ArrayList<>();
 
+  private AtreusMetaField[] managedFields;
+
+  private BitSet mutableFields;
+
   private String name;
 
   private AtreusMetaField primaryKeyField;
 
   private AtreusPrimaryKeyStrategy primaryKeyGenerator;
 
+  private EntityStatementPlans statementPlans;
+
   private AtreusMetaTable table = new MetaTableImpl();
 
   private AtreusMetaSimpleField ttlField;
@@ -76,6 +86,7 @@ public class MetaEntityImpl implements AtreusMetaEntity {
   @Override
   public void addField(AtreusMetaField metaField) {
     fieldsByName.put(metaField.getName(), metaField);
+    managedFields = null;
   }
 
   @Override
@@ -109,6 +120,60 @@ public class MetaEntityImpl implements AtreusMetaEntity {
 
   }
 
+  @Override
+  public void broadcastListeners(AtreusSessionExt session, List<AtreusManagedEntity> managedEntities, Class<? extends AtreusEntityListener> listenerClass) {
+
+    for (AtreusManagedEntity managedEntity : managedEntities) {
+      if (!managedEntity.getMetaEntity().equals(this)) {
+        throw new RuntimeException("Expected entity of type " + entityType + " provided type " + managedEntity.getMetaEntity().getEntityType());
+      }
+    }
+
+    // Broadcast the entities together so that listeners extending the abstract listener can handle each association
+    // for all of them at once, while any other listener is given them one at a time
+    for (AtreusEntityListener listener : listeners) {
+      if (!listenerClass.isAssignableFrom(listener.getClass())) {
+        continue;
+      }
+      LOG.trace("AtreusEntityListener: {}", listener.getClass().getCanonicalName());
+      for (AtreusManagedEntity managedEntity : managedEntities) {
+        listener.acceptEntity(session, managedEntity);
+      }
+
+      for (AtreusMetaAssociation metaAssociation : associations) {
+        if (listener instanceof AtreusAbstractEntityListener) {
+          ((AtreusAbstractEntityListener) listener).acceptAssociations(session, managedEntities, metaAssociation);
+          continue;
+        }
+        for (AtreusManagedEntity managedEntity : managedEntities) {
+          listener.acceptAssociation(session, managedEntity, metaAssociation);
+        }
+      }
+    }
+
+  }
+
+  public AtreusMetaField[] buildManagedFields() {
+    // Assign each managed field a dense ordinal so managed entities can hold their state in flat arrays
+    List<AtreusMetaField> results = new ArrayList<>();
+    BitSet mutableResults = new BitSet();
+    for (AtreusMetaField metaField : MetaFieldIteratorUtils.iterateMetaFields(fieldsByName.values())) {
+      if (!(metaField instanceof BaseMetaFieldImpl)) {
+        continue;
+      }
+
+      // Values that can be changed in place, such as collections and dates, are only detected against a snapshot
+      if (metaField.getType() == null || !ObjectUtils.isImmutableType(metaField.getType())) {
+        mutableResults.set(results.size());
+      }
+      ((BaseMetaFieldImpl) metaField).setOrdinal(results.size());
+      results.add(metaField);
+    }
+    mutableFields = mutableResults;
+    managedFields = results.toArray(new AtreusMetaField[results.size()]);
+    return managedFields;
+  }
+
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
@@ -121,6 +186,20 @@ public class MetaEntityImpl implements AtreusMetaEntity {
     return associations.toArray(result);
   }
 
+  public AtreusMetaField[] getManagedFields() {
+    AtreusMetaField[] result = managedFields;
+    if (result == null) {
+      result = buildManagedFields();
+    }
+    return result;
+  }
+
+  public BitSet getMutableFields() {
+    // Built alongside the managed fields, the returned set is shared and must not be modified
+    getManagedFields();
+    return mutableFields;
+  }
+
   @Override
   public String getName() {
     return name;
@@ -184,6 +263,18 @@ public class MetaEntityImpl implements AtreusMetaEntity {
     this.primaryKeyGenerator = primaryKeyGenerator;
   }
 
+  public EntityStatementPlans getStatementPlans() {
+    if (statementPlans == null) {
+      // Compiled on demand when the entity is used without the environment having compiled its plans
+      statementPlans = new EntityStatementPlans(this);
+    }
+    return statementPlans;
+  }
+
+  public void setStatementPlans(EntityStatementPlans statementPlans) {
+    this.statementPlans = statementPlans;
+  }
+
   @Override
   public AtreusMetaSimpleField getTtlField() {
     return ttlField;
@@ -24,6 +24,8 @@
 package org.atreus.impl.core.mappings.entities.meta;
 
 import org.atreus.impl.core.entities.EntityAccessor;
+import org.atreus.impl.core.entities.accessors.FieldAccessor;
+import org.atreus.impl.core.entities.accessors.FieldAccessorFactory;
 
 import java.lang.reflect.Field;
 
@@ -38,6 +40,8 @@ public class StaticMetaSimpleFieldImpl extends BaseMetaSimpleFieldImpl {
 
   // Instance Variables ---------------------------------------------------------------------------- Instance Variables
 
+  private final FieldAccessor fieldAccessor;
+
   private final Field javaField;
 
   private final String parentName;
@@ -46,6 +50,7 @@ public class StaticMetaSimpleFieldImpl extends BaseMetaSimpleFieldImpl {
 
   public StaticMetaSimpleFieldImpl(MetaEntityImpl ownerObject, Field javaField, String parentName) {
     super(ownerObject);
+    this.fieldAccessor = FieldAccessorFactory.createAccessor(javaField);
     this.javaField = javaField;
     this.parentName = parentName;
   }
@@ -77,30 +82,18 @@ public class StaticMetaSimpleFieldImpl extends BaseMetaSimpleFieldImpl {
   @Override
   public Object getValue(Object entity) {
     if (entity instanceof EntityAccessor) {
-      return ((EntityAccessor) entity).getFieldValue(javaField);
-    }
-    try {
-      // Otherwise extract the value using java reflection directly
-      return javaField.get(entity);
-    }
-    catch (IllegalAccessException e) {
-      throw new RuntimeException(e);
+      return ((EntityAccessor) entity).getFieldValue(fieldAccessor);
     }
+    return fieldAccessor.getValue(entity);
   }
 
   @Override
   public void setValue(Object entity, Object value) {
     if (entity instanceof EntityAccessor) {
-      ((EntityAccessor) entity).setFieldValue(javaField, value);
+      ((EntityAccessor) entity).setFieldValue(fieldAccessor, value);
       return;
     }
-    try {
-      // Otherwise bindValue the value using java reflection directly
-      javaField.set(entity, value);
-    }
-    catch (IllegalAccessException e) {
-      throw new RuntimeException(e);
-    }
+    fieldAccessor.setValue(entity, value);
   }
 
   @Override
@@ -47,6 +47,7 @@ public class CollectionProxyHandler implements MethodHandler {
 
   private final ManagedCollection managedCollection;
   private final Collection collection;
+  private boolean invoking;
 
   // Constructors ---------------------------------------------------------------------------------------- Constructors
 
@@ -59,22 +60,68 @@ public class CollectionProxyHandler implements MethodHandler {
 
   @Override
   public Object invoke(Object self, Method overridden, Method forwarder, Object[] args) throws Throwable {
+    // Calls made while another is under way, such as by the managed collection or by the collection on itself, only see
+    // the entities fetched so far
+    boolean nested = invoking;
+    invoking = true;
     try {
       if (forwarder == null) {
         return overridden.invoke(managedCollection, args);
       }
 
-      return overridden.invoke(collection, args);
+      // The proxy is itself the collection so the call continues to the overridden implementation
+      if (nested || managedCollection.isFullyFetched()) {
+        return forwarder.invoke(self, args);
+      }
+      return invokePaged(self, overridden, forwarder, args);
     }
     catch (InvocationTargetException e) {
       throw e.getTargetException();
     }
+    finally {
+      invoking = nested;
+    }
   }
 
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
 
+  private Object invokePaged(Object self, Method overridden, Method forwarder, Object[] args) throws Throwable {
+    String methodName = overridden.getName();
+
+    // Iteration fetches the remaining pages as it reaches them and added entities are appended to those fetched so far
+    if ("iterator".equals(methodName) && args.length == 0) {
+      return new PagedCollectionIterator(collection);
+    }
+    if ("add".equals(methodName) && args.length == 1) {
+      return forwarder.invoke(self, args);
+    }
+
+    // Only as many pages as it takes to find an entity are fetched
+    if ("isEmpty".equals(methodName) && args.length == 0) {
+      while (collection.isEmpty() && !managedCollection.isFullyFetched()) {
+        managedCollection.fetchNextPage();
+      }
+      return collection.isEmpty();
+    }
+
+    // An entity is looked for among those fetched so far before the rest are fetched
+    boolean entityArgument = args.length == 1 && Object.class.equals(overridden.getParameterTypes()[0]);
+    if (entityArgument && ("contains".equals(methodName) || "remove".equals(methodName))) {
+      if ((Boolean) forwarder.invoke(self, args)) {
+        return true;
+      }
+    }
+
+    // Any other call depends on the whole collection so the remaining pages are fetched first
+    LOG.debug("Fetching remaining pages of collection for {}", methodName);
+    while (!managedCollection.isFullyFetched()) {
+      managedCollection.fetchNextPage();
+    }
+    return forwarder.invoke(self, args);
+  }
+
   // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
 
 } // end of class
\ No newline at end of file
@@ -0,0 +1,100 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core.proxies.collections;
+
+import org.atreus.impl.core.entities.ManagedCollection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterates a managed collection still being fetched, fetching each of its remaining pages once the entities before it
+ * have been iterated.
+ *
+ * @author Martin Crawford
+ */
+public class PagedCollectionIterator implements Iterator<Object> {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(PagedCollectionIterator.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final Collection collection;
+  private Iterator entities;
+  private Object lastEntity;
+  private boolean removable;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  @SuppressWarnings("unchecked")
+  public PagedCollectionIterator(Collection collection) {
+    this.collection = collection;
+
+    // The entities fetched so far are iterated from a copy as the collection grows with each page fetched
+    this.entities = new ArrayList(collection).iterator();
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  @Override
+  public boolean hasNext() {
+    ManagedCollection managedCollection = (ManagedCollection) collection;
+    while (!entities.hasNext() && !managedCollection.isFullyFetched()) {
+      entities = managedCollection.fetchNextPage().iterator();
+    }
+    return entities.hasNext();
+  }
+
+  @Override
+  public Object next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    lastEntity = entities.next();
+    removable = true;
+    return lastEntity;
+  }
+
+  @Override
+  public void remove() {
+    if (!removable) {
+      throw new IllegalStateException("Entity already removed or iteration not started");
+    }
+    collection.remove(lastEntity);
+    removable = false;
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class
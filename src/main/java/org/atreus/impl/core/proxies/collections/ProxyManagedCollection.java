@@ -23,12 +23,12 @@
  */
 package org.atreus.impl.core.proxies.collections;
 
+import org.atreus.core.ext.AtreusManagedEntity;
 import org.atreus.impl.core.entities.ManagedCollection;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.*;
 
 /**
  * Proxied Managed Collection.
@@ -44,7 +44,8 @@ public class ProxyManagedCollection implements ManagedCollection {
   // Instance Variables ---------------------------------------------------------------------------- Instance Variables
 
   private final Collection collection;
-  private Collection memento = new ArrayList();
+  private Set<Object> memento = newIdentitySet();
+  private Iterator<? extends Collection> pages;
 
   // Constructors ---------------------------------------------------------------------------------------- Constructors
 
@@ -57,9 +58,10 @@ public class ProxyManagedCollection implements ManagedCollection {
   @Override
   @SuppressWarnings("unchecked")
   public Collection getAddedEntities() {
+    Set<Object> replacedEntities = unmatched(memento, identitiesOf(collection));
     Collection result = new ArrayList();
     for (Object entity : collection) {
-      if (!memento.contains(entity)) {
+      if (!isRetained(entity, replacedEntities)) {
         result.add(entity);
       }
     }
@@ -69,11 +71,18 @@ public class ProxyManagedCollection implements ManagedCollection {
   @Override
   @SuppressWarnings("unchecked")
   public Collection getUpdatedEntities() {
+    Set<Object> replacedEntities = unmatched(memento, identitiesOf(collection));
     Collection result = new ArrayList();
     for (Object entity : collection) {
-      if (memento.contains(entity)) {
-        result.add(entity);
+      if (!isRetained(entity, replacedEntities)) {
+        continue;
+      }
+
+      // Children known to be unchanged are skipped without being visited by the update
+      if (entity instanceof AtreusManagedEntity && !((AtreusManagedEntity) entity).isDirty()) {
+        continue;
       }
+      result.add(entity);
     }
     return result;
   }
@@ -81,34 +90,102 @@ public class ProxyManagedCollection implements ManagedCollection {
   @Override
   @SuppressWarnings("unchecked")
   public Collection getRemovedEntities() {
+    Set<Object> identities = identitiesOf(collection);
+    Set<Object> replacingEntities = unmatched(collection, memento);
     Collection result = new ArrayList();
     for (Object entity : memento) {
-      if (!collection.contains(entity)) {
+      if (!identities.contains(entity) && !replacingEntities.contains(entity)) {
         result.add(entity);
       }
     }
     return result;
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public Collection getFetchedEntities() {
+    return new ArrayList(collection);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Collection fetchNextPage() {
+    if (isFullyFetched()) {
+      return Collections.emptyList();
+    }
+    Collection page = pages.next();
+
+    // Fetched entities extend the snapshot so that only what is changed among them is detected, an entity equal to one
+    // already added is kept in the snapshot as the one it replaces
+    memento.addAll(page);
+    Collection result = new ArrayList();
+    for (Object entity : page) {
+      if (collection.add(entity)) {
+        result.add(entity);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public boolean isFullyFetched() {
+    if (pages != null && !pages.hasNext()) {
+      pages = null;
+    }
+    return pages == null;
+  }
+
   @Override
   @SuppressWarnings("unchecked")
   public void snapshot() {
-    memento.clear();
-    memento.addAll(collection);
+    memento = identitiesOf(collection);
   }
 
   @Override
   @SuppressWarnings("unchecked")
   public void snapshot(Collection collection) {
-    this.collection.isEmpty();
+    this.pages = null;
+    this.collection.clear();
     this.collection.addAll(collection);
     snapshot();
   }
 
+  @Override
+  public void snapshot(Iterator<? extends Collection> pages) {
+    snapshot(Collections.emptyList());
+    this.pages = pages;
+  }
+
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
 
+  private Set<Object> identitiesOf(Collection<?> entities) {
+    Set<Object> results = newIdentitySet();
+    results.addAll(entities);
+    return results;
+  }
+
+  private boolean isRetained(Object entity, Set<Object> replacedEntities) {
+    // Matched by identity first, an equal instance replacing one from the snapshot is also considered retained
+    return memento.contains(entity) || replacedEntities.contains(entity);
+  }
+
+  private Set<Object> newIdentitySet() {
+    return Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+  }
+
+  private Set<Object> unmatched(Collection<?> entities, Set<Object> identities) {
+    // Entities without an identical counterpart, hashed by equality as these are expected to be few
+    Set<Object> results = new HashSet<>();
+    for (Object entity : entities) {
+      if (!identities.contains(entity)) {
+        results.add(entity);
+      }
+    }
+    return results;
+  }
+
   // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
 
 } // end of class
\ No newline at end of file
@@ -23,22 +23,19 @@
  */
 package org.atreus.impl.core.proxies.entities;
 
-import javassist.util.proxy.MethodHandler;
 import org.atreus.core.ext.meta.AtreusMetaField;
 import org.atreus.impl.core.entities.ManagedEntityImpl;
-import org.atreus.impl.util.BeanUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-
 /**
- * Implements a Method Handler for a proxied managed entity.
+ * Holds the state of a proxied managed entity for its generated proxy class. The generated accessors of the proxy
+ * check the fetch state of their field through the handler and then call the target entity directly, where the
+ * entity is null when the proxy is itself the entity.
  *
  * @author Martin Crawford
  */
-class EntityProxyHandler implements MethodHandler {
+public class EntityProxyHandler {
 
   // Constants ---------------------------------------------------------------------------------------------- Constants
 
@@ -48,45 +45,52 @@ class EntityProxyHandler implements MethodHandler {
 
   private final Object entity;
   private final ManagedEntityImpl managedEntity;
+  private final AtreusMetaField[] metaFields;
 
   // Constructors ---------------------------------------------------------------------------------------- Constructors
 
-  public EntityProxyHandler(ManagedEntityImpl managedEntity, Object entity) {
+  public EntityProxyHandler(ManagedEntityImpl managedEntity, Object entity, AtreusMetaField[] metaFields) {
     this.entity = entity;
     this.managedEntity = managedEntity;
+    this.metaFields = metaFields;
   }
 
   // Public Methods ------------------------------------------------------------------------------------ Public Methods
 
-  @Override
-  public Object invoke(Object self, Method overridden, Method forwarder, Object[] args) throws Throwable {
-    // TODO Handle of getClass and potential other Java special methods
-    try {
-      if (forwarder == null) {
-        return overridden.invoke(managedEntity, args);
-      }
-      fetchIfNecessary(overridden);
-      return overridden.invoke(entity, args);
+  public void fetchIfNecessary(int property) {
+    AtreusMetaField metaField = metaFields[property];
+    if (metaField != null && !managedEntity.isFetched(metaField)) {
+      managedEntity.fetchField(metaField);
     }
-    catch (InvocationTargetException e) {
-      throw e.getTargetException();
+  }
+
+  public void markDirty(int property) {
+    AtreusMetaField metaField = metaFields[property];
+    if (metaField != null) {
+      managedEntity.markDirty(metaField);
+      return;
     }
+
+    // A setter of a property that is not a field may write any field, as other methods may
+    managedEntity.markFetchedDirty();
+  }
+
+  public void markFetchedDirty() {
+    managedEntity.markFetchedDirty();
   }
 
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
 
-  private void fetchIfNecessary(Method method) {
-    String field = BeanUtils.getField(entity.getClass(), method);
-    if (field != null) {
-      AtreusMetaField metaField = managedEntity.getMetaEntity().getFieldByName(field);
-      if (metaField != null && !managedEntity.isFetched(metaField)) {
-        managedEntity.fetchField(metaField);
-      }
-    }
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+  public Object getEntity() {
+    return entity;
   }
 
-  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+  public ManagedEntityImpl getManagedEntity() {
+    return managedEntity;
+  }
 
-} // end of class
\ No newline at end of file
+} // end of class
@@ -23,24 +23,28 @@
  */
 package org.atreus.impl.core.proxies.entities;
 
-import javassist.util.proxy.MethodFilter;
-import javassist.util.proxy.MethodHandler;
-import javassist.util.proxy.Proxy;
-import javassist.util.proxy.ProxyFactory;
+import javassist.*;
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.Descriptor;
 import org.atreus.core.ext.AtreusManagedEntity;
 import org.atreus.core.ext.AtreusSessionExt;
 import org.atreus.core.ext.meta.AtreusMetaEntity;
+import org.atreus.core.ext.meta.AtreusMetaField;
 import org.atreus.impl.core.entities.EntityAccessor;
 import org.atreus.impl.core.entities.ManagedCollection;
 import org.atreus.impl.core.entities.ManagedEntityImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.lang.reflect.Method;
+import java.beans.Introspector;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * Entity Proxy Manager.
+ * Entity Proxy Manager. Proxy classes are generated for each entity type overriding its methods to call the proxied
+ * entity directly, with the accessors of a property first checking inline whether its field needs to be fetched.
  *
  * @author Martin Crawford
  */
@@ -50,18 +54,21 @@ public class EntityProxyManager {
 
   private static final transient Logger LOG = LoggerFactory.getLogger(EntityProxyManager.class);
 
-  private static final MethodFilter FINALIZE_FILTER = new MethodFilter() {
-    public boolean isHandled(Method m) {
-      if (m.getParameterTypes().length == 0 && m.getName().equals("finalize")) {
-        return false;
-      }
-      return true;
-    }
-  };
+  private static final String PROXY_CLASS_SUFFIX = "$$AtreusProxy$";
+
+  private static final String HANDLER_FIELD = "$atreusHandler";
+
+  private static final ClassPool CLASS_POOL = new ClassPool(true);
+
+  private static final Set<ClassLoader> CLASS_POOL_LOADERS = new HashSet<>();
+
+  private static final AtomicInteger PROXY_CLASS_COUNTER = new AtomicInteger();
 
   // Instance Variables ---------------------------------------------------------------------------- Instance Variables
 
   private Map<Class<?>, Class<AtreusManagedEntity>> entityProxyClasses = new HashMap<>();
+  private Map<Class<?>, String[]> entityProxyProperties = new HashMap<>();
+  private ConcurrentMap<Class<?>, AtreusMetaField[]> entityProxyMetaFields = new ConcurrentHashMap<>();
   private Map<Class<?>, Class<ManagedCollection>> collectionProxyClasses = new HashMap<>();
 
   // Constructors ---------------------------------------------------------------------------------------- Constructors
@@ -70,51 +77,186 @@ public class EntityProxyManager {
 
   @SuppressWarnings("unchecked")
   public void defineEntityProxy(Class<?> entityType) {
-    ProxyFactory proxyFactory = new ProxyFactory();
-    proxyFactory.setSuperclass(entityType);
-    proxyFactory.setInterfaces(new Class[]{AtreusManagedEntity.class, EntityAccessor.class});
-    proxyFactory.setFilter(FINALIZE_FILTER);
-    Class<AtreusManagedEntity> proxyClass = proxyFactory.createClass();
-    entityProxyClasses.put(entityType, proxyClass);
+    List<String> properties = new ArrayList<>();
+    try {
+      Class<AtreusManagedEntity> proxyClass = (Class<AtreusManagedEntity>) generateProxyClass(entityType, properties);
+      entityProxyClasses.put(entityType, proxyClass);
+      entityProxyProperties.put(entityType, properties.toArray(new String[properties.size()]));
+    }
+    catch (CannotCompileException | NotFoundException e) {
+      throw new RuntimeException("Proxy class could not be generated for " + entityType, e);
+    }
   }
 
   public AtreusManagedEntity wrapEntity(AtreusSessionExt session, AtreusMetaEntity metaEntity, Object entity) {
-    Class<AtreusManagedEntity> proxyClass = entityProxyClasses.get(metaEntity.getEntityType());
-    if (proxyClass == null) {
-      throw new RuntimeException("No proxy class available for " + metaEntity.getEntityType());
+    AtreusManagedEntity managedEntityProxy = newProxyInstance(metaEntity);
+    ManagedEntityImpl managedEntityImpl = new ManagedEntityImpl(session, metaEntity, entity);
+    ((EntityProxy) managedEntityProxy).setEntityProxyHandler(new EntityProxyHandler(managedEntityImpl, entity, resolveMetaFields(metaEntity)));
+    return managedEntityProxy;
+  }
+
+  public AtreusManagedEntity createEntity(AtreusSessionExt session, AtreusMetaEntity metaEntity) {
+    AtreusManagedEntity managedEntityProxy = newProxyInstance(metaEntity);
+    ManagedEntityImpl managedEntityImpl = new ManagedEntityImpl(session, metaEntity, managedEntityProxy);
+    ((EntityProxy) managedEntityProxy).setEntityProxyHandler(new EntityProxyHandler(managedEntityImpl, null, resolveMetaFields(metaEntity)));
+    return managedEntityProxy;
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  private static synchronized Class<?> generateProxyClass(Class<?> entityType, List<String> properties) throws CannotCompileException, NotFoundException {
+    ClassLoader classLoader = entityType.getClassLoader();
+    if (CLASS_POOL_LOADERS.add(classLoader)) {
+      CLASS_POOL.appendClassPath(new LoaderClassPath(classLoader));
     }
-    try {
-      AtreusManagedEntity managedEntityProxy = proxyClass.newInstance();
-      ManagedEntityImpl managedEntityImpl = new ManagedEntityImpl(session, metaEntity, entity);
-      MethodHandler proxyHandler = new EntityProxyHandler(managedEntityImpl, entity);
-      ((Proxy) managedEntityProxy).setHandler(proxyHandler);
-      return managedEntityProxy;
+
+    // The proxy is defined in the package and class loader of the entity so that it may override its package methods
+    String entityTypeName = entityType.getName();
+    CtClass entityCtClass = CLASS_POOL.get(entityTypeName);
+    CtClass proxyCtClass = CLASS_POOL.makeClass(entityTypeName + PROXY_CLASS_SUFFIX + PROXY_CLASS_COUNTER.incrementAndGet(), entityCtClass);
+    CtClass handlerCtClass = CLASS_POOL.get(EntityProxyHandler.class.getName());
+    proxyCtClass.addField(new CtField(handlerCtClass, HANDLER_FIELD, proxyCtClass));
+    proxyCtClass.addConstructor(CtNewConstructor.defaultConstructor(proxyCtClass));
+    proxyCtClass.addMethod(CtNewMethod.getter("getEntityProxyHandler", proxyCtClass.getField(HANDLER_FIELD)));
+    proxyCtClass.addMethod(CtNewMethod.setter("setEntityProxyHandler", proxyCtClass.getField(HANDLER_FIELD)));
+
+    // Interface methods are delegated to the managed entity
+    Set<String> signatures = new HashSet<>();
+    signatures.add("getEntityProxyHandler()" + Descriptor.of(handlerCtClass));
+    signatures.add("setEntityProxyHandler(" + Descriptor.of(handlerCtClass) + ")V");
+    for (Class<?> interfaceType : new Class[]{EntityProxy.class, AtreusManagedEntity.class, EntityAccessor.class}) {
+      CtClass interfaceCtClass = CLASS_POOL.get(interfaceType.getName());
+      proxyCtClass.addInterface(interfaceCtClass);
+      if (interfaceType == EntityProxy.class) {
+        continue;
+      }
+      for (CtMethod ctMethod : interfaceCtClass.getDeclaredMethods()) {
+        String invocation = HANDLER_FIELD + ".getManagedEntity()." + ctMethod.getName() + "($$)";
+        addMethod(proxyCtClass, ctMethod, "{ " + returnStatement(ctMethod, invocation) + " }");
+        signatures.add(ctMethod.getName() + ctMethod.getSignature());
+      }
     }
-    catch (InstantiationException | IllegalAccessException e) {
-      throw new RuntimeException("Proxy class could not be created for " + metaEntity.getEntityType());
+
+    // Entity methods are forwarded to the proxied entity, or to the super class when the proxy is the entity
+    String entityPackage = entityCtClass.getPackageName();
+    for (CtClass ctClass = entityCtClass; ctClass != null; ctClass = ctClass.getSuperclass()) {
+      boolean objectClass = Object.class.getName().equals(ctClass.getName());
+      boolean samePackage = entityPackage == null ? ctClass.getPackageName() == null : entityPackage.equals(ctClass.getPackageName());
+      for (CtMethod ctMethod : ctClass.getDeclaredMethods()) {
+        int modifiers = ctMethod.getModifiers();
+        if (!signatures.add(ctMethod.getName() + ctMethod.getSignature()) || Modifier.isStatic(modifiers) ||
+            Modifier.isFinal(modifiers) || Modifier.isPrivate(modifiers) || Modifier.isAbstract(modifiers) ||
+            (ctMethod.getMethodInfo().getAccessFlags() & (AccessFlag.BRIDGE | AccessFlag.SYNTHETIC)) != 0) {
+          continue;
+        }
+        if (objectClass && !ctMethod.getName().equals("equals") && !ctMethod.getName().equals("hashCode") && !ctMethod.getName().equals("toString")) {
+          continue;
+        }
+        if (!Modifier.isPublic(modifiers) && !samePackage) {
+          continue;
+        }
+        addMethod(proxyCtClass, ctMethod, generateForwarder(entityTypeName, ctMethod, properties));
+      }
     }
+
+    Class<?> proxyClass = proxyCtClass.toClass(classLoader, entityType.getProtectionDomain());
+    proxyCtClass.detach();
+    LOG.debug("Generated entity proxy {}", proxyClass.getName());
+    return proxyClass;
   }
 
-  public AtreusManagedEntity createEntity(AtreusSessionExt session, AtreusMetaEntity metaEntity) {
+  private static void addMethod(CtClass proxyCtClass, CtMethod ctMethod, String body) throws CannotCompileException, NotFoundException {
+    int modifiers = Modifier.isPublic(ctMethod.getModifiers()) ? Modifier.PUBLIC : ctMethod.getModifiers() & Modifier.PROTECTED;
+    proxyCtClass.addMethod(CtNewMethod.make(modifiers, ctMethod.getReturnType(), ctMethod.getName(), ctMethod.getParameterTypes(),
+        ctMethod.getExceptionTypes(), body, proxyCtClass));
+  }
+
+  private static String generateForwarder(String entityTypeName, CtMethod ctMethod, List<String> properties) throws NotFoundException {
+    String superInvocation = "super." + ctMethod.getName() + "($$)";
+    StringBuilder body = new StringBuilder("{ ");
+
+    // A proxy still under construction has no handler yet
+    body.append("if (").append(HANDLER_FIELD).append(" == null) { ").append(returnStatement(ctMethod, superInvocation)).append(" } ");
+    String property = toProperty(ctMethod);
+    if (property != null) {
+      body.append(HANDLER_FIELD).append(".fetchIfNecessary(").append(properties.size()).append("); ");
+      if (ctMethod.getParameterTypes().length == 1) {
+        body.append(HANDLER_FIELD).append(".markDirty(").append(properties.size()).append("); ");
+      }
+      properties.add(property);
+    }
+    else if (!isReadOnly(ctMethod)) {
+      // Any other method may change the entity in ways that cannot be attributed to a field
+      body.append(HANDLER_FIELD).append(".markFetchedDirty(); ");
+    }
+    body.append("Object target = ").append(HANDLER_FIELD).append(".getEntity(); ");
+    body.append("if (target == null) { ").append(returnStatement(ctMethod, superInvocation)).append(" } ");
+    body.append(returnStatement(ctMethod, "((" + entityTypeName + ") target)." + ctMethod.getName() + "($$)"));
+    return body.append(" }").toString();
+  }
+
+  private static boolean isReadOnly(CtMethod ctMethod) throws NotFoundException {
+    String name = ctMethod.getName();
+    int parameterCount = ctMethod.getParameterTypes().length;
+    return (name.equals("equals") && parameterCount == 1) || (name.equals("hashCode") && parameterCount == 0) ||
+        (name.equals("toString") && parameterCount == 0);
+  }
+
+  private static String returnStatement(CtMethod ctMethod, String invocation) throws NotFoundException {
+    if (CtClass.voidType.equals(ctMethod.getReturnType())) {
+      return invocation + "; return;";
+    }
+    return "return " + invocation + ";";
+  }
+
+  private static String toProperty(CtMethod ctMethod) throws NotFoundException {
+    // Follows the java bean naming of the read and write methods of a property
+    String name = ctMethod.getName();
+    int parameterCount = ctMethod.getParameterTypes().length;
+    CtClass returnType = ctMethod.getReturnType();
+    if (name.length() > 3 && name.startsWith("get") && parameterCount == 0 && !CtClass.voidType.equals(returnType)) {
+      return Introspector.decapitalize(name.substring(3));
+    }
+    if (name.length() > 2 && name.startsWith("is") && parameterCount == 0 && CtClass.booleanType.equals(returnType)) {
+      return Introspector.decapitalize(name.substring(2));
+    }
+    if (name.length() > 3 && name.startsWith("set") && parameterCount == 1) {
+      return Introspector.decapitalize(name.substring(3));
+    }
+    return null;
+  }
+
+  private AtreusManagedEntity newProxyInstance(AtreusMetaEntity metaEntity) {
     Class<AtreusManagedEntity> proxyClass = entityProxyClasses.get(metaEntity.getEntityType());
     if (proxyClass == null) {
       throw new RuntimeException("No proxy class available for " + metaEntity.getEntityType());
     }
     try {
-      AtreusManagedEntity managedEntityProxy = proxyClass.newInstance();
-      ManagedEntityImpl managedEntityImpl = new ManagedEntityImpl(session, metaEntity, managedEntityProxy);
-      MethodHandler proxyHandler = new EntityProxyHandler(managedEntityImpl, managedEntityProxy);
-      ((Proxy) managedEntityProxy).setHandler(proxyHandler);
-      return managedEntityProxy;
+      return proxyClass.newInstance();
     }
     catch (InstantiationException | IllegalAccessException e) {
       throw new RuntimeException("Proxy class could not be created for " + metaEntity.getEntityType());
     }
   }
 
-  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+  private AtreusMetaField[] resolveMetaFields(AtreusMetaEntity metaEntity) {
+    Class<?> entityType = metaEntity.getEntityType();
+    AtreusMetaField[] metaFields = entityProxyMetaFields.get(entityType);
+    if (metaFields != null) {
+      return metaFields;
+    }
 
-  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+    // Resolved on first use as the fields of the entity are only complete once mapping has finished
+    String[] properties = entityProxyProperties.get(entityType);
+    metaFields = new AtreusMetaField[properties.length];
+    for (int i = 0; i < properties.length; i++) {
+      metaFields[i] = metaEntity.getFieldByName(properties[i]);
+    }
+    entityProxyMetaFields.putIfAbsent(entityType, metaFields);
+    return metaFields;
+  }
 
   private Class<? extends Collection> resolveCollectionClass(Class<? extends Collection> collectionType) {
     if (!collectionType.isInterface()) {
@@ -0,0 +1,203 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core.queries;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.Statement;
+import org.atreus.impl.util.CompositeMapKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Helper class to split batches of CQL statements.
+ *
+ * @author Martin Crawford
+ */
+public class BatchHelper {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(BatchHelper.class);
+
+  private static final int VALUE_OVERHEAD = 4;
+
+  private static final int DEFAULT_VALUE_SIZE = 8;
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  /**
+   * Estimates the number of bytes a statement adds to a batch. Bound statements are measured by the values recorded
+   * as they were bound and regular statements by their query string.
+   */
+  public static long estimateSize(Statement statement) {
+    if (statement instanceof BatchStatement) {
+      long size = 0;
+      for (Statement batchedStatement : ((BatchStatement) statement).getStatements()) {
+        size += estimateSize(batchedStatement);
+      }
+      return size;
+    }
+    if (statement instanceof BoundStatement) {
+      return estimateBoundSize((BoundStatement) statement);
+    }
+    if (statement instanceof RegularStatement) {
+      return ((RegularStatement) statement).getQueryString().length();
+    }
+    return 0;
+  }
+
+  /**
+   * Estimates the number of bytes a value takes once serialized, without serializing it.
+   */
+  public static long estimateValueSize(Object value) {
+    if (value == null) {
+      return 0;
+    }
+    if (value instanceof String) {
+      return ((String) value).length();
+    }
+    if (value instanceof ByteBuffer) {
+      return ((ByteBuffer) value).remaining();
+    }
+    if (value instanceof byte[]) {
+      return ((byte[]) value).length;
+    }
+    if (value instanceof Collection) {
+      long size = VALUE_OVERHEAD;
+      for (Object element : (Collection<?>) value) {
+        size += VALUE_OVERHEAD + estimateValueSize(element);
+      }
+      return size;
+    }
+    if (value instanceof Map) {
+      long size = VALUE_OVERHEAD;
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        size += 2 * VALUE_OVERHEAD + estimateValueSize(entry.getKey()) + estimateValueSize(entry.getValue());
+      }
+      return size;
+    }
+    if (value instanceof Boolean || value instanceof Byte) {
+      return 1;
+    }
+    if (value instanceof Short || value instanceof Integer || value instanceof Float) {
+      return 4;
+    }
+    if (value instanceof BigInteger) {
+      return ((BigInteger) value).bitLength() / 8 + 1;
+    }
+    if (value instanceof BigDecimal) {
+      return estimateValueSize(((BigDecimal) value).unscaledValue()) + 4;
+    }
+    if (value instanceof UUID) {
+      return 16;
+    }
+    if (value instanceof InetAddress) {
+      return ((InetAddress) value).getAddress().length;
+    }
+    if (value instanceof Enum) {
+      return ((Enum<?>) value).name().length();
+    }
+    return DEFAULT_VALUE_SIZE;
+  }
+
+  /**
+   * Splits a batch into one statement per partition, grouping statements that share a partition into an unlogged
+   * batch. Statements without a known routing key are kept together in a single logged batch.
+   */
+  public static List<Statement> partitionBatch(BatchStatement batchStatement) {
+    List<Statement> statements = new ArrayList<>();
+    List<Statement> unroutedStatements = new ArrayList<>();
+    Map<CompositeMapKey, List<Statement>> partitionStatements = new LinkedHashMap<>();
+    for (Statement statement : batchStatement.getStatements()) {
+      ByteBuffer routingKey = statement.getRoutingKey();
+      if (routingKey == null) {
+        unroutedStatements.add(statement);
+        continue;
+      }
+      CompositeMapKey partitionKey = new CompositeMapKey(statement.getKeyspace(), routingKey);
+      List<Statement> partition = partitionStatements.get(partitionKey);
+      if (partition == null) {
+        partition = new ArrayList<>();
+        partitionStatements.put(partitionKey, partition);
+      }
+      partition.add(statement);
+    }
+
+    // Statements whose partition is not known may share one with each other, so rather than being sent as concurrent
+    // requests they stay in one logged batch, keeping their order and the atomicity of the original batch
+    if (unroutedStatements.size() == 1) {
+      statements.add(unroutedStatements.get(0));
+    }
+    else if (!unroutedStatements.isEmpty()) {
+      BatchStatement unroutedBatch = new BatchStatement(BatchStatement.Type.LOGGED);
+      unroutedBatch.addAll(unroutedStatements);
+      statements.add(unroutedBatch);
+    }
+
+    for (List<Statement> partition : partitionStatements.values()) {
+      if (partition.size() == 1) {
+        statements.add(partition.get(0));
+        continue;
+      }
+      BatchStatement partitionBatch = new BatchStatement(BatchStatement.Type.UNLOGGED);
+      partitionBatch.addAll(partition);
+      statements.add(partitionBatch);
+    }
+    LOG.trace("Batch of {} statements split into {} partition statements", batchStatement.getStatements().size(), statements.size());
+    return statements;
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  private static long estimateBoundSize(BoundStatement boundStatement) {
+    // Statements not bound by Atreus carry no record of their values and are only measured by their variables
+    long size = boundStatement.preparedStatement().getVariables().size() * VALUE_OVERHEAD;
+    if (boundStatement instanceof SizedBoundStatement) {
+      size += ((SizedBoundStatement) boundStatement).getValueSize();
+    }
+    return size;
+  }
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class
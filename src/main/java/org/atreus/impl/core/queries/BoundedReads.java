@@ -0,0 +1,87 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core.queries;
+
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.atreus.core.ext.AtreusSessionExt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Issues the asynchronous reads of a single operation, capping the reads in flight so that a large number of them is
+ * not dispatched to the driver at once. Issuing a read beyond the cap waits for an earlier read to complete.
+ *
+ * @author Martin Crawford
+ */
+public class BoundedReads {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(BoundedReads.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final Semaphore permits;
+  private final Runnable releasePermit = new Runnable() {
+    @Override
+    public void run() {
+      permits.release();
+    }
+  };
+  private final AtreusSessionExt session;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public BoundedReads(AtreusSessionExt session) {
+    this.session = session;
+    this.permits = new Semaphore(Math.max(1, session.getMaxReadsInFlight()));
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  public ResultSetFuture executeAsync(Statement statement) {
+    permits.acquireUninterruptibly();
+    ResultSetFuture resultSetFuture;
+    try {
+      resultSetFuture = session.executeAsync(statement);
+    }
+    catch (RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+    resultSetFuture.addListener(releasePermit, MoreExecutors.sameThreadExecutor());
+    return resultSetFuture;
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class
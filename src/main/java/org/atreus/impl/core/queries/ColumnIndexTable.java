@@ -0,0 +1,96 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core.queries;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import org.atreus.core.ext.meta.AtreusMetaSimpleField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Positions of a set of fields within the columns of a result, resolved once so that rows are read by index rather
+ * than by looking up every column name. A field whose column is not part of the result has an index of -1. The driver
+ * creates new column definitions for every result, so a table is matched to a result by the names of its columns.
+ *
+ * @author Martin Crawford
+ */
+public class ColumnIndexTable {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(ColumnIndexTable.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final String[] columnNames;
+
+  private volatile ColumnDefinitions columnDefinitions;
+
+  private final int[] indexes;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public ColumnIndexTable(ColumnDefinitions columnDefinitions, AtreusMetaSimpleField[] fields) {
+    this.columnDefinitions = columnDefinitions;
+    this.columnNames = new String[columnDefinitions.size()];
+    for (int i = 0; i < columnNames.length; i++) {
+      columnNames[i] = columnDefinitions.getName(i);
+    }
+    this.indexes = new int[fields.length];
+    for (int i = 0; i < fields.length; i++) {
+      String column = fields[i].getColumn();
+      indexes[i] = columnDefinitions.contains(column) ? columnDefinitions.getIndexOf(column) : -1;
+    }
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  public int getIndex(int field) {
+    return indexes[field];
+  }
+
+  public boolean isFor(ColumnDefinitions columnDefinitions) {
+    // The rows of a result share their column definitions, so only the first row of a result compares the names
+    if (this.columnDefinitions == columnDefinitions) {
+      return true;
+    }
+    if (columnNames.length != columnDefinitions.size()) {
+      return false;
+    }
+    for (int i = 0; i < columnNames.length; i++) {
+      if (!columnNames[i].equals(columnDefinitions.getName(i))) {
+        return false;
+      }
+    }
+    this.columnDefinitions = columnDefinitions;
+    return true;
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class
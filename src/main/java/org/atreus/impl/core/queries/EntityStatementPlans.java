@@ -0,0 +1,341 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core.queries;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import org.atreus.core.AtreusStatementStatistics;
+import org.atreus.core.ext.meta.AtreusMetaAssociation;
+import org.atreus.core.ext.meta.AtreusMetaEntity;
+import org.atreus.core.ext.meta.AtreusMetaSimpleField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.atreus.impl.util.MetaFieldIteratorUtils.iterateMetaSimpleFields;
+
+/**
+ * Statement plans compiled once per entity for the statements issued on every save, fetch and delete.
+ *
+ * @author Martin Crawford
+ */
+public class EntityStatementPlans {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(EntityStatementPlans.class);
+
+  public static final int DEFAULT_MAX_SELECT_VARIANTS = 16;
+
+  public static final int DEFAULT_MAX_UPDATE_VARIANTS = 16;
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final Map<AtreusMetaAssociation, StatementPlan> associationFirstPages = new HashMap<>();
+
+  private final Map<AtreusMetaAssociation, StatementPlan> associationNextPages = new HashMap<>();
+
+  private final Map<AtreusMetaAssociation, StatementPlan> associationSelects = new HashMap<>();
+
+  private final Map<AtreusMetaSimpleField, StatementPlan> collectionAdditions = new HashMap<>();
+
+  private final Map<AtreusMetaSimpleField, StatementPlan> collectionRemovals = new HashMap<>();
+
+  private volatile ColumnIndexTable columnIndexTable;
+
+  private final Map<AtreusMetaSimpleField, Integer> columnOrdinals = new HashMap<>();
+
+  private final AtreusMetaSimpleField[] columns;
+
+  private final BitSet defaultColumns;
+
+  private final List<AtreusMetaSimpleField> defaultFields;
+
+  private final StatementPlan delete;
+
+  private final Map<String, List<AtreusMetaSimpleField>> fetchGroups = new HashMap<>();
+
+  private final StatementPlan insert;
+
+  private final StatementPlan insertWithTtl;
+
+  private final int maxSelectVariants;
+
+  private final AtreusMetaEntity metaEntity;
+
+  private final StatementPlan select;
+
+  private final ConcurrentMap<BitSet, StatementPlan> selectVariants = new ConcurrentHashMap<>();
+
+  private final StatementPlan selectAll;
+
+  private final StatementPlan selectFullRow;
+
+  private final ConcurrentMap<Integer, StatementPlan> selectInBuckets = new ConcurrentHashMap<>();
+
+  private final AtreusStatementStatistics statistics;
+
+  private final UpdatePlanCache update;
+
+  private final UpdatePlanCache updateWithTtl;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public EntityStatementPlans(AtreusMetaEntity metaEntity) {
+    this(metaEntity, DEFAULT_MAX_SELECT_VARIANTS, DEFAULT_MAX_UPDATE_VARIANTS, new AtreusStatementStatistics());
+  }
+
+  public EntityStatementPlans(AtreusMetaEntity metaEntity, int maxSelectVariants, int maxUpdateVariants, AtreusStatementStatistics statistics) {
+    Collection<AtreusMetaSimpleField> primaryKeyFields = iterateMetaSimpleFields(metaEntity.getPrimaryKeyField());
+    Collection<AtreusMetaSimpleField> columnFields = iterateMetaSimpleFields(metaEntity.getFields());
+    List<AtreusMetaSimpleField> allFields = new ArrayList<>(primaryKeyFields);
+    allFields.addAll(columnFields);
+
+    // Number the columns so that the updated fields of an entity can be keyed as a bitset
+    this.columns = columnFields.toArray(new AtreusMetaSimpleField[columnFields.size()]);
+    for (int i = 0; i < columns.length; i++) {
+      columnOrdinals.put(columns[i], i);
+    }
+
+    // Lazy columns are left out of the default fetch and are fetched with the rest of their group on first access
+    List<AtreusMetaSimpleField> eagerFields = new ArrayList<>();
+    this.defaultColumns = new BitSet(columns.length);
+    for (int i = 0; i < columns.length; i++) {
+      String fetchGroup = columns[i].getFetchGroup();
+      if (fetchGroup == null) {
+        eagerFields.add(columns[i]);
+        defaultColumns.set(i);
+        continue;
+      }
+      List<AtreusMetaSimpleField> groupFields = fetchGroups.get(fetchGroup);
+      if (groupFields == null) {
+        groupFields = new ArrayList<>();
+        fetchGroups.put(fetchGroup, groupFields);
+      }
+      groupFields.add(columns[i]);
+    }
+    this.defaultFields = fetchGroups.isEmpty() ? null : eagerFields;
+
+    // Set, list and map columns can be changed element by element rather than rewritten in full
+    for (AtreusMetaSimpleField column : columns) {
+      Class<?> type = column.getType();
+      if (Set.class.isAssignableFrom(type) || List.class.isAssignableFrom(type)) {
+        collectionAdditions.put(column, new StatementPlan(QueryHelper.updateCollectionDelta(metaEntity, column, true), primaryKeyFields));
+        collectionRemovals.put(column, new StatementPlan(QueryHelper.updateCollectionDelta(metaEntity, column, false), primaryKeyFields));
+      }
+      else if (Map.class.isAssignableFrom(type)) {
+        collectionAdditions.put(column, new StatementPlan(QueryHelper.updateCollectionDelta(metaEntity, column, true), primaryKeyFields));
+        collectionRemovals.put(column, new StatementPlan(QueryHelper.deleteMapKey(metaEntity, column), primaryKeyFields));
+      }
+    }
+
+    // Associations owned by the entity are selected from their outbound table by the key of the owner, which is bound
+    // directly, while a paged association is selected a page at a time after the last associated key
+    for (AtreusMetaAssociation metaAssociation : metaEntity.getAssociations()) {
+      List<AtreusMetaSimpleField> noParameters = new ArrayList<>();
+      associationSelects.put(metaAssociation, new StatementPlan(QueryHelper.selectAssociatedEntities(metaAssociation), noParameters));
+      int fetchSize = metaAssociation.getOwner().getFetchSize();
+      if (fetchSize > 0) {
+        associationFirstPages.put(metaAssociation, new StatementPlan(QueryHelper.selectAssociatedEntities(metaAssociation, fetchSize, false), noParameters));
+        associationNextPages.put(metaAssociation, new StatementPlan(QueryHelper.selectAssociatedEntities(metaAssociation, fetchSize, true), noParameters));
+      }
+    }
+
+    this.delete = new StatementPlan(QueryHelper.deleteEntity(metaEntity), primaryKeyFields);
+    this.insert = new StatementPlan(QueryHelper.insertEntity(metaEntity, false), allFields);
+    this.insertWithTtl = metaEntity.getTtlField() == null ? null : new StatementPlan(QueryHelper.insertEntity(metaEntity, true), allFields);
+    this.maxSelectVariants = maxSelectVariants;
+    this.metaEntity = metaEntity;
+    this.select = new StatementPlan(QueryHelper.selectEntity(metaEntity, defaultFields), primaryKeyFields);
+    this.selectFullRow = defaultFields == null ? select : new StatementPlan(QueryHelper.selectEntity(metaEntity), primaryKeyFields);
+    this.statistics = statistics;
+    this.selectAll = new StatementPlan(QueryHelper.selectAllEntities(metaEntity, defaultFields), new ArrayList<AtreusMetaSimpleField>());
+    this.update = new UpdatePlanCache(metaEntity, columns, primaryKeyFields, false, maxUpdateVariants, statistics);
+    this.updateWithTtl = metaEntity.getTtlField() == null ? null : new UpdatePlanCache(metaEntity, columns, primaryKeyFields, true, maxUpdateVariants, statistics);
+    LOG.debug("Compiled statement plans of {}", metaEntity.getName());
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  public void prepare(QueryManager queryManager) {
+    insert.prepare(queryManager);
+    select.prepare(queryManager);
+    delete.prepare(queryManager);
+    update.prepare(queryManager);
+    if (insertWithTtl != null) {
+      insertWithTtl.prepare(queryManager);
+    }
+    for (StatementPlan statementPlan : associationSelects.values()) {
+      statementPlan.prepare(queryManager);
+    }
+    for (StatementPlan statementPlan : associationFirstPages.values()) {
+      statementPlan.prepare(queryManager);
+    }
+    for (StatementPlan statementPlan : associationNextPages.values()) {
+      statementPlan.prepare(queryManager);
+    }
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+  public StatementPlan getAssociationPage(AtreusMetaAssociation metaAssociation, boolean nextPage) {
+    return nextPage ? associationNextPages.get(metaAssociation) : associationFirstPages.get(metaAssociation);
+  }
+
+  public StatementPlan getAssociationSelect(AtreusMetaAssociation metaAssociation) {
+    return associationSelects.get(metaAssociation);
+  }
+
+  public StatementPlan getCollectionAddition(AtreusMetaSimpleField metaField) {
+    return collectionAdditions.get(metaField);
+  }
+
+  public StatementPlan getCollectionRemoval(AtreusMetaSimpleField metaField) {
+    return collectionRemovals.get(metaField);
+  }
+
+  public ColumnIndexTable getColumnIndexTable(ColumnDefinitions columnDefinitions) {
+    // The table is only rebuilt when a result selects different columns, such as a projection
+    ColumnIndexTable columnIndexTable = this.columnIndexTable;
+    if (columnIndexTable == null || !columnIndexTable.isFor(columnDefinitions)) {
+      columnIndexTable = new ColumnIndexTable(columnDefinitions, columns);
+      this.columnIndexTable = columnIndexTable;
+    }
+    return columnIndexTable;
+  }
+
+  public AtreusMetaSimpleField[] getColumns() {
+    return columns;
+  }
+
+  public List<AtreusMetaSimpleField> getDefaultFields() {
+    return defaultFields;
+  }
+
+  public StatementPlan getDelete() {
+    return delete;
+  }
+
+  public List<AtreusMetaSimpleField> getFetchGroup(String fetchGroup) {
+    return fetchGroups.get(fetchGroup);
+  }
+
+  public StatementPlan getInsert(boolean withTtl) {
+    return withTtl && insertWithTtl != null ? insertWithTtl : insert;
+  }
+
+  public StatementPlan getUpdate(Collection<AtreusMetaSimpleField> updatedFields, boolean withTtl) {
+    UpdatePlanCache updatePlanCache = withTtl && updateWithTtl != null ? updateWithTtl : update;
+    BitSet updatedColumns = new BitSet(columnOrdinals.size());
+    for (AtreusMetaSimpleField metaField : updatedFields) {
+      // Fields not a column of the entity, such as a primary key field, are not written by an update
+      Integer ordinal = columnOrdinals.get(metaField);
+      if (ordinal != null) {
+        updatedColumns.set(ordinal);
+      }
+    }
+    return updatePlanCache.getPlan(updatedColumns);
+  }
+
+  public StatementPlan getSelect() {
+    return select;
+  }
+
+  public StatementPlan getSelect(Collection<AtreusMetaSimpleField> selectedFields) {
+    BitSet selectedColumns = new BitSet(columnOrdinals.size());
+    for (AtreusMetaSimpleField metaField : selectedFields) {
+      Integer ordinal = columnOrdinals.get(metaField);
+      if (ordinal != null) {
+        selectedColumns.set(ordinal);
+      }
+    }
+    if (selectedColumns.equals(defaultColumns)) {
+      return select;
+    }
+
+    StatementPlan statementPlan = selectVariants.get(selectedColumns);
+    if (statementPlan != null) {
+      return statementPlan;
+    }
+
+    // Past the cap every column is selected, the fields not requested are only set where not already fetched
+    synchronized (selectVariants) {
+      statementPlan = selectVariants.get(selectedColumns);
+      if (statementPlan != null) {
+        return statementPlan;
+      }
+      if (selectVariants.size() >= maxSelectVariants) {
+        return selectFullRow;
+      }
+
+      // Variants are compiled in column order so that the same fields requested in any order share a plan
+      List<AtreusMetaSimpleField> parameters = new ArrayList<>(iterateMetaSimpleFields(metaEntity.getPrimaryKeyField()));
+      List<AtreusMetaSimpleField> columnFields = new ArrayList<>(selectedColumns.cardinality());
+      for (int i = selectedColumns.nextSetBit(0); i >= 0; i = selectedColumns.nextSetBit(i + 1)) {
+        columnFields.add(columns[i]);
+      }
+      statementPlan = new StatementPlan(QueryHelper.selectEntity(metaEntity, columnFields), parameters);
+      selectVariants.put(selectedColumns, statementPlan);
+    }
+    LOG.debug("Compiled select variant {} of {}", selectedColumns, metaEntity.getName());
+    return statementPlan;
+  }
+
+  public StatementPlan getSelectAll() {
+    return selectAll;
+  }
+
+  public StatementPlan getSelectIn(int keyCount) {
+    // Key counts are rounded up to a power of two so that only a few IN statements are ever prepared
+    int bucket = keyCount <= 1 ? 1 : Integer.highestOneBit(keyCount - 1) << 1;
+    StatementPlan statementPlan = selectInBuckets.get(bucket);
+    if (statementPlan != null) {
+      return statementPlan;
+    }
+    statementPlan = new StatementPlan(QueryHelper.selectEntities(metaEntity, bucket, defaultFields), new ArrayList<AtreusMetaSimpleField>());
+    StatementPlan existingPlan = selectInBuckets.putIfAbsent(bucket, statementPlan);
+    if (existingPlan != null) {
+      return existingPlan;
+    }
+    LOG.debug("Compiled select of {} primary keys of {}", bucket, metaEntity.getName());
+    return statementPlan;
+  }
+
+  public AtreusStatementStatistics getStatistics() {
+    return statistics;
+  }
+
+} // end of class
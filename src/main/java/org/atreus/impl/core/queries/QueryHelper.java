@@ -23,6 +23,7 @@
  */
 package org.atreus.impl.core.queries;
 
+import com.datastax.driver.core.Metadata;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.querybuilder.Delete;
 import com.datastax.driver.core.querybuilder.Insert;
@@ -32,7 +33,11 @@ import org.atreus.core.ext.meta.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.*;
 import static org.atreus.impl.util.MetaFieldIteratorUtils.iterateMetaSimpleFields;
@@ -77,8 +82,12 @@ public class QueryHelper {
   }
 
   public static RegularStatement selectEntity(AtreusMetaEntity metaEntity) {
+    return selectEntity(metaEntity, null);
+  }
+
+  public static RegularStatement selectEntity(AtreusMetaEntity metaEntity, Collection<AtreusMetaSimpleField> selectedFields) {
     AtreusMetaTable table = metaEntity.getTable();
-    Select select = select().all().from(table.getKeySpace(), table.getName());
+    Select select = selectColumns(metaEntity, selectedFields).from(table.getKeySpace(), table.getName());
     Select.Where where = null;
     for (AtreusMetaSimpleField metaSimpleField : iterateMetaSimpleFields(metaEntity.getPrimaryKeyField())) {
       String columnName = metaSimpleField.getColumn();
@@ -91,7 +100,56 @@ public class QueryHelper {
     return select;
   }
 
+  public static RegularStatement selectAllEntities(AtreusMetaEntity metaEntity) {
+    return selectAllEntities(metaEntity, null);
+  }
+
+  public static RegularStatement selectAllEntities(AtreusMetaEntity metaEntity, Collection<AtreusMetaSimpleField> selectedFields) {
+    AtreusMetaTable table = metaEntity.getTable();
+    return selectColumns(metaEntity, selectedFields).from(table.getKeySpace(), table.getName());
+  }
+
+  public static RegularStatement selectEntities(AtreusMetaEntity metaEntity, int count) {
+    return selectEntities(metaEntity, count, null);
+  }
+
+  public static RegularStatement selectEntities(AtreusMetaEntity metaEntity, int count, Collection<AtreusMetaSimpleField> selectedFields) {
+    AtreusMetaTable table = metaEntity.getTable();
+    AtreusMetaField primaryKeyField = metaEntity.getPrimaryKeyField();
+    if (!(primaryKeyField instanceof AtreusMetaSimpleField)) {
+      throw new RuntimeException("Entities can only be selected by multiple primary keys for a single column primary key " + metaEntity.getEntityType());
+    }
+    String columnName = ((AtreusMetaSimpleField) primaryKeyField).getColumn();
+    Object[] bindMarkers = new Object[count];
+    for (int i = 0; i < count; i++) {
+      bindMarkers[i] = bindMarker(columnName + i);
+    }
+    return selectColumns(metaEntity, selectedFields).from(table.getKeySpace(), table.getName()).where(in(columnName, bindMarkers));
+  }
+
+  public static RegularStatement selectTokenRange(AtreusMetaTable table, List<String> columnNames, List<String> partitionKeyColumnNames) {
+    String[] partitionKeys = partitionKeyColumnNames.toArray(new String[partitionKeyColumnNames.size()]);
+    Object[] tokenParameters = new Object[partitionKeys.length];
+    for (int i = 0; i < partitionKeys.length; i++) {
+      tokenParameters[i] = raw(Metadata.quote(partitionKeys[i]));
+    }
+
+    // Select the columns followed by the partition token, which is always the last column of the row
+    Select.Selection selection = select();
+    for (String columnName : columnNames) {
+      selection.column(columnName);
+    }
+    selection.fcall("token", tokenParameters);
+    return selection.from(table.getKeySpace(), table.getName())
+        .where(gt(token(partitionKeys), bindMarker()))
+        .and(lte(token(partitionKeys), bindMarker()));
+  }
+
   public static RegularStatement selectAssociatedEntities(AtreusMetaAssociation metaAssociation) {
+    return selectAssociatedEntities(metaAssociation, 0, false);
+  }
+
+  public static RegularStatement selectAssociatedEntities(AtreusMetaAssociation metaAssociation, int limit, boolean afterAssociationKey) {
     AtreusMetaTable table = metaAssociation.getOutboundTable();
     Select select = select().all().from(table.getKeySpace(), table.getName());
     Select.Where where = null;
@@ -103,6 +161,15 @@ public class QueryHelper {
       }
       where.and(eq(columnName, bindMarker(columnName)));
     }
+
+    // A page following another starts after the last associated key of the page before it
+    if (afterAssociationKey) {
+      String columnName = ((AtreusMetaSimpleField) metaAssociation.getAssociation().getAssociationKeyField()).getColumn();
+      where.and(gt(columnName, bindMarker(columnName)));
+    }
+    if (limit > 0) {
+      select.limit(limit);
+    }
     return select;
   }
 
@@ -138,6 +205,54 @@ public class QueryHelper {
     return update;
   }
 
+  public static RegularStatement updateCollectionDelta(AtreusMetaEntity metaEntity, AtreusMetaSimpleField collectionField, boolean additions) {
+    AtreusMetaTable table = metaEntity.getTable();
+    Update update = update(table.getKeySpace(), table.getName());
+    Update.Where where = null;
+    for (AtreusMetaSimpleField metaSimpleField : iterateMetaSimpleFields(metaEntity.getPrimaryKeyField())) {
+      String columnName = metaSimpleField.getColumn();
+      if (where == null) {
+        where = update.where(eq(columnName, bindMarker(columnName)));
+        continue;
+      }
+      where.and(eq(columnName, bindMarker(columnName)));
+    }
+    String columnName = collectionField.getColumn();
+    Class<?> type = collectionField.getType();
+    if (Set.class.isAssignableFrom(type)) {
+      update.with(additions ? addAll(columnName, bindMarker(columnName)) : removeAll(columnName, bindMarker(columnName)));
+    }
+    else if (List.class.isAssignableFrom(type)) {
+      update.with(additions ? appendAll(columnName, bindMarker(columnName)) : discardAll(columnName, bindMarker(columnName)));
+    }
+    else if (Map.class.isAssignableFrom(type) && additions) {
+      update.with(putAll(columnName, bindMarker(columnName)));
+    }
+    else {
+      throw new RuntimeException("No collection delta for " + collectionField);
+    }
+    return update;
+  }
+
+  public static RegularStatement deleteMapKey(AtreusMetaEntity metaEntity, AtreusMetaSimpleField mapField) {
+    AtreusMetaTable table = metaEntity.getTable();
+    Delete delete = delete().mapElt(mapField.getColumn(), bindMarker(mapKeyVariable(mapField))).from(table.getKeySpace(), table.getName());
+    Delete.Where where = null;
+    for (AtreusMetaSimpleField metaSimpleField : iterateMetaSimpleFields(metaEntity.getPrimaryKeyField())) {
+      String columnName = metaSimpleField.getColumn();
+      if (where == null) {
+        where = delete.where(eq(columnName, bindMarker(columnName)));
+        continue;
+      }
+      where.and(eq(columnName, bindMarker(columnName)));
+    }
+    return delete;
+  }
+
+  public static String mapKeyVariable(AtreusMetaSimpleField mapField) {
+    return mapField.getColumn() + "_key";
+  }
+
   public static RegularStatement deleteEntity(AtreusMetaEntity metaEntity) {
     AtreusMetaTable table = metaEntity.getTable();
     Delete delete = delete().from(table.getKeySpace(), table.getName());
@@ -173,6 +288,22 @@ public class QueryHelper {
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
 
+  private static Select.Builder selectColumns(AtreusMetaEntity metaEntity, Collection<AtreusMetaSimpleField> selectedFields) {
+    if (selectedFields == null) {
+      return select().all();
+    }
+
+    // The primary key columns are always selected along with those requested
+    List<String> columnNames = new ArrayList<>();
+    for (AtreusMetaSimpleField metaSimpleField : iterateMetaSimpleFields(metaEntity.getPrimaryKeyField())) {
+      columnNames.add(metaSimpleField.getColumn());
+    }
+    for (AtreusMetaSimpleField metaSimpleField : selectedFields) {
+      columnNames.add(metaSimpleField.getColumn());
+    }
+    return select(columnNames.toArray(new String[columnNames.size()]));
+  }
+
   // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
 
 } // end of class
\ No newline at end of file
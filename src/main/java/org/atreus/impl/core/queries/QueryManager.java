@@ -26,15 +26,23 @@ package org.atreus.impl.core.queries;
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.RegularStatement;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 import org.atreus.impl.core.Environment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 
 /**
- * Manages queries and the caching of prepared statements.
+ * Manages queries and the caching of prepared statements. The cache is shared by all sessions, so statements are
+ * prepared asynchronously with concurrent requests for the same CQL waiting on the single prepare in flight.
  *
  * @author Martin Crawford
  */
@@ -48,7 +56,7 @@ public class QueryManager {
 
   private final Environment environment;
 
-  private Map<String, PreparedStatement> preparedStatementMap = new HashMap<>();
+  private final ConcurrentMap<String, ListenableFuture<PreparedStatement>> preparedStatementMap = new ConcurrentHashMap<>();
 
   // Constructors ---------------------------------------------------------------------------------------- Constructors
 
@@ -63,13 +71,49 @@ public class QueryManager {
   }
 
   public BoundStatement generate(String cql) {
-    PreparedStatement preparedStatement = preparedStatementMap.get(cql);
+    try {
+      PreparedStatement preparedStatement = Uninterruptibles.getUninterruptibly(prepareAsync(cql));
+      return new SizedBoundStatement(preparedStatement);
+    }
+    catch (ExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    }
+  }
+
+  public BoundStatement generateUnshared(String cql) {
+    // Prepared without being cached, the statement is only held for as long as its caller holds it
+    LOG.trace("Preparing unshared {}", cql);
+    return new SizedBoundStatement(environment.getCassandraSession().prepare(cql));
+  }
 
-    if (preparedStatement == null) {
-      preparedStatement = environment.getCassandraSession().prepare(cql);
-      preparedStatementMap.put(cql, preparedStatement);
+  public ListenableFuture<PreparedStatement> prepareAsync(final String cql) {
+    ListenableFuture<PreparedStatement> preparedStatementFuture = preparedStatementMap.get(cql);
+    if (preparedStatementFuture != null) {
+      return preparedStatementFuture;
     }
-    return new BoundStatement(preparedStatement);
+
+    // Only the request that registers the future issues the prepare, any others wait on it
+    final SettableFuture<PreparedStatement> settableFuture = SettableFuture.create();
+    preparedStatementFuture = preparedStatementMap.putIfAbsent(cql, settableFuture);
+    if (preparedStatementFuture != null) {
+      return preparedStatementFuture;
+    }
+    LOG.trace("Preparing {}", cql);
+    Futures.addCallback(environment.getCassandraSession().prepareAsync(cql), new FutureCallback<PreparedStatement>() {
+      @Override
+      public void onSuccess(PreparedStatement preparedStatement) {
+        settableFuture.set(preparedStatement);
+      }
+
+      @Override
+      public void onFailure(Throwable t) {
+        // Forget the failed prepare so that a later request can try again
+        LOG.debug("Prepare failed for " + cql, t);
+        preparedStatementMap.remove(cql, settableFuture);
+        settableFuture.setException(t);
+      }
+    });
+    return settableFuture;
   }
 
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
@@ -78,4 +122,8 @@ public class QueryManager {
 
   // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
 
-} // end of class
\ No newline at end of file
+  public int getPreparedStatementCount() {
+    return preparedStatementMap.size();
+  }
+
+} // end of class
@@ -0,0 +1,165 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core.queries;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import org.atreus.core.ext.AtreusManagedEntity;
+import org.atreus.core.ext.AtreusSessionExt;
+import org.atreus.core.ext.meta.AtreusMetaSimpleField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiled statement plan holding the CQL of a statement, the fields bound to its parameters in order and, once
+ * resolved, its prepared statement so that executing the plan skips building and looking up the statement. Resolving
+ * the statement also maps each of its bind variables to a field so that entities are bound by index. A plan that is not
+ * shared prepares its statement apart from the session query cache, so that its prepared statement goes with the plan.
+ *
+ * @author Martin Crawford
+ */
+public class StatementPlan {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(StatementPlan.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final String cql;
+
+  private final AtreusMetaSimpleField[] parameters;
+
+  private volatile PreparedStatement preparedStatement;
+
+  private final boolean shared;
+
+  private volatile AtreusMetaSimpleField[] variableFields;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public StatementPlan(RegularStatement regularStatement, Collection<AtreusMetaSimpleField> parameters) {
+    this(regularStatement, parameters, true);
+  }
+
+  public StatementPlan(RegularStatement regularStatement, Collection<AtreusMetaSimpleField> parameters, boolean shared) {
+    this.cql = regularStatement.getQueryString();
+    this.parameters = parameters.toArray(new AtreusMetaSimpleField[parameters.size()]);
+    this.shared = shared;
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  public void bindEntity(BoundStatement boundStatement, AtreusManagedEntity managedEntity) {
+    AtreusMetaSimpleField[] variableFields = this.variableFields;
+    if (variableFields == null) {
+      for (AtreusMetaSimpleField metaField : parameters) {
+        metaField.bindEntity(boundStatement, managedEntity);
+      }
+      return;
+    }
+    for (int i = 0; i < variableFields.length; i++) {
+      if (variableFields[i] != null) {
+        variableFields[i].bindEntity(boundStatement, i, managedEntity);
+      }
+    }
+  }
+
+  public BoundStatement newBoundStatement(AtreusSessionExt session) {
+    PreparedStatement preparedStatement = this.preparedStatement;
+    if (preparedStatement != null) {
+      return new SizedBoundStatement(preparedStatement);
+    }
+
+    // Resolve the prepared statement through the session once, after which it is bound directly
+    BoundStatement boundStatement = shared ? session.prepareQuery(cql) : session.prepareUnsharedQuery(cql);
+    resolve(boundStatement.preparedStatement());
+    return boundStatement;
+  }
+
+  public void prepare(QueryManager queryManager) {
+    Futures.addCallback(queryManager.prepareAsync(cql), new FutureCallback<PreparedStatement>() {
+      @Override
+      public void onSuccess(PreparedStatement preparedStatement) {
+        resolve(preparedStatement);
+      }
+
+      @Override
+      public void onFailure(Throwable t) {
+        // Left unresolved so the statement is prepared again on first use
+        LOG.warn("Unable to prepare " + cql, t);
+      }
+    });
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  private void resolve(PreparedStatement preparedStatement) {
+    ColumnDefinitions variables = preparedStatement.getVariables();
+
+    // Look up each parameter once by name, then match every variable carrying that name so repeats are bound too
+    Map<String, AtreusMetaSimpleField> fieldsByVariable = new HashMap<>();
+    for (AtreusMetaSimpleField metaField : parameters) {
+      if (variables.contains(metaField.getColumn())) {
+        fieldsByVariable.put(variables.getName(variables.getIndexOf(metaField.getColumn())), metaField);
+      }
+    }
+    AtreusMetaSimpleField[] variableFields = new AtreusMetaSimpleField[variables.size()];
+    for (int i = 0; i < variableFields.length; i++) {
+      variableFields[i] = fieldsByVariable.get(variables.getName(i));
+    }
+
+    this.variableFields = variableFields;
+    this.preparedStatement = preparedStatement;
+  }
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+  public String getCql() {
+    return cql;
+  }
+
+  public AtreusMetaSimpleField[] getParameters() {
+    return parameters;
+  }
+
+  public boolean isPrepared() {
+    return preparedStatement != null;
+  }
+
+  public boolean isShared() {
+    return shared;
+  }
+
+} // end of class
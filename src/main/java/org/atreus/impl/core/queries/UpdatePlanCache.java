@@ -0,0 +1,170 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.core.queries;
+
+import org.atreus.core.AtreusStatementStatistics;
+import org.atreus.core.ext.meta.AtreusMetaEntity;
+import org.atreus.core.ext.meta.AtreusMetaSimpleField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of the update statement plans of an entity keyed by the bitset of the columns being updated. Once the number
+ * of variants reaches its cap, an update of columns not cached is given a plan kept in an overflow of the same size
+ * that drops the least recently used plan. Overflow plans are prepared apart from the session query cache, so that the
+ * prepared statements held stay bounded. A wider plan is never reused as it would write columns not changed.
+ *
+ * @author Martin Crawford
+ */
+public class UpdatePlanCache {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(UpdatePlanCache.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private final AtreusMetaSimpleField[] columns;
+
+  private final StatementPlan fullRowPlan;
+
+  private final int maxVariants;
+
+  private final AtreusMetaEntity metaEntity;
+
+  private final Collection<AtreusMetaSimpleField> primaryKeyFields;
+
+  private final Map<BitSet, StatementPlan> overflow;
+
+  private final AtreusStatementStatistics statistics;
+
+  private final ConcurrentMap<BitSet, StatementPlan> variants = new ConcurrentHashMap<>();
+
+  private final boolean withTtl;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  public UpdatePlanCache(AtreusMetaEntity metaEntity, AtreusMetaSimpleField[] columns, Collection<AtreusMetaSimpleField> primaryKeyFields,
+                         boolean withTtl, int maxVariants, AtreusStatementStatistics statistics) {
+    this.columns = columns;
+    this.maxVariants = maxVariants;
+    this.overflow = Collections.synchronizedMap(new LinkedHashMap<BitSet, StatementPlan>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<BitSet, StatementPlan> eldest) {
+        return size() > UpdatePlanCache.this.maxVariants;
+      }
+    });
+    this.metaEntity = metaEntity;
+    this.primaryKeyFields = primaryKeyFields;
+    this.statistics = statistics;
+    this.withTtl = withTtl;
+    BitSet allColumns = new BitSet(columns.length);
+    allColumns.set(0, columns.length);
+    this.fullRowPlan = compile(allColumns, true);
+  }
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  public StatementPlan getPlan(BitSet updatedColumns) {
+    // The full row plan is only used when every column is written, never in place of the columns missing
+    if (updatedColumns.isEmpty()) {
+      throw new RuntimeException("No columns to update for " + metaEntity.getName());
+    }
+    if (updatedColumns.cardinality() == columns.length) {
+      return fullRowPlan;
+    }
+
+    StatementPlan statementPlan = variants.get(updatedColumns);
+    if (statementPlan != null) {
+      return statementPlan;
+    }
+
+    synchronized (this) {
+      statementPlan = variants.get(updatedColumns);
+      if (statementPlan == null && variants.size() < maxVariants) {
+        BitSet key = (BitSet) updatedColumns.clone();
+        statementPlan = compile(key, true);
+        variants.put(key, statementPlan);
+        statistics.recordUpdateVariant(metaEntity.getEntityType());
+        LOG.debug("Compiled update variant {} of {}", key, metaEntity.getName());
+      }
+    }
+    if (statementPlan != null) {
+      return statementPlan;
+    }
+
+    // Past the cap the exact columns are still updated, so that values changed by other writers are not overwritten
+    statementPlan = overflow.get(updatedColumns);
+    if (statementPlan == null) {
+      BitSet key = (BitSet) updatedColumns.clone();
+      statementPlan = compile(key, false);
+      overflow.put(key, statementPlan);
+      statistics.recordUncachedUpdate();
+    }
+    return statementPlan;
+  }
+
+  public void prepare(QueryManager queryManager) {
+    if (columns.length > 0) {
+      fullRowPlan.prepare(queryManager);
+    }
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  private StatementPlan compile(BitSet updatedColumns, boolean shared) {
+    List<AtreusMetaSimpleField> updatedFields = new ArrayList<>(updatedColumns.cardinality());
+    for (int i = updatedColumns.nextSetBit(0); i >= 0; i = updatedColumns.nextSetBit(i + 1)) {
+      updatedFields.add(columns[i]);
+    }
+
+    // Parameters follow the order of the statement, the updated columns then the primary key
+    List<AtreusMetaSimpleField> parameters = new ArrayList<>(updatedFields);
+    parameters.addAll(primaryKeyFields);
+    return new StatementPlan(QueryHelper.updateEntity(metaEntity, updatedFields, withTtl), parameters, shared);
+  }
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+  public int getOverflowCount() {
+    return overflow.size();
+  }
+
+  public int getVariantCount() {
+    return variants.size();
+  }
+
+} // end of class
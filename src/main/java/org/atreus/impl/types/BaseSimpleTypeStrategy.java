@@ -24,8 +24,11 @@
 package org.atreus.impl.types;
 
 import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
 import com.datastax.driver.core.Row;
-import org.atreus.core.ext.strategies.AtreusTypeStrategy;
+import org.atreus.core.ext.strategies.AtreusIndexedTypeStrategy;
+import org.atreus.impl.core.queries.BatchHelper;
+import org.atreus.impl.core.queries.SizedBoundStatement;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -34,7 +37,7 @@ import org.slf4j.LoggerFactory;
  *
  * @author Martin Crawford
  */
-public abstract class BaseSimpleTypeStrategy<T> implements AtreusTypeStrategy<T> {
+public abstract class BaseSimpleTypeStrategy<T> implements AtreusIndexedTypeStrategy<T> {
 
   // Constants ---------------------------------------------------------------------------------------------- Constants
 
@@ -50,10 +53,15 @@ public abstract class BaseSimpleTypeStrategy<T> implements AtreusTypeStrategy<T>
 
   @Override
   public final T unbindValue(Row row, String colName) {
-    if (row.isNull(colName)) {
+    return unbindValue(row, row.getColumnDefinitions().getIndexOf(colName));
+  }
+
+  @Override
+  public final T unbindValue(Row row, int index) {
+    if (row.isNull(index)) {
       return null;
     }
-    return doGet(row, colName);
+    return doGet(row, index);
   }
 
   @Override
@@ -66,7 +74,26 @@ public abstract class BaseSimpleTypeStrategy<T> implements AtreusTypeStrategy<T>
     if (value == null) {
       return;
     }
-    doSet(boundStatement, colName, value);
+
+    // A named variable may occur more than once in a statement and every occurrence is bound
+    ColumnDefinitions variables = boundStatement.preparedStatement().getVariables();
+    int index = variables.getIndexOf(colName);
+    String variableName = variables.getName(index);
+    for (; index < variables.size(); index++) {
+      if (variableName.equals(variables.getName(index))) {
+        doSet(boundStatement, index, value);
+        recordValueSize(boundStatement, value);
+      }
+    }
+  }
+
+  @Override
+  public final void bindValue(BoundStatement boundStatement, int index, T value) {
+    if (value == null) {
+      return;
+    }
+    doSet(boundStatement, index, value);
+    recordValueSize(boundStatement, value);
   }
 
   @Override
@@ -76,12 +103,19 @@ public abstract class BaseSimpleTypeStrategy<T> implements AtreusTypeStrategy<T>
 
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
-  protected abstract T doGet(Row row, String colName);
+  protected abstract T doGet(Row row, int index);
 
-  protected abstract void doSet(BoundStatement boundStatement, String colName, T value);
+  protected abstract void doSet(BoundStatement boundStatement, int index, T value);
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
 
+  private void recordValueSize(BoundStatement boundStatement, T value) {
+    // Measured as it is bound so that batches can be sized without reading the serialized values back
+    if (boundStatement instanceof SizedBoundStatement) {
+      ((SizedBoundStatement) boundStatement).addValueSize(BatchHelper.estimateValueSize(value));
+    }
+  }
+
   // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
 
 } // end of class
\ No newline at end of file
@@ -58,8 +58,8 @@ public abstract class BaseByteBufferTypeStrategy<T> extends BaseSimpleTypeStrate
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   @Override
-  protected T doGet(Row row, String colName) {
-    ByteBuffer byteBuffer = row.getBytes(colName);
+  protected T doGet(Row row, int index) {
+    ByteBuffer byteBuffer = row.getBytes(index);
     if (byteBuffer == null) {
       return null;
     }
@@ -68,14 +68,14 @@ public abstract class BaseByteBufferTypeStrategy<T> extends BaseSimpleTypeStrate
   }
 
   @Override
-  protected void doSet(BoundStatement boundStatement, String colName, T value) {
+  protected void doSet(BoundStatement boundStatement, int index, T value) {
     if (value == null) {
-      boundStatement.setBytes(colName, null);
+      boundStatement.setBytes(index, null);
       return;
     }
     byte[] bytes = fromValue(value);
     ByteBuffer byteBuffer = ByteBuffer.wrap(bytes);
-    boundStatement.setBytes(colName, byteBuffer);
+    boundStatement.setBytes(index, byteBuffer);
   }
 
   protected abstract T toValue(byte[] bytes);
@@ -58,14 +58,14 @@ public class EnumTypeStrategy extends BaseSimpleTypeStrategy<Enum> {
 
   @Override
   @SuppressWarnings("unchecked")
-  protected Enum doGet(Row row, String colName) {
-    String value = row.getString(colName);
+  protected Enum doGet(Row row, int index) {
+    String value = row.getString(index);
     return Enum.valueOf((Class<Enum>) getValueClass(), value);
   }
 
   @Override
-  protected void doSet(BoundStatement boundStatement, String colName, Enum value) {
-    boundStatement.setString(colName, value.name());
+  protected void doSet(BoundStatement boundStatement, int index, Enum value) {
+    boundStatement.setString(index, value.name());
   }
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
@@ -53,8 +53,8 @@ public class ShortTypeStrategy extends BaseSimpleTypeStrategy<Short> {
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   @Override
-  protected Short doGet(Row row, String colName) {
-    Integer integer = row.getInt(colName);
+  protected Short doGet(Row row, int index) {
+    Integer integer = row.getInt(index);
     if (integer > Short.MAX_VALUE || integer < Short.MIN_VALUE) {
       throw new IllegalArgumentException(integer + " is out of range for short");
     }
@@ -62,8 +62,8 @@ public class ShortTypeStrategy extends BaseSimpleTypeStrategy<Short> {
   }
 
   @Override
-  protected void doSet(BoundStatement boundStatement, String colName, Short value) {
-    boundStatement.setInt(colName, value);
+  protected void doSet(BoundStatement boundStatement, int index, Short value) {
+    boundStatement.setInt(index, value);
   }
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
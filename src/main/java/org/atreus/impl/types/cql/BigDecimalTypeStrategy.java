@@ -55,13 +55,13 @@ public class BigDecimalTypeStrategy extends BaseSimpleTypeStrategy<BigDecimal> {
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   @Override
-  protected BigDecimal doGet(Row row, String colName) {
-    return row.getDecimal(colName);
+  protected BigDecimal doGet(Row row, int index) {
+    return row.getDecimal(index);
   }
 
   @Override
-  protected void doSet(BoundStatement boundStatement, String colName, BigDecimal value) {
-    boundStatement.setDecimal(colName, value);
+  protected void doSet(BoundStatement boundStatement, int index, BigDecimal value) {
+    boundStatement.setDecimal(index, value);
   }
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
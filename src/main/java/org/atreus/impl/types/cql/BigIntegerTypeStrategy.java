@@ -55,13 +55,13 @@ public class BigIntegerTypeStrategy extends BaseSimpleTypeStrategy<BigInteger> {
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   @Override
-  protected BigInteger doGet(Row row, String colName) {
-    return row.getVarint(colName);
+  protected BigInteger doGet(Row row, int index) {
+    return row.getVarint(index);
   }
 
   @Override
-  protected void doSet(BoundStatement boundStatement, String colName, BigInteger value) {
-    boundStatement.setVarint(colName, value);
+  protected void doSet(BoundStatement boundStatement, int index, BigInteger value) {
+    boundStatement.setVarint(index, value);
   }
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
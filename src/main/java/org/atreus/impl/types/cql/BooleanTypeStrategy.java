@@ -53,13 +53,13 @@ public class BooleanTypeStrategy extends BaseSimpleTypeStrategy<Boolean> {
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   @Override
-  protected Boolean doGet(Row row, String colName) {
-    return row.getBool(colName);
+  protected Boolean doGet(Row row, int index) {
+    return row.getBool(index);
   }
 
   @Override
-  protected void doSet(BoundStatement boundStatement, String colName, Boolean value) {
-    boundStatement.setBool(colName, value);
+  protected void doSet(BoundStatement boundStatement, int index, Boolean value) {
+    boundStatement.setBool(index, value);
   }
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
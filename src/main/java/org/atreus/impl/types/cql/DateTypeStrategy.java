@@ -55,13 +55,13 @@ public class DateTypeStrategy extends BaseSimpleTypeStrategy<Date> {
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   @Override
-  protected Date doGet(Row row, String colName) {
-    return row.getDate(colName);
+  protected Date doGet(Row row, int index) {
+    return row.getDate(index);
   }
 
   @Override
-  protected void doSet(BoundStatement boundStatement, String colName, Date value) {
-    boundStatement.setDate(colName, value);
+  protected void doSet(BoundStatement boundStatement, int index, Date value) {
+    boundStatement.setDate(index, value);
   }
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
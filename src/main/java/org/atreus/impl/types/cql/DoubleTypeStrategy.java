@@ -53,13 +53,13 @@ public class DoubleTypeStrategy extends BaseSimpleTypeStrategy<Double> {
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   @Override
-  protected Double doGet(Row row, String colName) {
-    return row.getDouble(colName);
+  protected Double doGet(Row row, int index) {
+    return row.getDouble(index);
   }
 
   @Override
-  protected void doSet(BoundStatement boundStatement, String colName, Double value) {
-    boundStatement.setDouble(colName, value);
+  protected void doSet(BoundStatement boundStatement, int index, Double value) {
+    boundStatement.setDouble(index, value);
   }
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
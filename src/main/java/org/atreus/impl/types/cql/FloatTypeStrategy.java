@@ -53,13 +53,13 @@ public class FloatTypeStrategy extends BaseSimpleTypeStrategy<Float> {
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   @Override
-  protected Float doGet(Row row, String colName) {
-    return row.getFloat(colName);
+  protected Float doGet(Row row, int index) {
+    return row.getFloat(index);
   }
 
   @Override
-  protected void doSet(BoundStatement boundStatement, String colName, Float value) {
-    boundStatement.setFloat(colName, value);
+  protected void doSet(BoundStatement boundStatement, int index, Float value) {
+    boundStatement.setFloat(index, value);
   }
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
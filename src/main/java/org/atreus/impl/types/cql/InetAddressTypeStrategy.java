@@ -55,13 +55,13 @@ public class InetAddressTypeStrategy extends BaseSimpleTypeStrategy<InetAddress>
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   @Override
-  protected InetAddress doGet(Row row, String colName) {
-    return row.getInet(colName);
+  protected InetAddress doGet(Row row, int index) {
+    return row.getInet(index);
   }
 
   @Override
-  protected void doSet(BoundStatement boundStatement, String colName, InetAddress value) {
-    boundStatement.setInet(colName, value);
+  protected void doSet(BoundStatement boundStatement, int index, InetAddress value) {
+    boundStatement.setInet(index, value);
   }
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
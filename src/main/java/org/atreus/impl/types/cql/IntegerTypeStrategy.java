@@ -53,13 +53,13 @@ public class IntegerTypeStrategy extends BaseSimpleTypeStrategy<Integer> {
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   @Override
-  protected Integer doGet(Row row, String colName) {
-    return row.getInt(colName);
+  protected Integer doGet(Row row, int index) {
+    return row.getInt(index);
   }
 
   @Override
-  protected void doSet(BoundStatement boundStatement, String colName, Integer value) {
-    boundStatement.setInt(colName, value);
+  protected void doSet(BoundStatement boundStatement, int index, Integer value) {
+    boundStatement.setInt(index, value);
   }
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
@@ -32,6 +32,7 @@ import org.atreus.impl.types.BaseCollectionTypeStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -60,13 +61,14 @@ public class ListTypeStrategy extends BaseCollectionTypeStrategy<List> implement
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   @Override
-  protected List doGet(Row row, String colName) {
-    return row.getList(colName, getValueDataType().getDefaultClass());
+  protected List doGet(Row row, int index) {
+    // Copied as the driver returns an unmodifiable list and entities may change their lists in place
+    return new ArrayList(row.getList(index, getValueDataType().getDefaultClass()));
   }
 
   @Override
-  protected void doSet(BoundStatement boundStatement, String colName, List value) {
-    boundStatement.setList(colName, value);
+  protected void doSet(BoundStatement boundStatement, int index, List value) {
+    boundStatement.setList(index, value);
   }
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
@@ -53,13 +53,13 @@ public class LongTypeStrategy extends BaseSimpleTypeStrategy<Long> {
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   @Override
-  protected Long doGet(Row row, String colName) {
-    return row.getLong(colName);
+  protected Long doGet(Row row, int index) {
+    return row.getLong(index);
   }
 
   @Override
-  protected void doSet(BoundStatement boundStatement, String colName, Long value) {
-    boundStatement.setLong(colName, value);
+  protected void doSet(BoundStatement boundStatement, int index, Long value) {
+    boundStatement.setLong(index, value);
   }
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
@@ -28,10 +28,12 @@ import com.datastax.driver.core.Row;
 import org.atreus.core.ext.AtreusCQLDataType;
 import org.atreus.core.ext.strategies.AtreusMapTypeStrategy;
 import org.atreus.core.ext.strategies.AtreusType;
+import org.atreus.core.ext.strategies.AtreusTypeStrategy;
 import org.atreus.impl.types.BaseCollectionTypeStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -50,6 +52,8 @@ public class MapTypeStrategy extends BaseCollectionTypeStrategy<Map> implements
 
   private AtreusCQLDataType keyDataType;
 
+  private AtreusTypeStrategy keyTypeStrategy;
+
   // Constructors ---------------------------------------------------------------------------------------- Constructors
 
   // Public Methods ------------------------------------------------------------------------------------ Public Methods
@@ -72,17 +76,26 @@ public class MapTypeStrategy extends BaseCollectionTypeStrategy<Map> implements
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   @Override
-  protected Map doGet(Row row, String colName) {
-    return row.getMap(colName, getKeyDataType().getDefaultClass(), getValueDataType().getDefaultClass());
+  protected Map doGet(Row row, int index) {
+    // Copied as the driver returns an unmodifiable map and entities may change their maps in place
+    return new LinkedHashMap(row.getMap(index, getKeyDataType().getDefaultClass(), getValueDataType().getDefaultClass()));
   }
 
   @Override
-  public void doSet(BoundStatement boundStatement, String colName, Map value) {
-    boundStatement.setMap(colName, value);
+  public void doSet(BoundStatement boundStatement, int index, Map value) {
+    boundStatement.setMap(index, value);
   }
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
 
   // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
 
+  public AtreusTypeStrategy getKeyTypeStrategy() {
+    return keyTypeStrategy;
+  }
+
+  public void setKeyTypeStrategy(AtreusTypeStrategy keyTypeStrategy) {
+    this.keyTypeStrategy = keyTypeStrategy;
+  }
+
 } // end of class
\ No newline at end of file
@@ -32,6 +32,7 @@ import org.atreus.impl.types.BaseCollectionTypeStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -60,13 +61,14 @@ public class SetTypeStrategy extends BaseCollectionTypeStrategy<Set> implements
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   @Override
-  protected Set doGet(Row row, String colName) {
-    return row.getSet(colName, getValueDataType().getDefaultClass());
+  protected Set doGet(Row row, int index) {
+    // Copied as the driver returns an unmodifiable set and entities may change their sets in place
+    return new LinkedHashSet(row.getSet(index, getValueDataType().getDefaultClass()));
   }
 
   @Override
-  public void doSet(BoundStatement boundStatement, String colName, Set value) {
-    boundStatement.setSet(colName, value);
+  public void doSet(BoundStatement boundStatement, int index, Set value) {
+    boundStatement.setSet(index, value);
   }
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
@@ -53,13 +53,13 @@ public class StringTypeStrategy extends BaseSimpleTypeStrategy<String> {
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   @Override
-  protected String doGet(Row row, String colName) {
-    return row.getString(colName);
+  protected String doGet(Row row, int index) {
+    return row.getString(index);
   }
 
   @Override
-  protected void doSet(BoundStatement boundStatement, String colName, String value) {
-    boundStatement.setString(colName, value);
+  protected void doSet(BoundStatement boundStatement, int index, String value) {
+    boundStatement.setString(index, value);
   }
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
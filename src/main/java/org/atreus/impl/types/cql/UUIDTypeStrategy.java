@@ -55,13 +55,13 @@ public class UUIDTypeStrategy extends BaseSimpleTypeStrategy<UUID> {
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   @Override
-  protected UUID doGet(Row row, String colName) {
-    return row.getUUID(colName);
+  protected UUID doGet(Row row, int index) {
+    return row.getUUID(index);
   }
 
   @Override
-  protected void doSet(BoundStatement boundStatement, String colName, UUID value) {
-    boundStatement.setUUID(colName, value);
+  protected void doSet(BoundStatement boundStatement, int index, UUID value) {
+    boundStatement.setUUID(index, value);
   }
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
@@ -53,13 +53,8 @@ public class CompositeMapKey {
 
   @Override
   public int hashCode() {
-    int result = 0;
-    for (Object keyValue : keys) {
-      if (keyValue != null) {
-        result += keyValue.hashCode();
-      }
-    }
-    return result;
+    // Combine positionally so that equal components of different keys do not collide
+    return Arrays.hashCode(keys);
   }
 
   @Override
@@ -0,0 +1,106 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Primary key table for String and any other primary key type, keeping the hash of each key so that probes only call
+ * equals on a matching hash.
+ *
+ * @author Martin Crawford
+ */
+public class ObjectKeyTable<V> extends PrimaryKeyTable<V> {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(ObjectKeyTable.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private int[] hashes;
+  private Object[] keys;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  @Override
+  protected boolean accepts(Object key) {
+    return true;
+  }
+
+  @Override
+  protected void allocate(int capacity) {
+    hashes = new int[capacity];
+    keys = new Object[capacity];
+  }
+
+  @Override
+  protected int hash(Object key) {
+    return key.hashCode();
+  }
+
+  @Override
+  protected int hashAt(int slot) {
+    return hashes[slot];
+  }
+
+  @Override
+  protected Object keyAt(int slot) {
+    return keys[slot];
+  }
+
+  @Override
+  protected boolean matches(int slot, Object key) {
+    Object slotKey = keys[slot];
+    return slotKey == key || (hashes[slot] == key.hashCode() && slotKey.equals(key));
+  }
+
+  @Override
+  protected void move(int fromSlot, int toSlot) {
+    hashes[toSlot] = hashes[fromSlot];
+    keys[toSlot] = keys[fromSlot];
+    keys[fromSlot] = null;
+  }
+
+  @Override
+  protected void release(int slot) {
+    keys[slot] = null;
+  }
+
+  @Override
+  protected void store(int slot, Object key) {
+    hashes[slot] = key.hashCode();
+    keys[slot] = key;
+  }
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class
@@ -23,9 +23,26 @@
  */
 package org.atreus.impl.util;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.util.UUID;
+
 public class ObjectUtils {
 
+  public static boolean isImmutableType(Class<?> type) {
+    // Values of these types can only be changed by replacing them, never in place
+    return type.isPrimitive() || type.isEnum() || String.class.equals(type) || Boolean.class.equals(type) ||
+        Character.class.equals(type) || Byte.class.equals(type) || Short.class.equals(type) ||
+        Integer.class.equals(type) || Long.class.equals(type) || Float.class.equals(type) ||
+        Double.class.equals(type) || BigDecimal.class.equals(type) || BigInteger.class.equals(type) ||
+        UUID.class.equals(type) || InetAddress.class.isAssignableFrom(type);
+  }
+
   public static boolean nullSafeEquals(Object o1, Object o2) {
+    if (o1 == o2) {
+      return true;
+    }
     if (o1 == null) {
       return o2 == null;
     }
@@ -0,0 +1,214 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.UUID;
+
+/**
+ * Open addressing hash table keyed by the primary key of a single entity type. Lookups hash and compare the key in
+ * place, so unlike a map keyed by a composite key nothing is allocated to probe the table. Slots are probed linearly
+ * and removal shifts back the following entries so that no tombstones are left behind.
+ *
+ * @author Martin Crawford
+ */
+public abstract class PrimaryKeyTable<V> {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(PrimaryKeyTable.class);
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private int mask;
+  private int resizeThreshold;
+  private int size;
+  private Object[] values;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  public static <V> PrimaryKeyTable<V> create(Class<?> keyType) {
+    if (Long.class.equals(keyType) || long.class.equals(keyType)) {
+      return new LongKeyTable<>();
+    }
+    if (UUID.class.equals(keyType)) {
+      return new UuidKeyTable<>();
+    }
+
+    // Strings cache their own hash code so the generic table is already allocation free for them
+    return new ObjectKeyTable<>();
+  }
+
+  public void clear() {
+    values = null;
+    size = 0;
+  }
+
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    int slot = findSlot(key);
+    return slot < 0 ? null : (V) values[slot];
+  }
+
+  @SuppressWarnings("unchecked")
+  public V put(Object key, V value) {
+    AssertUtils.notNull(key, "key is a required parameter");
+    AssertUtils.notNull(value, "value is a required parameter");
+    if (!accepts(key)) {
+      throw new IllegalArgumentException("Key " + key + " of " + key.getClass() + " is not supported by " + getClass().getSimpleName());
+    }
+    if (values == null) {
+      resize(DEFAULT_CAPACITY);
+    }
+
+    int slot = spread(hash(key)) & mask;
+    while (values[slot] != null) {
+      if (matches(slot, key)) {
+        V previous = (V) values[slot];
+        values[slot] = value;
+        return previous;
+      }
+      slot = (slot + 1) & mask;
+    }
+    store(slot, key);
+    values[slot] = value;
+    if (++size > resizeThreshold) {
+      resize(values.length * 2);
+    }
+    return null;
+  }
+
+  @SuppressWarnings("unchecked")
+  public V remove(Object key) {
+    int slot = findSlot(key);
+    if (slot < 0) {
+      return null;
+    }
+    V previous = (V) values[slot];
+    values[slot] = null;
+    release(slot);
+    size--;
+
+    // Shift back any following entries of the probe run that would no longer be reachable past the hole
+    int hole = slot;
+    int next = (hole + 1) & mask;
+    while (values[next] != null) {
+      int ideal = spread(hashAt(next)) & mask;
+      if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+        move(next, hole);
+        values[hole] = values[next];
+        values[next] = null;
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+    return previous;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  protected abstract boolean accepts(Object key);
+
+  protected abstract void allocate(int capacity);
+
+  protected abstract int hash(Object key);
+
+  protected abstract int hashAt(int slot);
+
+  protected abstract Object keyAt(int slot);
+
+  protected abstract boolean matches(int slot, Object key);
+
+  protected abstract void move(int fromSlot, int toSlot);
+
+  protected void release(int slot) {
+    // Nothing to release by default
+  }
+
+  protected abstract void store(int slot, Object key);
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  private int findSlot(Object key) {
+    if (values == null || key == null || !accepts(key)) {
+      return -1;
+    }
+    int slot = spread(hash(key)) & mask;
+    while (values[slot] != null) {
+      if (matches(slot, key)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void resize(int capacity) {
+    Object[] oldValues = values;
+    Object[] oldKeys = null;
+    if (oldValues != null) {
+      oldKeys = new Object[oldValues.length];
+      for (int i = 0; i < oldValues.length; i++) {
+        if (oldValues[i] != null) {
+          oldKeys[i] = keyAt(i);
+        }
+      }
+    }
+
+    allocate(capacity);
+    values = new Object[capacity];
+    mask = capacity - 1;
+    resizeThreshold = capacity / 2;
+    size = 0;
+    if (oldValues == null) {
+      return;
+    }
+    LOG.trace("Resized primary key table to {} slots", capacity);
+    for (int i = 0; i < oldValues.length; i++) {
+      if (oldValues[i] != null) {
+        put(oldKeys[i], (V) oldValues[i]);
+      }
+    }
+  }
+
+  private static int spread(int hash) {
+    // Fibonacci hashing mixes the high bits into the low bits used to index the table
+    int mixed = hash * 0x9E3779B9;
+    return mixed ^ (mixed >>> 16);
+  }
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class
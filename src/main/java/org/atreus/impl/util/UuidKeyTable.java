@@ -0,0 +1,108 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.impl.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.UUID;
+
+/**
+ * Primary key table for UUID primary keys, held as their most and least significant bits.
+ *
+ * @author Martin Crawford
+ */
+public class UuidKeyTable<V> extends PrimaryKeyTable<V> {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(UuidKeyTable.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  private long[] leastSignificantBits;
+  private long[] mostSignificantBits;
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  @Override
+  protected boolean accepts(Object key) {
+    return key instanceof UUID;
+  }
+
+  @Override
+  protected void allocate(int capacity) {
+    mostSignificantBits = new long[capacity];
+    leastSignificantBits = new long[capacity];
+  }
+
+  @Override
+  protected int hash(Object key) {
+    UUID uuid = (UUID) key;
+    return hashBits(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+  }
+
+  @Override
+  protected int hashAt(int slot) {
+    return hashBits(mostSignificantBits[slot], leastSignificantBits[slot]);
+  }
+
+  @Override
+  protected Object keyAt(int slot) {
+    return new UUID(mostSignificantBits[slot], leastSignificantBits[slot]);
+  }
+
+  @Override
+  protected boolean matches(int slot, Object key) {
+    UUID uuid = (UUID) key;
+    return mostSignificantBits[slot] == uuid.getMostSignificantBits() && leastSignificantBits[slot] == uuid.getLeastSignificantBits();
+  }
+
+  @Override
+  protected void move(int fromSlot, int toSlot) {
+    mostSignificantBits[toSlot] = mostSignificantBits[fromSlot];
+    leastSignificantBits[toSlot] = leastSignificantBits[fromSlot];
+  }
+
+  @Override
+  protected void store(int slot, Object key) {
+    UUID uuid = (UUID) key;
+    mostSignificantBits[slot] = uuid.getMostSignificantBits();
+    leastSignificantBits[slot] = uuid.getLeastSignificantBits();
+  }
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  private static int hashBits(long mostSignificantBits, long leastSignificantBits) {
+    long bits = mostSignificantBits ^ leastSignificantBits;
+    return (int) (bits ^ (bits >>> 32));
+  }
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class
@@ -24,8 +24,11 @@
 package org.atreus.core.impl.core.entities;
 
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import org.atreus.core.AtreusSession;
 import org.atreus.core.BaseAtreusCassandraTests;
 import org.atreus.core.tests.entities.functional.ChildCompositeTestEntity;
+import org.atreus.core.tests.entities.functional.ParentCompositePagedTestEntity;
 import org.atreus.core.tests.entities.functional.ParentCompositeSetTestEntity;
 import org.atreus.core.tests.entities.functional.ParentCompositeTestEntity;
 import org.junit.Assert;
@@ -35,6 +38,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * Functional Tests for various composite association entity mappings.
@@ -131,6 +136,145 @@ public class CompositeAssociationFunctionalTests extends BaseAtreusCassandraTest
 
   }
 
+  @Test
+  public void testBatchedCollectionCompositeEntityAssociation() throws Exception {
+    LOG.info("Running testBatchedCollectionCompositeEntityAssociation");
+    addEntity(ParentCompositeSetTestEntity.class);
+    addEntity(ChildCompositeTestEntity.class);
+    initEnvironment();
+
+    List<String> primaryKeys = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      ParentCompositeSetTestEntity parentEntity = new ParentCompositeSetTestEntity();
+      for (int j = 0; j < 3; j++) {
+        parentEntity.getChildEntities().add(new ChildCompositeTestEntity());
+      }
+      getSession().save(parentEntity);
+      primaryKeys.add(parentEntity.getId());
+    }
+    getSession().flush();
+
+    // Children of all parents are loaded together, no more than a single read in flight at a time
+    getEnvironment().getConfiguration().setMaxReadsInFlight(1);
+    AtreusSession otherSession = getEnvironment().getManager().openSession();
+    try {
+      List<ParentCompositeSetTestEntity> parentEntities = otherSession.findAll(ParentCompositeSetTestEntity.class, primaryKeys);
+      Assert.assertEquals(4, parentEntities.size());
+      for (ParentCompositeSetTestEntity parentEntity : parentEntities) {
+        Assert.assertEquals(3, parentEntity.getChildEntities().size());
+      }
+    }
+    finally {
+      otherSession.close();
+    }
+
+  }
+
+  @Test
+  public void testBatchedPagedCollectionCompositeEntityAssociation() throws Exception {
+    LOG.info("Running testBatchedPagedCollectionCompositeEntityAssociation");
+    addEntity(ParentCompositePagedTestEntity.class);
+    addEntity(ChildCompositeTestEntity.class);
+    initEnvironment();
+
+    List<String> primaryKeys = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      ParentCompositePagedTestEntity parentEntity = new ParentCompositePagedTestEntity();
+      for (int j = 0; j < 3; j++) {
+        parentEntity.getChildEntities().add(new ChildCompositeTestEntity());
+      }
+      getSession().save(parentEntity);
+      primaryKeys.add(parentEntity.getId());
+    }
+    getSession().flush();
+
+    // The first pages of all parents are requested together, no more than a single read in flight at a time
+    getEnvironment().getConfiguration().setMaxReadsInFlight(1);
+    AtreusSession otherSession = getEnvironment().getManager().openSession();
+    try {
+      List<ParentCompositePagedTestEntity> parentEntities = otherSession.findAll(ParentCompositePagedTestEntity.class, primaryKeys);
+      Assert.assertEquals(4, parentEntities.size());
+      for (ParentCompositePagedTestEntity parentEntity : parentEntities) {
+        int iteratedCount = 0;
+        for (ChildCompositeTestEntity childEntity : parentEntity.getChildEntities()) {
+          Assert.assertNotNull("child entity should have a primary key", childEntity.getId());
+          iteratedCount++;
+        }
+        Assert.assertEquals(3, iteratedCount);
+      }
+    }
+    finally {
+      otherSession.close();
+    }
+
+  }
+
+  @Test
+  public void testPagedCollectionCompositeEntityAssociation() throws Exception {
+    LOG.info("Running testPagedCollectionCompositeEntityAssociation");
+    addEntity(ParentCompositePagedTestEntity.class);
+    addEntity(ChildCompositeTestEntity.class);
+    initEnvironment();
+
+    // Save parent entity with more children than fit in a page
+    ParentCompositePagedTestEntity parentEntity = new ParentCompositePagedTestEntity();
+    for (int i = 0; i < 5; i++) {
+      parentEntity.getChildEntities().add(new ChildCompositeTestEntity());
+    }
+    getSession().save(parentEntity);
+    getSession().flush();
+    String primaryKey = parentEntity.getId();
+
+    // Iterate the children a page at a time removing the first of them and add another
+    AtreusSession otherSession = getEnvironment().getManager().openSession();
+    ChildCompositeTestEntity removedEntity;
+    ChildCompositeTestEntity addedEntity = new ChildCompositeTestEntity();
+    try {
+      ParentCompositePagedTestEntity otherEntity = otherSession.findOne(ParentCompositePagedTestEntity.class, primaryKey);
+      Iterator<ChildCompositeTestEntity> iterator = otherEntity.getChildEntities().iterator();
+      removedEntity = iterator.next();
+      iterator.remove();
+      int iteratedCount = 1;
+      while (iterator.hasNext()) {
+        Assert.assertNotNull("child entity should have a primary key", iterator.next().getId());
+        iteratedCount++;
+      }
+      Assert.assertEquals("every child should be iterated across the pages", 5, iteratedCount);
+      otherEntity.getChildEntities().add(addedEntity);
+      otherSession.update(otherEntity);
+      otherSession.flush();
+    }
+    finally {
+      otherSession.close();
+    }
+
+    // Only the changes made are written, the children fetched but left unchanged remain
+    ResultSet resultSet = getSession().execute("SELECT id FROM default.ChildCompositeTestEntity");
+    List<String> childKeys = new ArrayList<>();
+    for (Row row : resultSet) {
+      childKeys.add(row.getString("id"));
+    }
+    Assert.assertEquals(5, childKeys.size());
+    Assert.assertTrue(childKeys.contains(addedEntity.getId()));
+    Assert.assertFalse(childKeys.contains(removedEntity.getId()));
+
+    // Iterating the paged collection again yields the same children
+    otherSession = getEnvironment().getManager().openSession();
+    try {
+      ParentCompositePagedTestEntity otherEntity = otherSession.findOne(ParentCompositePagedTestEntity.class, primaryKey);
+      List<String> iteratedKeys = new ArrayList<>();
+      for (ChildCompositeTestEntity childEntity : otherEntity.getChildEntities()) {
+        iteratedKeys.add(childEntity.getId());
+      }
+      Assert.assertEquals(5, iteratedKeys.size());
+      Assert.assertTrue(iteratedKeys.containsAll(childKeys));
+    }
+    finally {
+      otherSession.close();
+    }
+
+  }
+
   @Test
   @Ignore
   public void testSubstitutedCollectionCompositeEntityAssociation() throws Exception {
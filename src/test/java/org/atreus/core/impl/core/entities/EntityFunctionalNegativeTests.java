@@ -23,14 +23,20 @@
  */
 package org.atreus.core.impl.core.entities;
 
+import org.atreus.core.AtreusBulkWriteException;
+import org.atreus.core.AtreusDataBindingException;
 import org.atreus.core.AtreusInitialisationException;
 import org.atreus.core.BaseAtreusCassandraTests;
 import org.atreus.core.tests.entities.errors.*;
+import org.atreus.core.tests.entities.functional.TtlTestEntity;
 import org.junit.Assert;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Negative functional tests for various bad entity mappings.
  *
@@ -139,6 +145,37 @@ public class EntityFunctionalNegativeTests extends BaseAtreusCassandraTests {
     }
   }
 
+  @Test(expected = AtreusBulkWriteException.class)
+  public void testBulkSaveWithFailures() {
+    LOG.info("Running testBulkSaveWithFailures");
+    addEntity(TtlTestEntity.class);
+    initEnvironment();
+
+    List<TtlTestEntity> testEntities = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      TtlTestEntity testEntity = new TtlTestEntity();
+      testEntity.setValue("value-" + i);
+      testEntity.setTtl(i % 2 == 0 ? 60 : 0);
+      testEntities.add(testEntity);
+    }
+
+    try {
+      getSession().saveAll(testEntities);
+    }
+    catch (AtreusBulkWriteException e) {
+      Assert.assertEquals(AtreusBulkWriteException.ERROR_CODE_BULK_WRITE_FAILED, e.getErrorCode());
+      Assert.assertEquals(2, e.getFailedEntities().size());
+      Assert.assertEquals(2, e.getFailureCauses().size());
+      Assert.assertTrue(e.getFailureCauses().get(0) instanceof AtreusDataBindingException);
+
+      // The remaining entities are still written
+      for (int i = 0; i < 5; i += 2) {
+        Assert.assertNotNull("Expect a value", getSession().findOne(TtlTestEntity.class, testEntities.get(i).getId()));
+      }
+      throw e;
+    }
+  }
+
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
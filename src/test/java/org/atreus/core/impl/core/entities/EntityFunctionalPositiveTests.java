@@ -23,13 +23,28 @@
  */
 package org.atreus.core.impl.core.entities;
 
+import org.atreus.core.AtreusBatchStatistics;
+import org.atreus.core.AtreusCacheConfiguration;
+import org.atreus.core.AtreusCacheEviction;
+import org.atreus.core.AtreusCacheStatistics;
 import org.atreus.core.AtreusDataBindingException;
+import org.atreus.core.AtreusScan;
+import org.atreus.core.AtreusScanCallback;
+import org.atreus.core.AtreusScanRange;
+import org.atreus.core.AtreusSession;
+import org.atreus.core.AtreusStatementStatistics;
 import org.atreus.core.BaseAtreusCassandraTests;
 import org.atreus.core.ext.AtreusCQLDataType;
+import org.atreus.core.ext.AtreusManagedEntity;
+import org.atreus.core.ext.AtreusSessionExt;
 import org.atreus.core.ext.meta.AtreusMetaEntity;
 import org.atreus.core.ext.meta.AtreusMetaSimpleField;
 import org.atreus.core.tests.entities.common.SimpleTestEntity;
 import org.atreus.core.tests.entities.functional.*;
+import org.atreus.impl.core.mappings.entities.meta.MetaEntityImpl;
+import org.atreus.impl.core.queries.EntityStatementPlans;
+import org.atreus.impl.core.queries.QueryManager;
+import org.atreus.impl.core.queries.StatementPlan;
 import org.atreus.impl.types.generators.StringPrimaryKeyStrategy;
 import org.junit.Assert;
 import org.junit.Test;
@@ -41,6 +56,7 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.InetAddress;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Positive functional tests for various entity mappings without associations.
@@ -103,6 +119,96 @@ public class EntityFunctionalPositiveTests extends BaseAtreusCassandraTests {
 
   }
 
+  @Test
+  public void testPreparedStatementsOnInit() throws Exception {
+    LOG.info("Running testPreparedStatementsOnInit");
+    addEntity(SimpleTestEntity.class);
+    initEnvironment();
+
+    // Insert, select, full row update and delete are prepared during init
+    QueryManager queryManager = getEnvironment().getQueryManager();
+    Assert.assertEquals(4, queryManager.getPreparedStatementCount());
+
+    SimpleTestEntity testEntity = new SimpleTestEntity();
+    testEntity.setField1("field1");
+    getSession().save(testEntity);
+    getSession().flush();
+
+    AtreusSession otherSession = getEnvironment().getManager().openSession();
+    try {
+      Assert.assertNotNull(otherSession.findOne(SimpleTestEntity.class, testEntity.getId()));
+      otherSession.delete(otherSession.findOne(SimpleTestEntity.class, testEntity.getId()));
+      otherSession.flush();
+    }
+    finally {
+      otherSession.close();
+    }
+    Assert.assertEquals(4, queryManager.getPreparedStatementCount());
+
+    // The plans compiled for the entity hold on to their prepared statements
+    EntityStatementPlans statementPlans = ((MetaEntityImpl) getEnvironment().getMetaManager().getEntity(SimpleTestEntity.class)).getStatementPlans();
+    Assert.assertTrue(statementPlans.getInsert(false).isPrepared());
+    Assert.assertTrue(statementPlans.getSelect().isPrepared());
+    Assert.assertTrue(statementPlans.getDelete().isPrepared());
+  }
+
+  @Test
+  public void testUpdatePlanVariants() throws Exception {
+    LOG.info("Running testUpdatePlanVariants");
+    getEnvironment().getConfiguration().setMaxUpdateVariants(1);
+    addEntity(CQLPrimitiveTypesTestEntity.class);
+    initEnvironment();
+
+    AtreusStatementStatistics statistics = getEnvironment().getManager().getStatementStatistics();
+    CQLPrimitiveTypesTestEntity testEntity = new CQLPrimitiveTypesTestEntity();
+    testEntity.setaString("string");
+    testEntity.setaLong(1L);
+    testEntity.setaInteger(1);
+    getSession().save(testEntity);
+    getSession().flush();
+
+    // First update compiles the only variant allowed
+    testEntity.setaString("changed");
+    testEntity.setaLong(2L);
+    getSession().update(testEntity);
+    getSession().flush();
+    Assert.assertEquals(1, statistics.getUpdateVariantCount(CQLPrimitiveTypesTestEntity.class));
+
+    // Another writer changes a column covered by the variant
+    AtreusSession otherSession = getEnvironment().getManager().openSession();
+    try {
+      CQLPrimitiveTypesTestEntity otherEntity = otherSession.findOne(CQLPrimitiveTypesTestEntity.class, testEntity.getId());
+      otherEntity.setaLong(5L);
+      otherSession.update(otherEntity);
+      otherSession.flush();
+    }
+    finally {
+      otherSession.close();
+    }
+
+    // Past the cap an update is given a plan of its exact columns, leaving the other writer's change in place
+    statistics.reset();
+    testEntity.setaString("changed again");
+    getSession().update(testEntity);
+    getSession().flush();
+    testEntity.setaInteger(3);
+    getSession().update(testEntity);
+    getSession().flush();
+    Assert.assertEquals(2, statistics.getUncachedUpdateCount());
+    Assert.assertEquals(1, statistics.getUpdateVariantCount(CQLPrimitiveTypesTestEntity.class));
+
+    otherSession = getEnvironment().getManager().openSession();
+    try {
+      CQLPrimitiveTypesTestEntity otherEntity = otherSession.findOne(CQLPrimitiveTypesTestEntity.class, testEntity.getId());
+      Assert.assertEquals("changed again", otherEntity.getaString());
+      Assert.assertEquals(5L, otherEntity.getaLong());
+      Assert.assertEquals(3, otherEntity.getaInteger());
+    }
+    finally {
+      otherSession.close();
+    }
+  }
+
   @Test
   public void testDisabledWriteBatch() throws Exception {
     LOG.info("Running testDisabledWriteBatch");
@@ -130,6 +236,545 @@ public class EntityFunctionalPositiveTests extends BaseAtreusCassandraTests {
 
   }
 
+  @Test
+  public void testAsyncSaveUpdateAndDelete() throws Exception {
+    LOG.info("Running testAsyncSaveUpdateAndDelete");
+    addEntity(SimpleTestEntity.class);
+    initEnvironment();
+
+    // Save new entity asynchronously
+    SimpleTestEntity testEntity = new SimpleTestEntity();
+    testEntity.setField1("field1");
+    testEntity.setField2("field2");
+
+    SimpleTestEntity savedEntity = getSession().saveAsync(testEntity).get();
+    String primaryKey = testEntity.getId();
+
+    Assert.assertNotNull("Expect a primary key", primaryKey);
+    Assert.assertEquals(primaryKey, savedEntity.getId());
+
+    SimpleTestEntity otherEntity = getSession().findOne(SimpleTestEntity.class, primaryKey);
+
+    Assert.assertNotNull("Expect a value", otherEntity);
+    Assert.assertEquals("field1", otherEntity.getField1());
+    Assert.assertEquals("field2", otherEntity.getField2());
+
+    // Update a field of the entity asynchronously
+    otherEntity.setField2("changed");
+    getSession().updateAsync(otherEntity).get();
+
+    otherEntity = getSession().findOne(SimpleTestEntity.class, primaryKey);
+
+    Assert.assertNotNull("Expect a value", otherEntity);
+    Assert.assertEquals("changed", otherEntity.getField2());
+
+    // Delete the entity asynchronously
+    getSession().deleteAsync(otherEntity).get();
+
+    otherEntity = getSession().findOne(SimpleTestEntity.class, primaryKey);
+
+    Assert.assertNull("Expect a null value", otherEntity);
+
+    // Flushing with nothing outstanding completes immediately
+    Assert.assertTrue("Expect a completed future", getSession().flushAsync().isDone());
+  }
+
+  @Test
+  public void testNonAtomicWriteBatch() throws Exception {
+    LOG.info("Running testNonAtomicWriteBatch");
+    addEntity(SimpleTestEntity.class);
+    initEnvironment();
+
+    getSession().setWriteAtomic(false);
+
+    // Batch statements across several partitions, with two statements for the same partition
+    String cql = "INSERT INTO default.SimpleTestEntity (id, field1) VALUES (?, ?)";
+    String otherCql = "INSERT INTO default.SimpleTestEntity (id, field2) VALUES (?, ?)";
+    getSession().executeOrBatch(getSession().prepareQuery(cql).bind("pk1", "field1"));
+    getSession().executeOrBatch(getSession().prepareQuery(cql).bind("pk2", "field1"));
+    getSession().executeOrBatch(getSession().prepareQuery(otherCql).bind("pk1", "field2"));
+    getSession().executeOrBatch(getSession().prepareQuery(cql).bind("pk3", "field1"));
+    Assert.assertTrue("Expect an open batch", getSession().isBatchOpen());
+    getSession().flush();
+    Assert.assertFalse("Expect no open batch", getSession().isBatchOpen());
+
+    SimpleTestEntity otherEntity = getSession().findOne(SimpleTestEntity.class, "pk1");
+    Assert.assertNotNull("Expect a value", otherEntity);
+    Assert.assertEquals("field1", otherEntity.getField1());
+    Assert.assertEquals("field2", otherEntity.getField2());
+    Assert.assertNotNull("Expect a value", getSession().findOne(SimpleTestEntity.class, "pk2"));
+    Assert.assertNotNull("Expect a value", getSession().findOne(SimpleTestEntity.class, "pk3"));
+
+    // Save and delete still go through the non-atomic flush
+    SimpleTestEntity testEntity = new SimpleTestEntity();
+    testEntity.setField1("field1");
+    getSession().save(testEntity);
+    String primaryKey = testEntity.getId();
+    Assert.assertNotNull("Expect a value", getSession().findOne(SimpleTestEntity.class, primaryKey));
+
+    getSession().deleteAsync(testEntity).get();
+    Assert.assertNull("Expect a null value", getSession().findOne(SimpleTestEntity.class, primaryKey));
+  }
+
+  @Test
+  public void testBoundedWriteBatch() throws Exception {
+    LOG.info("Running testBoundedWriteBatch");
+    addEntity(SimpleTestEntity.class);
+    initEnvironment();
+
+    getEnvironment().getConfiguration().setMaxBatchStatements(2);
+    AtreusBatchStatistics batchStatistics = getEnvironment().getBatchStatistics();
+    batchStatistics.reset();
+
+    // Batch more statements than a single batch may hold
+    String cql = "INSERT INTO default.SimpleTestEntity (id, field1) VALUES (?, ?)";
+    for (int i = 0; i < 5; i++) {
+      getSession().executeOrBatch(getSession().prepareQuery(cql).bind("pk" + i, "field1"));
+    }
+    getSession().flush();
+
+    Assert.assertEquals(3, batchStatistics.getBatchCount());
+    Assert.assertEquals(2, batchStatistics.getAutoFlushCount());
+    Assert.assertEquals(5, batchStatistics.getStatementCount());
+    Assert.assertEquals(2, batchStatistics.getMaxStatements());
+    Assert.assertTrue("Expect an estimated size", batchStatistics.getMaxEstimatedSize() > 0);
+    for (int i = 0; i < 5; i++) {
+      Assert.assertNotNull("Expect a value", getSession().findOne(SimpleTestEntity.class, "pk" + i));
+    }
+
+    // Limit the estimated size so that every statement is flushed on its own
+    getEnvironment().getConfiguration().setMaxBatchStatements(0);
+    getEnvironment().getConfiguration().setMaxBatchSize(1);
+    batchStatistics.reset();
+
+    SimpleTestEntity testEntity = new SimpleTestEntity();
+    testEntity.setField1("field1");
+    getSession().save(testEntity);
+
+    Assert.assertEquals(1, batchStatistics.getBatchCount());
+    Assert.assertEquals(1, batchStatistics.getAutoFlushCount());
+    Assert.assertNotNull("Expect a value", getSession().findOne(SimpleTestEntity.class, testEntity.getId()));
+  }
+
+  @Test
+  public void testBulkSaveUpdateAndDelete() throws Exception {
+    LOG.info("Running testBulkSaveUpdateAndDelete");
+    addEntity(SimpleTestEntity.class);
+    initEnvironment();
+
+    getEnvironment().getConfiguration().setMaxBulkWritesInFlight(4);
+
+    // Save new entities in bulk
+    List<SimpleTestEntity> testEntities = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      SimpleTestEntity testEntity = new SimpleTestEntity();
+      testEntity.setField1("field1-" + i);
+      testEntities.add(testEntity);
+    }
+    List<SimpleTestEntity> savedEntities = getSession().saveAll(testEntities);
+
+    Assert.assertEquals(50, savedEntities.size());
+    for (int i = 0; i < 50; i++) {
+      SimpleTestEntity otherEntity = getSession().findOne(SimpleTestEntity.class, testEntities.get(i).getId());
+      Assert.assertNotNull("Expect a value", otherEntity);
+      Assert.assertEquals("field1-" + i, otherEntity.getField1());
+    }
+
+    // Update the entities in bulk
+    for (SimpleTestEntity savedEntity : savedEntities) {
+      savedEntity.setField2("changed");
+    }
+    getSession().updateAll(savedEntities);
+
+    for (SimpleTestEntity savedEntity : savedEntities) {
+      SimpleTestEntity otherEntity = getSession().findOne(SimpleTestEntity.class, savedEntity.getId());
+      Assert.assertEquals("changed", otherEntity.getField2());
+    }
+
+    // Delete the entities in bulk
+    getSession().deleteAll(savedEntities);
+
+    for (SimpleTestEntity savedEntity : savedEntities) {
+      Assert.assertNull("Expect a null value", getSession().findOne(SimpleTestEntity.class, savedEntity.getId()));
+    }
+  }
+
+  @Test
+  public void testDeferredWrites() throws Exception {
+    LOG.info("Running testDeferredWrites");
+    addEntity(SimpleTestEntity.class);
+    initEnvironment();
+
+    AtreusBatchStatistics batchStatistics = getEnvironment().getBatchStatistics();
+    batchStatistics.reset();
+    AtreusSession session = getEnvironment().getManager().openSession();
+    session.setWriteDeferred(true);
+
+    // Repeated writes to the same entity are coalesced into a single statement at flush
+    SimpleTestEntity testEntity = new SimpleTestEntity();
+    testEntity.setField1("field1");
+    testEntity = session.save(testEntity);
+    Assert.assertNotNull("Expect the primary key to be generated", testEntity.getId());
+    for (int i = 0; i < 5; i++) {
+      testEntity.setField2("field2-" + i);
+      session.update(testEntity);
+    }
+    Assert.assertEquals(0, batchStatistics.getStatementCount());
+    session.flush();
+    Assert.assertEquals(1, batchStatistics.getStatementCount());
+
+    AtreusSession otherSession = getEnvironment().getManager().openSession();
+    SimpleTestEntity otherEntity = otherSession.findOne(SimpleTestEntity.class, testEntity.getId());
+    Assert.assertNotNull("Expect a value", otherEntity);
+    Assert.assertEquals("field1", otherEntity.getField1());
+    Assert.assertEquals("field2-4", otherEntity.getField2());
+
+    // A save followed by a delete is never written
+    batchStatistics.reset();
+    SimpleTestEntity transientEntity = new SimpleTestEntity();
+    transientEntity.setField1("transient");
+    transientEntity = session.save(transientEntity);
+    session.delete(transientEntity);
+    session.flush();
+    Assert.assertEquals(0, batchStatistics.getStatementCount());
+    Assert.assertNull("Expect no value", otherSession.findOne(SimpleTestEntity.class, transientEntity.getId()));
+
+    // An update followed by a delete is written as the delete alone, on close of the session
+    testEntity.setField1("changed");
+    session.update(testEntity);
+    session.delete(testEntity);
+    session.close();
+    Assert.assertEquals(1, batchStatistics.getStatementCount());
+    Assert.assertNull("Expect no value", otherSession.findOne(SimpleTestEntity.class, testEntity.getId()));
+    otherSession.close();
+  }
+
+  @Test
+  public void testDeferredSaveDeleteOfStoredEntity() throws Exception {
+    LOG.info("Running testDeferredSaveDeleteOfStoredEntity");
+    addEntity(SimpleTestEntity.class);
+    initEnvironment();
+
+    SimpleTestEntity testEntity = new SimpleTestEntity();
+    testEntity.setField1("field1");
+    getSession().save(testEntity);
+    String primaryKey = testEntity.getId();
+
+    // A save of a fetched entity followed by its delete still deletes the stored row
+    AtreusSession session = getEnvironment().getManager().openSession();
+    session.setWriteDeferred(true);
+    SimpleTestEntity fetchedEntity = session.findOne(SimpleTestEntity.class, primaryKey);
+    fetchedEntity.setField1("changed");
+    session.save(fetchedEntity);
+    session.delete(fetchedEntity);
+    session.flush();
+    session.close();
+
+    String cql = "SELECT id FROM default.SimpleTestEntity WHERE id = '" + primaryKey + "'";
+    Assert.assertTrue("Expect the row to be deleted", getSession().execute(cql).isExhausted());
+  }
+
+  @Test
+  public void testBoundedSessionCache() throws Exception {
+    LOG.info("Running testBoundedSessionCache");
+    addEntity(SimpleTestEntity.class);
+    initEnvironment();
+
+    List<String> primaryKeys = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      SimpleTestEntity testEntity = new SimpleTestEntity();
+      testEntity.setField1("field1-" + i);
+      getSession().save(testEntity);
+      primaryKeys.add(testEntity.getId());
+    }
+
+    // Clean entities beyond the maximum size are evicted while dirty entities stay held
+    getEnvironment().getConfiguration().setSessionCacheMaxSize(2);
+    getEnvironment().getConfiguration().setSessionCacheWeakValues(true);
+    AtreusSessionExt session = (AtreusSessionExt) getEnvironment().getManager().openSession();
+    List<SimpleTestEntity> testEntities = new ArrayList<>();
+    testEntities.add(session.findOne(SimpleTestEntity.class, primaryKeys.get(0)));
+    testEntities.get(0).setField1("changed");
+    for (int i = 1; i < primaryKeys.size(); i++) {
+      testEntities.add(session.findOne(SimpleTestEntity.class, primaryKeys.get(i)));
+    }
+    Assert.assertEquals(2, session.getCacheEvictionCount());
+    Assert.assertSame(testEntities.get(0), session.getCachedEntity(SimpleTestEntity.class, primaryKeys.get(0)));
+
+    // Evicted entities still referenced by the application are found through their weak references
+    for (int i = 1; i < testEntities.size(); i++) {
+      Assert.assertSame(testEntities.get(i), session.getCachedEntity(SimpleTestEntity.class, primaryKeys.get(i)));
+    }
+    session.close();
+
+    // Without weak values evicted entities are dropped
+    getEnvironment().getConfiguration().setSessionCacheWeakValues(false);
+    session = (AtreusSessionExt) getEnvironment().getManager().openSession();
+    testEntities.clear();
+    for (String primaryKey : primaryKeys) {
+      testEntities.add(session.findOne(SimpleTestEntity.class, primaryKey));
+    }
+    Assert.assertEquals(2, session.getCacheEvictionCount());
+    Assert.assertNull("Expect no value", session.getCachedEntity(SimpleTestEntity.class, primaryKeys.get(0)));
+    Assert.assertSame(testEntities.get(3), session.getCachedEntity(SimpleTestEntity.class, primaryKeys.get(3)));
+    session.close();
+  }
+
+  @Test
+  public void testSecondLevelCache() throws Exception {
+    LOG.info("Running testSecondLevelCache");
+    addEntity(SimpleTestEntity.class);
+    initEnvironment();
+
+    getEnvironment().getConfiguration().setCacheConfiguration(SimpleTestEntity.class, new AtreusCacheConfiguration(2, 0, AtreusCacheEviction.LRU));
+    AtreusCacheStatistics cacheStatistics = getEnvironment().getManager().getCacheStatistics();
+
+    List<String> primaryKeys = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      SimpleTestEntity testEntity = new SimpleTestEntity();
+      testEntity.setField1("field1-" + i);
+      getSession().save(testEntity);
+      primaryKeys.add(testEntity.getId());
+    }
+    cacheStatistics.reset();
+
+    // The first read populates the cache which is then shared with other sessions
+    AtreusSession session = getEnvironment().getManager().openSession();
+    Assert.assertEquals("field1-0", session.findOne(SimpleTestEntity.class, primaryKeys.get(0)).getField1());
+    Assert.assertEquals(1, cacheStatistics.getMissCount());
+    Assert.assertEquals(1, cacheStatistics.getPutCount());
+    AtreusSession otherSession = getEnvironment().getManager().openSession();
+    Assert.assertEquals("field1-0", otherSession.findOne(SimpleTestEntity.class, primaryKeys.get(0)).getField1());
+    Assert.assertEquals("field1-0", otherSession.findOne(SimpleTestEntity.class, primaryKeys.get(0)).getField1());
+    Assert.assertEquals(2, cacheStatistics.getHitCount());
+
+    // Reading beyond the maximum size evicts the least recently used entity
+    session.findOne(SimpleTestEntity.class, primaryKeys.get(1));
+    session.findOne(SimpleTestEntity.class, primaryKeys.get(2));
+    Assert.assertEquals(1, cacheStatistics.getEvictionCount());
+    session.findOne(SimpleTestEntity.class, primaryKeys.get(0));
+    Assert.assertEquals(4, cacheStatistics.getMissCount());
+
+    // Writes invalidate the cached entity so that other sessions read the change
+    SimpleTestEntity testEntity = session.findOne(SimpleTestEntity.class, primaryKeys.get(0));
+    testEntity.setField1("changed");
+    session.update(testEntity);
+    session.flush();
+    Assert.assertEquals(1, cacheStatistics.getInvalidationCount());
+    Assert.assertEquals("changed", otherSession.findOne(SimpleTestEntity.class, primaryKeys.get(0)).getField1());
+    Assert.assertEquals(3, cacheStatistics.getHitCount());
+    Assert.assertEquals(5, cacheStatistics.getMissCount());
+    Assert.assertEquals(0.375, cacheStatistics.getHitRatio(), 0.001);
+
+    session.close();
+    otherSession.close();
+  }
+
+  @Test
+  public void testSecondLevelCacheReadBeforeFlush() throws Exception {
+    LOG.info("Running testSecondLevelCacheReadBeforeFlush");
+    addEntity(SimpleTestEntity.class);
+    initEnvironment();
+
+    getEnvironment().getConfiguration().setCacheConfiguration(SimpleTestEntity.class, new AtreusCacheConfiguration(10, 0, AtreusCacheEviction.LRU));
+    SimpleTestEntity testEntity = new SimpleTestEntity();
+    testEntity.setField1("original");
+    getSession().save(testEntity);
+    String primaryKey = testEntity.getId();
+
+    // Hold the update in an open batch
+    AtreusSession session = getEnvironment().getManager().openSession();
+    session.setWriteBatch(true);
+    session.executeOrBatch("UPDATE default.SimpleTestEntity SET field1 = 'other' WHERE id = 'other'");
+    SimpleTestEntity updatedEntity = session.findOne(SimpleTestEntity.class, primaryKey);
+    updatedEntity.setField1("changed");
+    session.update(updatedEntity);
+
+    // A read between the update and the flush still sees the row as it was
+    AtreusSession otherSession = getEnvironment().getManager().openSession();
+    Assert.assertEquals("original", otherSession.findOne(SimpleTestEntity.class, primaryKey).getField1());
+    otherSession.close();
+
+    // Once flushed the row read in between is no longer cached
+    session.flush();
+    otherSession = getEnvironment().getManager().openSession();
+    Assert.assertEquals("changed", otherSession.findOne(SimpleTestEntity.class, primaryKey).getField1());
+    otherSession.close();
+    session.close();
+  }
+
+  @Test
+  public void testFindAll() throws Exception {
+    LOG.info("Running testFindAll");
+    addEntity(SimpleTestEntity.class);
+    initEnvironment();
+
+    List<String> primaryKeys = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      SimpleTestEntity testEntity = new SimpleTestEntity();
+      testEntity.setField1("field1-" + i);
+      getSession().save(testEntity);
+      primaryKeys.add(testEntity.getId());
+    }
+    primaryKeys.add(3, "unknown");
+
+    // Concurrent selects from a fresh session with few reads in flight, in the order of the primary keys
+    getEnvironment().getConfiguration().setMaxReadsInFlight(2);
+    AtreusSession session = getEnvironment().getManager().openSession();
+    List<SimpleTestEntity> entities = session.findAll(SimpleTestEntity.class, primaryKeys);
+
+    Assert.assertEquals(11, entities.size());
+    Assert.assertNull("Expect a null value", entities.get(3));
+    for (int i = 0; i < 11; i++) {
+      if (i == 3) {
+        continue;
+      }
+      Assert.assertEquals(primaryKeys.get(i), entities.get(i).getId());
+      Assert.assertEquals("field1-" + (i < 3 ? i : i - 1), entities.get(i).getField1());
+    }
+
+    // Cached entities are returned from the session
+    Assert.assertSame(entities.get(0), session.findAll(SimpleTestEntity.class, primaryKeys.subList(0, 1)).get(0));
+    session.close();
+
+    // Coalesced IN selects from a fresh session
+    getEnvironment().getConfiguration().setMaxFetchCoalesce(20);
+    Collections.reverse(primaryKeys);
+    session = getEnvironment().getManager().openSession();
+    entities = session.findAll(SimpleTestEntity.class, primaryKeys);
+    session.close();
+
+    Assert.assertEquals(11, entities.size());
+    Assert.assertNull("Expect a null value", entities.get(7));
+    for (int i = 0; i < 11; i++) {
+      if (i != 7) {
+        Assert.assertEquals(primaryKeys.get(i), entities.get(i).getId());
+      }
+    }
+
+    // A key count between the buckets of the coalesced selects is padded to the next bucket
+    session = getEnvironment().getManager().openSession();
+    entities = session.findAll(SimpleTestEntity.class, primaryKeys.subList(0, 5));
+    session.close();
+    Assert.assertEquals(5, entities.size());
+    for (int i = 0; i < 5; i++) {
+      Assert.assertEquals(primaryKeys.get(i), entities.get(i).getId());
+    }
+
+    // Rows of the second level cache are shared with findAll
+    getEnvironment().getConfiguration().setCacheConfiguration(SimpleTestEntity.class, new AtreusCacheConfiguration(20, 0, AtreusCacheEviction.LRU));
+    AtreusCacheStatistics cacheStatistics = getEnvironment().getManager().getCacheStatistics();
+    cacheStatistics.reset();
+    session = getEnvironment().getManager().openSession();
+    session.findAll(SimpleTestEntity.class, primaryKeys);
+    session.close();
+    Assert.assertEquals(10, cacheStatistics.getPutCount());
+    session = getEnvironment().getManager().openSession();
+    entities = session.findAll(SimpleTestEntity.class, primaryKeys);
+    session.close();
+    Assert.assertEquals(10, cacheStatistics.getHitCount());
+    Assert.assertEquals(primaryKeys.get(0), entities.get(0).getId());
+    Assert.assertNull("Expect a null value", entities.get(7));
+  }
+
+  @Test
+  public void testIterate() throws Exception {
+    LOG.info("Running testIterate");
+    addEntity(SimpleTestEntity.class);
+    initEnvironment();
+
+    Map<String, String> expected = new HashMap<>();
+    for (int i = 0; i < 25; i++) {
+      SimpleTestEntity testEntity = new SimpleTestEntity();
+      testEntity.setField1("field1-" + i);
+      getSession().save(testEntity);
+      expected.put(testEntity.getId(), testEntity.getField1());
+    }
+
+    // Stream with the configured fetch size from a fresh session
+    AtreusSessionExt session = (AtreusSessionExt) getEnvironment().getManager().openSession();
+    Iterator<SimpleTestEntity> iterator = session.stream(SimpleTestEntity.class);
+    Map<String, String> actual = new HashMap<>();
+    while (iterator.hasNext()) {
+      SimpleTestEntity otherEntity = iterator.next();
+      actual.put(otherEntity.getId(), otherEntity.getField1());
+      Assert.assertNull("Expect entity not to be cached", session.getCachedEntity(SimpleTestEntity.class, otherEntity.getId()));
+    }
+    Assert.assertEquals(expected, actual);
+
+    // Page through the table a few rows at a time, the embedded Cassandra 2.0.5 node may skip rows at page boundaries
+    // across partitions so only the hydrated rows are verified
+    iterator = session.iterate(SimpleTestEntity.class, 4);
+    int count = 0;
+    while (iterator.hasNext()) {
+      SimpleTestEntity otherEntity = iterator.next();
+      Assert.assertEquals(expected.get(otherEntity.getId()), otherEntity.getField1());
+      count++;
+    }
+    Assert.assertTrue("Expect more than a single page", count > 4);
+    session.close();
+  }
+
+  @Test
+  public void testScan() throws Exception {
+    LOG.info("Running testScan");
+    addEntity(SimpleTestEntity.class);
+    initEnvironment();
+
+    Map<String, String> expected = new HashMap<>();
+    for (int i = 0; i < 25; i++) {
+      SimpleTestEntity testEntity = new SimpleTestEntity();
+      testEntity.setField1("field1-" + i);
+      getSession().save(testEntity);
+      expected.put(testEntity.getId(), testEntity.getField1());
+    }
+    getSession().flush();
+
+    // Scan the whole ring split into ranges across several threads
+    final Map<String, String> actual = new ConcurrentHashMap<>();
+    AtreusScan<SimpleTestEntity> scan = getEnvironment().getManager().scan(SimpleTestEntity.class, 8, 3, new AtreusScanCallback<SimpleTestEntity>() {
+      @Override
+      public void onEntity(SimpleTestEntity entity) {
+        actual.put(entity.getId(), entity.getField1());
+      }
+    });
+    scan.await();
+    Assert.assertTrue(scan.isDone());
+    Assert.assertEquals(expected, actual);
+    Assert.assertEquals(8, scan.getRanges().size());
+    Assert.assertEquals(8, scan.getCompletedRangeCount());
+    Assert.assertEquals(25, scan.getRowCount());
+
+    // Resume a scan with the first half of the ranges already completed
+    List<AtreusScanRange> ranges = new ArrayList<>();
+    long expectedRowCount = 0;
+    for (int i = 0; i < scan.getRanges().size(); i++) {
+      AtreusScanRange range = scan.getRanges().get(i);
+      AtreusScanRange resumeRange = new AtreusScanRange(range.getStartToken(), range.getEndToken());
+      if (i < 4) {
+        resumeRange.setCompleted(true);
+      }
+      else {
+        expectedRowCount += range.getRowCount();
+      }
+      ranges.add(resumeRange);
+    }
+    actual.clear();
+    scan = getEnvironment().getManager().scan(SimpleTestEntity.class, ranges, 2, new AtreusScanCallback<SimpleTestEntity>() {
+      @Override
+      public void onEntity(SimpleTestEntity entity) {
+        actual.put(entity.getId(), entity.getField1());
+      }
+    });
+    scan.await();
+    Assert.assertEquals(8, scan.getCompletedRangeCount());
+    Assert.assertEquals(expectedRowCount, scan.getRowCount());
+    Assert.assertEquals(expectedRowCount, actual.size());
+    for (Map.Entry<String, String> entry : actual.entrySet()) {
+      Assert.assertEquals(expected.get(entry.getKey()), entry.getValue());
+    }
+  }
+
   @Test
   public void testAtreusTypes() throws Exception {
     LOG.info("Running testAtreusTypes");
@@ -214,6 +859,340 @@ public class EntityFunctionalPositiveTests extends BaseAtreusCassandraTests {
   }
 
 
+  @Test
+  public void testProjectionFetch() throws Exception {
+    LOG.info("Running testProjectionFetch");
+    addEntity(CQLPrimitiveTypesTestEntity.class);
+    initEnvironment();
+
+    CQLPrimitiveTypesTestEntity testEntity = new CQLPrimitiveTypesTestEntity();
+    testEntity.setaInteger(1234);
+    testEntity.setaLong(4321);
+    testEntity.setaString("value");
+    getSession().save(testEntity);
+    getSession().flush();
+    String primaryKey = testEntity.getId();
+
+    // Only the requested columns are read, the others are completed on first access without losing changes
+    AtreusSession otherSession = getEnvironment().getManager().openSession();
+    try {
+      CQLPrimitiveTypesTestEntity otherEntity = otherSession.findOne(CQLPrimitiveTypesTestEntity.class, primaryKey, "aString", "aInteger");
+      AtreusManagedEntity managedEntity = (AtreusManagedEntity) otherEntity;
+      AtreusMetaEntity metaEntity = managedEntity.getMetaEntity();
+      Assert.assertTrue(managedEntity.isFetched(metaEntity.getFieldByName("aString")));
+      Assert.assertFalse(managedEntity.isFetched(metaEntity.getFieldByName("aLong")));
+      otherEntity.setaString("changed");
+      Assert.assertEquals(4321, otherEntity.getaLong());
+      Assert.assertTrue(managedEntity.isFetched(metaEntity.getFieldByName("aLong")));
+      Assert.assertEquals("changed", otherEntity.getaString());
+      Assert.assertEquals(1234, otherEntity.getaInteger());
+    }
+    finally {
+      otherSession.close();
+    }
+
+    // Saving a projection writes the columns it holds and keeps those it never read
+    otherSession = getEnvironment().getManager().openSession();
+    try {
+      CQLPrimitiveTypesTestEntity otherEntity = otherSession.findOne(CQLPrimitiveTypesTestEntity.class, primaryKey, "aString");
+      otherEntity.setaString("projected");
+      otherSession.save(otherEntity);
+      otherSession.flush();
+    }
+    finally {
+      otherSession.close();
+    }
+
+    otherSession = getEnvironment().getManager().openSession();
+    try {
+      CQLPrimitiveTypesTestEntity otherEntity = otherSession.findOne(CQLPrimitiveTypesTestEntity.class, primaryKey);
+      Assert.assertEquals("projected", otherEntity.getaString());
+      Assert.assertEquals(1234, otherEntity.getaInteger());
+      Assert.assertEquals(4321, otherEntity.getaLong());
+    }
+    finally {
+      otherSession.close();
+    }
+  }
+
+  @Test
+  public void testUpdatePlanOverflowBounded() throws Exception {
+    LOG.info("Running testUpdatePlanOverflowBounded");
+    getEnvironment().getConfiguration().setMaxUpdateVariants(1);
+    addEntity(CQLPrimitiveTypesTestEntity.class);
+    initEnvironment();
+
+    AtreusStatementStatistics statistics = getEnvironment().getManager().getStatementStatistics();
+    QueryManager queryManager = getEnvironment().getQueryManager();
+    CQLPrimitiveTypesTestEntity testEntity = new CQLPrimitiveTypesTestEntity();
+    testEntity.setaString("string");
+    getSession().save(testEntity);
+    getSession().flush();
+
+    // Use up the only variant allowed
+    testEntity.setaString("changed");
+    getSession().update(testEntity);
+    getSession().flush();
+    int preparedStatementCount = queryManager.getPreparedStatementCount();
+    statistics.reset();
+
+    // Updates of other columns past the cap do not add to the prepared statements cached
+    for (int i = 1; i <= 3; i++) {
+      testEntity.setaLong(i);
+      getSession().update(testEntity);
+      getSession().flush();
+      testEntity.setaInteger(i);
+      getSession().update(testEntity);
+      getSession().flush();
+      testEntity.setaDouble(i);
+      getSession().update(testEntity);
+      getSession().flush();
+    }
+    Assert.assertEquals(preparedStatementCount, queryManager.getPreparedStatementCount());
+    Assert.assertEquals(9, statistics.getUncachedUpdateCount());
+
+    // While the overflow keeps the plan of the columns updated last
+    MetaEntityImpl metaEntity = (MetaEntityImpl) getEnvironment().getMetaManager().getEntity(CQLPrimitiveTypesTestEntity.class);
+    EntityStatementPlans statementPlans = metaEntity.getStatementPlans();
+    AtreusMetaSimpleField aDouble = (AtreusMetaSimpleField) metaEntity.getFieldByName("aDouble");
+    StatementPlan statementPlan = statementPlans.getUpdate(Collections.singletonList(aDouble), false);
+    Assert.assertFalse(statementPlan.isShared());
+    Assert.assertSame(statementPlan, statementPlans.getUpdate(Collections.singletonList(aDouble), false));
+    Assert.assertEquals(9, statistics.getUncachedUpdateCount());
+
+    CQLPrimitiveTypesTestEntity otherEntity = getSession().findOne(CQLPrimitiveTypesTestEntity.class, testEntity.getId());
+    Assert.assertEquals(3L, otherEntity.getaLong());
+    Assert.assertEquals(3, otherEntity.getaInteger());
+  }
+
+  @Test
+  public void testProjectionFetchPastCap() throws Exception {
+    LOG.info("Running testProjectionFetchPastCap");
+    getEnvironment().getConfiguration().setMaxSelectVariants(1);
+    addEntity(CQLPrimitiveTypesTestEntity.class);
+    initEnvironment();
+
+    CQLPrimitiveTypesTestEntity testEntity = new CQLPrimitiveTypesTestEntity();
+    testEntity.setaInteger(1234);
+    testEntity.setaLong(4321);
+    testEntity.setaString("value");
+    getSession().save(testEntity);
+    getSession().flush();
+    String primaryKey = testEntity.getId();
+
+    // The first projection compiles the only variant allowed
+    QueryManager queryManager = getEnvironment().getQueryManager();
+    AtreusSession otherSession = getEnvironment().getManager().openSession();
+    try {
+      AtreusManagedEntity managedEntity = (AtreusManagedEntity) otherSession.findOne(CQLPrimitiveTypesTestEntity.class, primaryKey, "aString");
+      Assert.assertFalse(managedEntity.isFetched(managedEntity.getMetaEntity().getFieldByName("aLong")));
+    }
+    finally {
+      otherSession.close();
+    }
+    int preparedStatementCount = queryManager.getPreparedStatementCount();
+
+    // Past the cap projections share the cached select of every column
+    otherSession = getEnvironment().getManager().openSession();
+    try {
+      CQLPrimitiveTypesTestEntity otherEntity = otherSession.findOne(CQLPrimitiveTypesTestEntity.class, primaryKey, "aInteger");
+      AtreusManagedEntity managedEntity = (AtreusManagedEntity) otherEntity;
+      Assert.assertTrue(managedEntity.isFetched(managedEntity.getMetaEntity().getFieldByName("aLong")));
+      Assert.assertEquals(1234, otherEntity.getaInteger());
+      Assert.assertEquals(4321, otherEntity.getaLong());
+      otherSession.findOne(CQLPrimitiveTypesTestEntity.class, primaryKey, "aLong");
+    }
+    finally {
+      otherSession.close();
+    }
+    Assert.assertEquals(preparedStatementCount, queryManager.getPreparedStatementCount());
+  }
+
+  @Test
+  public void testProjectionSaveWithoutCachedPlan() throws Exception {
+    LOG.info("Running testProjectionSaveWithoutCachedPlan");
+    getEnvironment().getConfiguration().setMaxUpdateVariants(1);
+    addEntity(CQLPrimitiveTypesTestEntity.class);
+    addEntity(LazyTestEntity.class);
+    initEnvironment();
+
+    AtreusStatementStatistics statistics = getEnvironment().getManager().getStatementStatistics();
+    CQLPrimitiveTypesTestEntity testEntity = new CQLPrimitiveTypesTestEntity();
+    testEntity.setaInteger(1234);
+    testEntity.setaLong(4321);
+    testEntity.setaString("value");
+    getSession().save(testEntity);
+    getSession().flush();
+    String primaryKey = testEntity.getId();
+
+    // Use up the only variant allowed with a wider update
+    testEntity.setaString("changed");
+    testEntity.setaLong(1L);
+    getSession().update(testEntity);
+    getSession().flush();
+    statistics.reset();
+
+    // Saving a projection past the cap still writes only the columns it holds
+    AtreusSession otherSession = getEnvironment().getManager().openSession();
+    try {
+      CQLPrimitiveTypesTestEntity otherEntity = otherSession.findOne(CQLPrimitiveTypesTestEntity.class, primaryKey, "aString");
+      otherEntity.setaString("projected");
+      otherSession.save(otherEntity);
+      otherSession.flush();
+    }
+    finally {
+      otherSession.close();
+    }
+    Assert.assertEquals(1, statistics.getUncachedUpdateCount());
+
+    // As does saving a projection with a ttl
+    LazyTestEntity lazyEntity = new LazyTestEntity();
+    lazyEntity.setName("name");
+    lazyEntity.setContent("content");
+    lazyEntity.setNotes("notes");
+    getSession().save(lazyEntity);
+    getSession().flush();
+    otherSession = getEnvironment().getManager().openSession();
+    try {
+      LazyTestEntity otherEntity = otherSession.findOne(LazyTestEntity.class, lazyEntity.getId(), "name");
+      otherEntity.setTtl(60);
+      otherSession.save(otherEntity);
+      otherSession.flush();
+    }
+    finally {
+      otherSession.close();
+    }
+
+    otherSession = getEnvironment().getManager().openSession();
+    try {
+      CQLPrimitiveTypesTestEntity otherEntity = otherSession.findOne(CQLPrimitiveTypesTestEntity.class, primaryKey);
+      Assert.assertEquals("projected", otherEntity.getaString());
+      Assert.assertEquals(1234, otherEntity.getaInteger());
+      Assert.assertEquals(1L, otherEntity.getaLong());
+      LazyTestEntity otherLazyEntity = otherSession.findOne(LazyTestEntity.class, lazyEntity.getId());
+      Assert.assertEquals("name", otherLazyEntity.getName());
+      Assert.assertEquals("content", otherLazyEntity.getContent());
+      Assert.assertEquals("notes", otherLazyEntity.getNotes());
+    }
+    finally {
+      otherSession.close();
+    }
+  }
+
+  @Test
+  public void testLazyFetchGroups() throws Exception {
+    LOG.info("Running testLazyFetchGroups");
+    addEntity(LazyTestEntity.class);
+    initEnvironment();
+
+    EntityStatementPlans statementPlans = ((MetaEntityImpl) getEnvironment().getMetaManager().getEntity(LazyTestEntity.class)).getStatementPlans();
+    Assert.assertFalse(statementPlans.getSelect().getCql().contains("content"));
+
+    LazyTestEntity testEntity = new LazyTestEntity();
+    testEntity.setName("name");
+    testEntity.setContent("content");
+    testEntity.setAttributes(Collections.singletonMap("key", "value"));
+    testEntity.setNotes("notes");
+    getSession().save(testEntity);
+    getSession().flush();
+    String primaryKey = testEntity.getId();
+
+    // Lazy fields are left out of the fetch and each group is fetched on first access to one of its fields
+    AtreusSession otherSession = getEnvironment().getManager().openSession();
+    try {
+      LazyTestEntity otherEntity = otherSession.findOne(LazyTestEntity.class, primaryKey);
+      AtreusManagedEntity managedEntity = (AtreusManagedEntity) otherEntity;
+      AtreusMetaEntity metaEntity = managedEntity.getMetaEntity();
+      Assert.assertTrue(managedEntity.isFetched(metaEntity.getFieldByName("name")));
+      Assert.assertFalse(managedEntity.isFetched(metaEntity.getFieldByName("content")));
+      Assert.assertFalse(managedEntity.isFetched(metaEntity.getFieldByName("attributes")));
+      Assert.assertEquals("notes", otherEntity.getNotes());
+      Assert.assertTrue(managedEntity.isFetched(metaEntity.getFieldByName("attributes")));
+      Assert.assertFalse(managedEntity.isFetched(metaEntity.getFieldByName("content")));
+      Assert.assertEquals("content", otherEntity.getContent());
+      Assert.assertEquals(Collections.singletonMap("key", "value"), otherEntity.getAttributes());
+    }
+    finally {
+      otherSession.close();
+    }
+
+    // Updating an entity whose lazy fields were never read leaves them as stored
+    otherSession = getEnvironment().getManager().openSession();
+    try {
+      LazyTestEntity otherEntity = otherSession.findOne(LazyTestEntity.class, primaryKey);
+      otherEntity.setName("changed");
+      otherSession.update(otherEntity);
+      otherSession.flush();
+    }
+    finally {
+      otherSession.close();
+    }
+
+    otherSession = getEnvironment().getManager().openSession();
+    try {
+      LazyTestEntity otherEntity = otherSession.findOne(LazyTestEntity.class, primaryKey);
+      Assert.assertEquals("changed", otherEntity.getName());
+      Assert.assertEquals("content", otherEntity.getContent());
+      Assert.assertEquals("notes", otherEntity.getNotes());
+    }
+    finally {
+      otherSession.close();
+    }
+  }
+
+  @Test
+  public void testLazyUpdateWithoutCachedPlan() throws Exception {
+    LOG.info("Running testLazyUpdateWithoutCachedPlan");
+    getEnvironment().getConfiguration().setMaxUpdateVariants(0);
+    addEntity(LazyTestEntity.class);
+    initEnvironment();
+
+    LazyTestEntity testEntity = new LazyTestEntity();
+    testEntity.setName("name");
+    testEntity.setContent("content");
+    testEntity.setAttributes(Collections.singletonMap("key", "value"));
+    testEntity.setNotes("notes");
+    getSession().save(testEntity);
+    getSession().flush();
+    String primaryKey = testEntity.getId();
+
+    // With no variant to cache the update is still limited to the changed column
+    AtreusSession otherSession = getEnvironment().getManager().openSession();
+    try {
+      LazyTestEntity otherEntity = otherSession.findOne(LazyTestEntity.class, primaryKey);
+      otherEntity.setName("changed");
+      otherSession.update(otherEntity);
+      otherSession.flush();
+    }
+    finally {
+      otherSession.close();
+    }
+
+    // A ttl alone rewrites the columns fetched, leaving the lazy ones never read as stored
+    otherSession = getEnvironment().getManager().openSession();
+    try {
+      LazyTestEntity otherEntity = otherSession.findOne(LazyTestEntity.class, primaryKey);
+      otherEntity.setTtl(60);
+      otherSession.update(otherEntity);
+      otherSession.flush();
+    }
+    finally {
+      otherSession.close();
+    }
+
+    otherSession = getEnvironment().getManager().openSession();
+    try {
+      LazyTestEntity otherEntity = otherSession.findOne(LazyTestEntity.class, primaryKey);
+      Assert.assertEquals("changed", otherEntity.getName());
+      Assert.assertEquals("content", otherEntity.getContent());
+      Assert.assertEquals("notes", otherEntity.getNotes());
+      Assert.assertEquals(Collections.singletonMap("key", "value"), otherEntity.getAttributes());
+    }
+    finally {
+      otherSession.close();
+    }
+  }
+
   @Test
   public void testTimeToLiveEntity() throws Exception {
     LOG.info("Running testTimeToLiveEntity");
@@ -275,7 +1254,6 @@ public class EntityFunctionalPositiveTests extends BaseAtreusCassandraTests {
     addEntity(CollectionTestEntity.class);
     initEnvironment();
 
-    // TODO test selective updates to set, list and maps
     CollectionTestEntity testEntity = new CollectionTestEntity();
 
     Set<Long> setValue = new HashSet<>();
@@ -316,6 +1294,101 @@ public class EntityFunctionalPositiveTests extends BaseAtreusCassandraTests {
 
   }
 
+  @Test
+  public void testCollectionDeltaUpdates() throws Exception {
+    LOG.info("Running testCollectionDeltaUpdates");
+    addEntity(CollectionTestEntity.class);
+    initEnvironment();
+
+    AtreusStatementStatistics statistics = getEnvironment().getManager().getStatementStatistics();
+    CollectionTestEntity testEntity = new CollectionTestEntity();
+    testEntity.setSetField(new HashSet<>(Arrays.asList(1L, 2L)));
+    testEntity.setListField(new ArrayList<>(Arrays.asList("value1", "value2")));
+    Map<String, Long> mapValue = new HashMap<>();
+    mapValue.put("key1", 1L);
+    mapValue.put("key2", 2L);
+    testEntity.setMapField1(mapValue);
+    getSession().save(testEntity);
+    getSession().flush();
+
+    AtreusSession otherSession = getEnvironment().getManager().openSession();
+    try {
+      CollectionTestEntity otherEntity = otherSession.findOne(CollectionTestEntity.class, testEntity.getId());
+      otherEntity.getSetField().add(3L);
+      otherEntity.getSetField().remove(1L);
+      otherEntity.getListField().add("value3");
+      otherEntity.getMapField1().put("key2", 22L);
+      otherEntity.getMapField1().put("key3", 3L);
+      otherEntity.getMapField1().remove("key1");
+      otherSession.update(otherEntity);
+      otherSession.flush();
+
+      // Set addition and removal, list append, map put and map key removal
+      Assert.assertEquals(5, statistics.getCollectionDeltaCount());
+
+      // Removing a value from the list is also written as a delta
+      otherEntity.getListField().remove("value1");
+      otherSession.update(otherEntity);
+      otherSession.flush();
+      Assert.assertEquals(6, statistics.getCollectionDeltaCount());
+    }
+    finally {
+      otherSession.close();
+    }
+
+    otherSession = getEnvironment().getManager().openSession();
+    try {
+      CollectionTestEntity otherEntity = otherSession.findOne(CollectionTestEntity.class, testEntity.getId());
+      Assert.assertEquals(new HashSet<>(Arrays.asList(2L, 3L)), otherEntity.getSetField());
+      Assert.assertEquals(Arrays.asList("value2", "value3"), otherEntity.getListField());
+      Map<String, Long> expectedMap = new HashMap<>();
+      expectedMap.put("key2", 22L);
+      expectedMap.put("key3", 3L);
+      Assert.assertEquals(expectedMap, otherEntity.getMapField1());
+    }
+    finally {
+      otherSession.close();
+    }
+  }
+
+  @Test
+  public void testCollectionUpdatesWithoutSnapshot() throws Exception {
+    LOG.info("Running testCollectionUpdatesWithoutSnapshot");
+    addEntity(CollectionTestEntity.class);
+    initEnvironment();
+
+    AtreusStatementStatistics statistics = getEnvironment().getManager().getStatementStatistics();
+    CollectionTestEntity testEntity = new CollectionTestEntity();
+    getSession().save(testEntity);
+    getSession().flush();
+
+    // Collections read as null have no snapshot and are written in full rather than as deltas
+    AtreusSession otherSession = getEnvironment().getManager().openSession();
+    try {
+      CollectionTestEntity otherEntity = otherSession.findOne(CollectionTestEntity.class, testEntity.getId());
+      Assert.assertNull(otherEntity.getSetField());
+      Assert.assertNull(otherEntity.getMapField1());
+      otherEntity.setSetField(new HashSet<>(Arrays.asList(1L, 2L)));
+      otherEntity.setMapField1(Collections.singletonMap("key1", 1L));
+      otherSession.update(otherEntity);
+      otherSession.flush();
+      Assert.assertEquals(0, statistics.getCollectionDeltaCount());
+    }
+    finally {
+      otherSession.close();
+    }
+
+    otherSession = getEnvironment().getManager().openSession();
+    try {
+      CollectionTestEntity otherEntity = otherSession.findOne(CollectionTestEntity.class, testEntity.getId());
+      Assert.assertEquals(new HashSet<>(Arrays.asList(1L, 2L)), otherEntity.getSetField());
+      Assert.assertEquals(Collections.singletonMap("key1", 1L), otherEntity.getMapField1());
+    }
+    finally {
+      otherSession.close();
+    }
+  }
+
   @Test
   public void testNameOverrideEntity() throws Exception {
     LOG.info("Running testNameOverrideEntity");
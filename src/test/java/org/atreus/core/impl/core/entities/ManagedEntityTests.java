@@ -24,16 +24,23 @@
 package org.atreus.core.impl.core.entities;
 
 import junit.framework.Assert;
+import org.atreus.core.AtreusSession;
 import org.atreus.core.BaseAtreusCassandraTests;
 import org.atreus.core.ext.AtreusManagedEntity;
 import org.atreus.core.ext.meta.AtreusMetaEntity;
 import org.atreus.core.ext.meta.AtreusMetaField;
 import org.atreus.core.tests.entities.common.SimpleTestEntity;
+import org.atreus.core.tests.entities.functional.AliasSetterTestEntity;
+import org.atreus.core.tests.entities.functional.CQLPrimitiveTypesTestEntity;
+import org.atreus.impl.core.mappings.entities.meta.MetaEntityImpl;
+import org.atreus.impl.core.proxies.entities.EntityProxy;
 import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Date;
 
 /**
  * Functional Tests for the Manged Entity.
@@ -77,6 +84,28 @@ public class ManagedEntityTests extends BaseAtreusCassandraTests {
 
   }
 
+  @Test
+  public void testManagedFieldOrdinals() throws Exception {
+    LOG.info("Running testManagedFieldOrdinals");
+    addEntity(SimpleTestEntity.class);
+    initEnvironment();
+
+    // Managed fields are given dense ordinals at mapping time
+    MetaEntityImpl metaEntity = (MetaEntityImpl) getEnvironment().getMetaManager().getEntity(SimpleTestEntity.class);
+    AtreusMetaField[] managedFields = metaEntity.getManagedFields();
+    Assert.assertEquals(metaEntity.getFields().length, managedFields.length);
+    for (int i = 0; i < managedFields.length; i++) {
+      Assert.assertEquals(i, managedFields[i].getOrdinal());
+    }
+
+    // The primary key holds no managed state and is always considered fetched
+    AtreusManagedEntity managedEntity = getEnvironment().getMetaManager().wrapEntity(getSession(), new SimpleTestEntity());
+    Assert.assertEquals(-1, metaEntity.getPrimaryKeyField().getOrdinal());
+    Assert.assertTrue(managedEntity.isFetched(metaEntity.getPrimaryKeyField()));
+    Assert.assertFalse(managedEntity.isFetched(managedFields[0]));
+    Assert.assertEquals(managedFields.length, managedEntity.getUpdatedFields().size());
+  }
+
   @Test
   public void testFetching() throws Exception {
     LOG.info("Running testFetching");
@@ -156,6 +185,106 @@ public class ManagedEntityTests extends BaseAtreusCassandraTests {
     Assert.assertEquals("field1", testEntity.getField1());
   }
 
+  @Test
+  public void testCreatedEntityProxy() throws Exception {
+    LOG.info("Running testCreatedEntityProxy");
+    addEntity(SimpleTestEntity.class);
+    initEnvironment();
+
+    SimpleTestEntity testEntity = new SimpleTestEntity();
+    testEntity.setField1("field1");
+    getSession().save(testEntity);
+    getSession().flush();
+
+    // An entity created by a fetch is its own proxy target and is not fetched again on access
+    AtreusSession otherSession = getEnvironment().getManager().openSession();
+    try {
+      SimpleTestEntity otherEntity = otherSession.findOne(SimpleTestEntity.class, testEntity.getId());
+      Assert.assertTrue(otherEntity instanceof EntityProxy);
+      Assert.assertNull(((EntityProxy) otherEntity).getEntityProxyHandler().getEntity());
+      Assert.assertEquals("field1", otherEntity.getField1());
+      otherEntity.setField2("field2");
+      Assert.assertEquals("field2", otherEntity.getField2());
+      Assert.assertEquals(1, ((AtreusManagedEntity) otherEntity).getUpdatedFields().size());
+    }
+    finally {
+      otherSession.close();
+    }
+  }
+
+  @Test
+  public void testWriteTrackedDirtyFields() throws Exception {
+    LOG.info("Running testWriteTrackedDirtyFields");
+    addEntity(CQLPrimitiveTypesTestEntity.class);
+    initEnvironment();
+
+    CQLPrimitiveTypesTestEntity testEntity = new CQLPrimitiveTypesTestEntity();
+    testEntity.setaString("string");
+    testEntity.setaDate(new Date(1000L));
+    getSession().save(testEntity);
+    getSession().flush();
+
+    AtreusSession otherSession = getEnvironment().getManager().openSession();
+    try {
+      CQLPrimitiveTypesTestEntity otherEntity = otherSession.findOne(CQLPrimitiveTypesTestEntity.class, testEntity.getId());
+      AtreusManagedEntity managedEntity = (AtreusManagedEntity) otherEntity;
+      AtreusMetaEntity metaEntity = managedEntity.getMetaEntity();
+      Assert.assertFalse(managedEntity.isDirty());
+      Assert.assertTrue(managedEntity.getUpdatedFields().isEmpty());
+
+      // Writes through the proxy setters are recorded as they happen
+      otherEntity.setaString("other");
+      Assert.assertTrue(managedEntity.isDirty());
+      Assert.assertEquals(Arrays.asList(metaEntity.getFieldByName("aString")), managedEntity.getUpdatedFields());
+
+      // Values changed in place are still detected against their snapshot
+      managedEntity.snapshot();
+      Assert.assertFalse(managedEntity.isDirty());
+      otherEntity.getaDate().setTime(2000L);
+      Assert.assertTrue(managedEntity.isDirty());
+      Assert.assertEquals(Arrays.asList(metaEntity.getFieldByName("aDate")), managedEntity.getUpdatedFields());
+    }
+    finally {
+      otherSession.close();
+    }
+  }
+
+  @Test
+  public void testAliasSetterDirtyFields() throws Exception {
+    LOG.info("Running testAliasSetterDirtyFields");
+    addEntity(AliasSetterTestEntity.class);
+    initEnvironment();
+
+    AliasSetterTestEntity testEntity = new AliasSetterTestEntity();
+    testEntity.setName("name");
+    getSession().save(testEntity);
+    getSession().flush();
+
+    // A setter writing a field of another name is recorded against the fields fetched
+    AtreusSession otherSession = getEnvironment().getManager().openSession();
+    try {
+      AliasSetterTestEntity otherEntity = otherSession.findOne(AliasSetterTestEntity.class, testEntity.getId());
+      AtreusManagedEntity managedEntity = (AtreusManagedEntity) otherEntity;
+      Assert.assertFalse(managedEntity.isDirty());
+      otherEntity.setDisplayName("display");
+      Assert.assertTrue(managedEntity.isDirty());
+      Assert.assertTrue(managedEntity.getUpdatedFields().contains(managedEntity.getMetaEntity().getFieldByName("name")));
+      otherSession.save(otherEntity);
+      otherSession.flush();
+    }
+    finally {
+      otherSession.close();
+    }
+
+    otherSession = getEnvironment().getManager().openSession();
+    try {
+      Assert.assertEquals("display", otherSession.findOne(AliasSetterTestEntity.class, testEntity.getId()).getName());
+    }
+    finally {
+      otherSession.close();
+    }
+  }
+
   // Protected Methods ------------------------------------------------------------------------------ Protected Methods
 
   // Private Methods ---------------------------------------------------------------------------------- Private Methods
@@ -0,0 +1,132 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.core.impl.core.entities.accessors;
+
+import junit.framework.Assert;
+import org.atreus.core.tests.entities.common.FieldAccessorTestEntity;
+import org.atreus.impl.core.entities.accessors.FieldAccessor;
+import org.atreus.impl.core.entities.accessors.FieldAccessorFactory;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Unit tests for the Field Accessor Factory.
+ *
+ * @author Martin Crawford
+ */
+public class FieldAccessorFactoryTests {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(FieldAccessorFactoryTests.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  @Test
+  public void testGeneratedAccessors() throws Exception {
+    FieldAccessor packageStringAccessor = createAccessor("packageString");
+    FieldAccessor packageIntAccessor = createAccessor("packageInt");
+    FieldAccessor protectedDoubleAccessor = createAccessor("protectedDouble");
+
+    // Fields visible to their package are accessed by generated classes
+    Assert.assertTrue(packageStringAccessor.getClass().getName().startsWith(FieldAccessorTestEntity.class.getName()));
+    Assert.assertTrue(packageIntAccessor.getClass().getName().startsWith(FieldAccessorTestEntity.class.getName()));
+
+    FieldAccessorTestEntity entity = new FieldAccessorTestEntity();
+    packageStringAccessor.setValue(entity, "value");
+    packageIntAccessor.setValue(entity, 42);
+    protectedDoubleAccessor.setValue(entity, 1.5d);
+    Assert.assertEquals("value", entity.getPackageString());
+    Assert.assertEquals(42, entity.getPackageInt());
+    Assert.assertEquals(1.5d, entity.getProtectedDouble());
+    Assert.assertEquals("value", packageStringAccessor.getValue(entity));
+    Assert.assertEquals(42, packageIntAccessor.getValue(entity));
+    Assert.assertEquals(1.5d, protectedDoubleAccessor.getValue(entity));
+
+    // Accessors are generated once per field, found again through the class loader of their entity
+    Assert.assertSame(FieldAccessorTestEntity.class.getClassLoader(), packageStringAccessor.getClass().getClassLoader());
+    Assert.assertSame(packageStringAccessor.getClass(), createAccessor("packageString").getClass());
+  }
+
+  @Test
+  public void testPrivateAndFinalAccessors() throws Exception {
+    FieldAccessor privateStringAccessor = createAccessor("privateString");
+    FieldAccessor privateLongAccessor = createAccessor("privateLong");
+    FieldAccessor finalStringAccessor = createAccessor("finalString");
+
+    // Private fields are accessed through method handles rather than reflection
+    Assert.assertEquals("MethodHandleFieldAccessor", privateStringAccessor.getClass().getSimpleName());
+
+    FieldAccessorTestEntity entity = new FieldAccessorTestEntity();
+    privateStringAccessor.setValue(entity, "value");
+    privateLongAccessor.setValue(entity, 42L);
+    Assert.assertEquals("value", entity.getPrivateString());
+    Assert.assertEquals(42L, entity.getPrivateLong());
+    Assert.assertEquals("value", privateStringAccessor.getValue(entity));
+    Assert.assertEquals(42L, privateLongAccessor.getValue(entity));
+    Assert.assertEquals("final", finalStringAccessor.getValue(entity));
+
+    privateStringAccessor.setValue(entity, null);
+    Assert.assertNull(entity.getPrivateString());
+  }
+
+  @Test
+  public void testInvalidValues() throws Exception {
+    FieldAccessorTestEntity entity = new FieldAccessorTestEntity();
+    for (String fieldName : new String[]{"packageInt", "privateLong"}) {
+      try {
+        createAccessor(fieldName).setValue(entity, null);
+        Assert.fail("Expected a null primitive to be rejected for " + fieldName);
+      }
+      catch (IllegalArgumentException e) {
+        // Expected
+      }
+    }
+    for (String fieldName : new String[]{"packageString", "privateString"}) {
+      try {
+        createAccessor(fieldName).setValue(entity, 42);
+        Assert.fail("Expected a value of the wrong type to be rejected for " + fieldName);
+      }
+      catch (ClassCastException e) {
+        // Expected
+      }
+    }
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  private FieldAccessor createAccessor(String fieldName) throws NoSuchFieldException {
+    return FieldAccessorFactory.createAccessor(FieldAccessorTestEntity.class.getDeclaredField(fieldName));
+  }
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class
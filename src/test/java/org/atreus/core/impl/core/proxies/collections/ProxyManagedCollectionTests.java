@@ -0,0 +1,130 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.core.impl.core.proxies.collections;
+
+import junit.framework.Assert;
+import org.atreus.impl.core.entities.ManagedCollection;
+import org.atreus.impl.core.proxies.collections.CollectionProxyManager;
+import org.atreus.impl.core.proxies.collections.ProxyManagedCollection;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Unit tests for the Proxy Managed Collection.
+ *
+ * @author Martin Crawford
+ */
+public class ProxyManagedCollectionTests {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(ProxyManagedCollectionTests.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  @Test
+  public void testChangeDetection() {
+    String child1 = new String("child1");
+    String child2 = new String("child2");
+    String child3 = new String("child3");
+    List<String> collection = new ArrayList<>();
+    ProxyManagedCollection managedCollection = new ProxyManagedCollection(collection);
+    managedCollection.snapshot(Arrays.asList(child1, child2));
+
+    // Nothing has changed since the snapshot
+    Assert.assertTrue(managedCollection.getAddedEntities().isEmpty());
+    Assert.assertTrue(managedCollection.getRemovedEntities().isEmpty());
+    Assert.assertEquals(Arrays.asList(child1, child2), managedCollection.getUpdatedEntities());
+
+    // Remove one child and add another
+    collection.remove(child2);
+    collection.add(child3);
+    Assert.assertEquals(Arrays.asList(child3), managedCollection.getAddedEntities());
+    Assert.assertEquals(Arrays.asList(child2), managedCollection.getRemovedEntities());
+    Assert.assertEquals(Arrays.asList(child1), managedCollection.getUpdatedEntities());
+
+    // An equal instance replacing a child is retained rather than added and removed
+    String otherChild1 = new String("child1");
+    collection.set(0, otherChild1);
+    Assert.assertEquals(Arrays.asList(child3), managedCollection.getAddedEntities());
+    Assert.assertEquals(Arrays.asList(child2), managedCollection.getRemovedEntities());
+    Assert.assertEquals(Arrays.asList(otherChild1), managedCollection.getUpdatedEntities());
+
+    // The snapshot becomes the new baseline
+    managedCollection.snapshot();
+    Assert.assertTrue(managedCollection.getAddedEntities().isEmpty());
+    Assert.assertTrue(managedCollection.getRemovedEntities().isEmpty());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testPagedFetch() {
+    String child1 = new String("child1");
+    String child2 = new String("child2");
+    String child3 = new String("child3");
+    String child4 = new String("child4");
+    String child5 = new String("child5");
+    ManagedCollection managedCollection = new CollectionProxyManager().createCollection(List.class);
+    List<String> collection = (List<String>) managedCollection;
+    managedCollection.snapshot(Arrays.asList(Arrays.asList(child1, child2), Arrays.asList(child3, child4)).iterator());
+
+    // Nothing is fetched until the collection is read and then only a page at a time as it is iterated
+    Assert.assertTrue(managedCollection.getFetchedEntities().isEmpty());
+    Iterator<String> iterator = collection.iterator();
+    Assert.assertEquals(child1, iterator.next());
+    Assert.assertEquals(Arrays.asList(child1, child2), managedCollection.getFetchedEntities());
+
+    // Changes are detected among the entities fetched so far
+    Assert.assertEquals(child2, iterator.next());
+    iterator.remove();
+    collection.add(child5);
+    Assert.assertFalse(managedCollection.isFullyFetched());
+    Assert.assertEquals(Arrays.asList(child5), managedCollection.getAddedEntities());
+    Assert.assertEquals(Arrays.asList(child2), managedCollection.getRemovedEntities());
+
+    // Calls depending on the whole collection fetch the remaining pages, which are not considered changed
+    Assert.assertEquals(4, collection.size());
+    Assert.assertTrue(managedCollection.isFullyFetched());
+    Assert.assertEquals(Arrays.asList(child1, child5, child3, child4), collection);
+    Assert.assertEquals(Arrays.asList(child5), managedCollection.getAddedEntities());
+    Assert.assertEquals(Arrays.asList(child2), managedCollection.getRemovedEntities());
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class
@@ -0,0 +1,104 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.core.impl.core.queries;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+import org.atreus.impl.core.queries.BatchHelper;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the Batch Helper.
+ *
+ * @author Martin Crawford
+ */
+public class BatchHelperTests {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(BatchHelperTests.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  @Test
+  public void testPartitionBatch() {
+    LOG.info("Running testPartitionBatch");
+    Statement unrouted1 = new SimpleStatement("UPDATE t SET c = 1");
+    Statement unrouted2 = new SimpleStatement("UPDATE t SET c = 2");
+    Statement routed1 = routedStatement("UPDATE t SET c = 3", 1);
+    Statement routed2 = routedStatement("UPDATE t SET c = 4", 1);
+    Statement routed3 = routedStatement("UPDATE t SET c = 5", 2);
+    BatchStatement batchStatement = new BatchStatement();
+    batchStatement.addAll(Arrays.asList(unrouted1, routed1, unrouted2, routed2, routed3));
+
+    // Statements without a routing key stay together in order, the others are grouped by partition
+    List<Statement> statements = BatchHelper.partitionBatch(batchStatement);
+    assertEquals(3, statements.size());
+    assertTrue(statements.get(0) instanceof BatchStatement);
+    assertEquals(Arrays.asList(unrouted1, unrouted2), new ArrayList<>(((BatchStatement) statements.get(0)).getStatements()));
+    assertEquals(Arrays.asList(routed1, routed2), new ArrayList<>(((BatchStatement) statements.get(1)).getStatements()));
+    assertSame(routed3, statements.get(2));
+  }
+
+  @Test
+  public void testPartitionBatchSingleUnrouted() {
+    LOG.info("Running testPartitionBatchSingleUnrouted");
+    Statement unrouted = new SimpleStatement("UPDATE t SET c = 1");
+    Statement routed = routedStatement("UPDATE t SET c = 2", 1);
+    BatchStatement batchStatement = new BatchStatement();
+    batchStatement.addAll(Arrays.asList(unrouted, routed));
+
+    List<Statement> statements = BatchHelper.partitionBatch(batchStatement);
+    assertEquals(Arrays.asList(unrouted, routed), statements);
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  private Statement routedStatement(String cql, int partition) {
+    SimpleStatement statement = new SimpleStatement(cql);
+    statement.setRoutingKey(ByteBuffer.wrap(new byte[]{(byte) partition}));
+    return statement;
+  }
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class
@@ -33,6 +33,8 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -92,6 +94,28 @@ public class QueryHelperTests {
     assertEquals("SELECT * FROM queryhelpertests.testSelect WHERE id=:id;", QueryHelper.selectEntity(metaEntity).getQueryString());
   }
 
+  @Test
+  public void testSelectFields() {
+    LOG.info("Running testSelectFields");
+    MetaEntityImpl metaEntity = buildEntity("QueryHelperTests", "testSelectFields");
+    metaEntity.setPrimaryKeyField(buildField(metaEntity, "id"));
+    AtreusMetaSimpleField col1 = buildField(metaEntity, "col1");
+    metaEntity.addField(col1);
+    metaEntity.addField(buildField(metaEntity, "col2"));
+
+    assertEquals("SELECT id,col1 FROM queryhelpertests.testSelectFields WHERE id=:id;", QueryHelper.selectEntity(metaEntity, Arrays.asList(col1)).getQueryString());
+  }
+
+  @Test
+  public void testSelectMultiple() {
+    LOG.info("Running testSelectMultiple");
+    MetaEntityImpl metaEntity = buildEntity("QueryHelperTests", "testSelectMultiple");
+    metaEntity.setPrimaryKeyField(buildField(metaEntity, "id"));
+    metaEntity.addField(buildField(metaEntity, "col1"));
+
+    assertEquals("SELECT * FROM queryhelpertests.testSelectMultiple WHERE id IN (:id0,:id1,:id2);", QueryHelper.selectEntities(metaEntity, 3).getQueryString());
+  }
+
   @Test
   @Ignore
   public void testSelectWithCompositeKey() {
@@ -0,0 +1,142 @@
+/**
+ * The MIT License
+ *
+ * Copyright (c) 2014 Martin Crawford and contributors.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.atreus.core.impl.util;
+
+import junit.framework.Assert;
+import org.atreus.impl.util.LongKeyTable;
+import org.atreus.impl.util.ObjectKeyTable;
+import org.atreus.impl.util.PrimaryKeyTable;
+import org.atreus.impl.util.UuidKeyTable;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Unit tests for the Primary Key Tables.
+ *
+ * @author Martin Crawford
+ */
+public class PrimaryKeyTableTests {
+
+  // Constants ---------------------------------------------------------------------------------------------- Constants
+
+  private static final transient Logger LOG = LoggerFactory.getLogger(PrimaryKeyTableTests.class);
+
+  // Instance Variables ---------------------------------------------------------------------------- Instance Variables
+
+  // Constructors ---------------------------------------------------------------------------------------- Constructors
+
+  // Public Methods ------------------------------------------------------------------------------------ Public Methods
+
+  @Test
+  public void testCreate() {
+    Assert.assertTrue(PrimaryKeyTable.create(Long.class) instanceof LongKeyTable);
+    Assert.assertTrue(PrimaryKeyTable.create(long.class) instanceof LongKeyTable);
+    Assert.assertTrue(PrimaryKeyTable.create(UUID.class) instanceof UuidKeyTable);
+    Assert.assertTrue(PrimaryKeyTable.create(String.class) instanceof ObjectKeyTable);
+    Assert.assertTrue(PrimaryKeyTable.create(Integer.class) instanceof ObjectKeyTable);
+  }
+
+  @Test
+  public void testLongKeys() {
+    Random random = new Random(1);
+    List<Object> keys = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      // Sequential and shifted keys exercise clustering of the probe runs
+      keys.add((long) i);
+      keys.add((long) i << 32);
+      keys.add(random.nextLong());
+    }
+    assertMatchesMap(PrimaryKeyTable.<String>create(Long.class), keys, random);
+    Assert.assertNull(PrimaryKeyTable.<String>create(Long.class).get("1"));
+  }
+
+  @Test
+  public void testStringKeys() {
+    Random random = new Random(2);
+    List<Object> keys = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      keys.add("key" + i);
+    }
+
+    // Strings with colliding hash codes
+    keys.add("Aa");
+    keys.add("BB");
+    assertMatchesMap(PrimaryKeyTable.<String>create(String.class), keys, random);
+  }
+
+  @Test
+  public void testUuidKeys() {
+    Random random = new Random(3);
+    List<Object> keys = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      keys.add(UUID.randomUUID());
+      keys.add(new UUID(i, i));
+    }
+    assertMatchesMap(PrimaryKeyTable.<String>create(UUID.class), keys, random);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnsupportedKey() {
+    PrimaryKeyTable.<String>create(Long.class).put("1", "value");
+  }
+
+  // Protected Methods ------------------------------------------------------------------------------ Protected Methods
+
+  // Private Methods ---------------------------------------------------------------------------------- Private Methods
+
+  private void assertMatchesMap(PrimaryKeyTable<String> table, List<Object> keys, Random random) {
+    Map<Object, String> expected = new HashMap<>();
+
+    // Apply the same random puts and removes to the table and a map
+    for (int i = 0; i < 20000; i++) {
+      Object key = keys.get(random.nextInt(keys.size()));
+      if (random.nextInt(3) == 0) {
+        Assert.assertEquals(expected.remove(key), table.remove(key));
+      }
+      else {
+        String value = "value" + i;
+        Assert.assertEquals(expected.put(key, value), table.put(key, value));
+      }
+      Assert.assertEquals(expected.size(), table.size());
+    }
+    for (Object key : keys) {
+      Assert.assertEquals(expected.get(key), table.get(key));
+    }
+
+    table.clear();
+    Assert.assertEquals(0, table.size());
+    Assert.assertNull(table.get(keys.get(0)));
+  }
+
+  // Getters & Setters ------------------------------------------------------------------------------ Getters & Setters
+
+} // end of class